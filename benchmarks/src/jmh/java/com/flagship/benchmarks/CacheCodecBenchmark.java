@@ -0,0 +1,62 @@
+package com.flagship.benchmarks;
+
+import com.flagship.inventory.config.CacheConfig;
+import com.flagship.inventory.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache Codec Benchmark
+ * <p>
+ * Encoding and decoding of a cached product with the value serializer configured for the Redis
+ * "products" cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheCodecBenchmark {
+
+  private RedisSerializer<Object> serializer;
+  private Product product;
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() {
+    serializer = CacheConfig.valueSerializer();
+    product = Product.builder()
+        .id(42L)
+        .sku("BENCH-SKU-0042")
+        .name("Benchmark product")
+        .description("A product used to measure the cache codec")
+        .category("electronics")
+        .brand("Flagship")
+        .price(new BigDecimal("199.99"))
+        .currency("USD")
+        .imageUrl("https://cdn.example.com/products/42.png")
+        .taxCategory("standard")
+        .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+        .updatedAt(LocalDateTime.of(2024, 1, 2, 12, 0))
+        .build();
+    encoded = serializer.serialize(product);
+  }
+
+  @Benchmark
+  public byte[] encode() {
+    return serializer.serialize(product);
+  }
+
+  @Benchmark
+  public Object decode() {
+    return serializer.deserialize(encoded);
+  }
+}
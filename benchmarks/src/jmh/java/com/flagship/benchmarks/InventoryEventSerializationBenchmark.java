@@ -0,0 +1,87 @@
+package com.flagship.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flagship.inventory.event.InventoryEvent;
+import org.apache.kafka.common.serialization.Serializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inventory Event Serialization Benchmark
+ * <p>
+ * JSON encoding of inventory events on both legs of the outbox: the application mapper that
+ * writes and reads the outbox payload, and the Kafka value serializer used by the relay.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InventoryEventSerializationBenchmark {
+
+  private ObjectMapper objectMapper;
+  private Serializer<InventoryEvent> kafkaSerializer;
+  private InventoryEvent event;
+  private String payload;
+
+  @Setup
+  public void setUp() throws IOException {
+    // Mirrors the Boot-configured mapper: java.time support, ISO dates
+    objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    kafkaSerializer = new JsonSerializer<>();
+
+    event = InventoryEvent.builder()
+        .productId(42L)
+        .sku("BENCH-SKU-0042")
+        .eventType(InventoryEvent.InventoryEventType.INVENTORY_RESERVED)
+        .timestamp(LocalDateTime.of(2024, 1, 1, 12, 0))
+        .productName("Benchmark product")
+        .category("electronics")
+        .brand("Flagship")
+        .price(new BigDecimal("199.99"))
+        .currency("USD")
+        .status("ACTIVE")
+        .totalQuantity(1200)
+        .availableQuantity(1150)
+        .reservedQuantity(50)
+        .location("WH-1")
+        .quantityChange(-2)
+        .orderId(1001L)
+        .build();
+    payload = objectMapper.writeValueAsString(event);
+  }
+
+  @TearDown
+  public void tearDown() {
+    kafkaSerializer.close();
+  }
+
+  @Benchmark
+  public String outboxWrite() throws IOException {
+    return objectMapper.writeValueAsString(event);
+  }
+
+  @Benchmark
+  public InventoryEvent outboxRead() throws IOException {
+    return objectMapper.readValue(payload, InventoryEvent.class);
+  }
+
+  @Benchmark
+  public byte[] kafkaSerialize() {
+    return kafkaSerializer.serialize("inventory-events", event);
+  }
+}
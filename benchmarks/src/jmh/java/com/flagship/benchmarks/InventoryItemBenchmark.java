@@ -0,0 +1,57 @@
+package com.flagship.benchmarks;
+
+import com.flagship.inventory.model.InventoryItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inventory Item Benchmark
+ * <p>
+ * Reservation arithmetic on a single inventory row. Each operation leaves the row in the state it
+ * started from so iterations measure a steady state rather than a draining stock level.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InventoryItemBenchmark {
+
+  private InventoryItem item;
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    item = InventoryItem.builder()
+        .sku("BENCH-SKU")
+        .location("WH-1")
+        .quantity(1_000_000)
+        .reservedQuantity(0)
+        .availableQuantity(1_000_000)
+        .build();
+  }
+
+  @Benchmark
+  public void reserveAndRelease(Blackhole blackhole) {
+    blackhole.consume(item.reserveQuantity(1));
+    blackhole.consume(item.releaseReservedQuantity(1));
+  }
+
+  @Benchmark
+  public void reserveAndConfirm(Blackhole blackhole) {
+    blackhole.consume(item.reserveQuantity(1));
+    blackhole.consume(item.confirmReservedQuantity(1));
+    item.addQuantity(1);
+  }
+
+  @Benchmark
+  public boolean rejectedReservation() {
+    return item.reserveQuantity(Integer.MAX_VALUE);
+  }
+}
@@ -0,0 +1,66 @@
+package com.flagship.benchmarks;
+
+import com.flagship.inventory.model.InventoryItem;
+import com.flagship.inventory.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Product Stock Benchmark
+ * <p>
+ * Aggregation of stock totals across a product's locations, as done for every published
+ * inventory event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProductStockBenchmark {
+
+  @Param({"1", "10", "100", "1000"})
+  private int locations;
+
+  private Product product;
+
+  @Setup
+  public void setUp() {
+    product = Product.builder()
+        .sku("BENCH-SKU")
+        .name("Benchmark product")
+        .price(BigDecimal.TEN)
+        .build();
+
+    List<InventoryItem> items = new ArrayList<>(locations);
+    for (int i = 0; i < locations; i++) {
+      items.add(InventoryItem.builder()
+          .product(product)
+          .sku(product.getSku())
+          .location("WH-" + i)
+          .quantity(100 + i)
+          .reservedQuantity(i % 7)
+          .availableQuantity(100 + i - i % 7)
+          .build());
+    }
+    product.setInventoryItems(items);
+  }
+
+  @Benchmark
+  public int totalAvailableQuantity() {
+    return product.getTotalAvailableQuantity();
+  }
+
+  @Benchmark
+  public int totalQuantity() {
+    return product.getTotalQuantity();
+  }
+}
@@ -0,0 +1,42 @@
+package com.flagship.common.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+/**
+ * Pooled Sequence Aligner
+ * <p>
+ * Entity ids come from pooled sequences so Hibernate can batch inserts. Tables created before the
+ * switch already hold IDENTITY-generated ids, so on startup each sequence is drawn forward until
+ * its blocks of {@value PooledSequences#ALLOCATION_SIZE} ids start past the highest existing id.
+ * Sequences are never reset, so an instance starting next to running ones cannot hand out an id
+ * twice. Each service registers one aligner with the sequences of its own tables, to run after
+ * Hibernate has created them.
+ */
+@Slf4j
+public class PooledSequenceAligner {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Map<String, String> sequenceTables;
+
+  /**
+   * @param sequenceTables the table each sequence generates ids for, keyed by sequence name
+   */
+  public PooledSequenceAligner(JdbcTemplate jdbcTemplate, Map<String, String> sequenceTables) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.sequenceTables = Map.copyOf(sequenceTables);
+  }
+
+  public void alignSequences() {
+    sequenceTables.forEach((sequence, table) -> {
+      long drawn = PooledSequences.alignPastExistingIds(jdbcTemplate, sequence, table,
+          PooledSequences.ALLOCATION_SIZE);
+      if (drawn > 0) {
+        log.info("Moved sequence {} past existing ids in {}, drawing {} values", sequence, table,
+            drawn);
+      }
+    });
+  }
+}
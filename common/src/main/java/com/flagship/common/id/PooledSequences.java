@@ -0,0 +1,76 @@
+package com.flagship.common.id;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Pooled Sequences
+ * <p>
+ * Helpers for the database sequences behind Hibernate's pooled id optimizer, where a sequence
+ * increments by the allocation size and every value reserves the block of ids ending at it. The
+ * helpers only ever move a sequence forward with {@code nextval}, never reset it, so callers
+ * running concurrently on other instances can never be handed the same id twice. Bulk draws use
+ * PostgreSQL's {@code generate_series}.
+ */
+public final class PooledSequences {
+
+  /**
+   * Ids reserved per sequence value; matches the {@code allocationSize} of every entity sequence.
+   */
+  public static final int ALLOCATION_SIZE = 50;
+
+  private PooledSequences() {
+  }
+
+  /**
+   * Draws from the sequence until its blocks start above the highest id already in the table, for
+   * tables whose ids were generated before the sequence existed. Does nothing for an empty table
+   * or a sequence that is already ahead.
+   *
+   * @return the number of values drawn to catch up
+   */
+  public static long alignPastExistingIds(JdbcTemplate jdbcTemplate, String sequence,
+      String table, int allocationSize) {
+    long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table,
+        Long.class);
+    if (maxId == 0) {
+      return 0;
+    }
+    long next = jdbcTemplate.queryForObject("SELECT nextval('" + sequence + "')", Long.class);
+    long blockStart = next - allocationSize + 1;
+    if (blockStart > maxId) {
+      return 0;
+    }
+
+    long behind = (maxId - blockStart) / allocationSize + 1;
+    jdbcTemplate.queryForList("SELECT nextval('" + sequence + "') FROM generate_series(1, ?)",
+        Long.class, behind);
+    return behind;
+  }
+
+  /**
+   * Reserves {@code count} ids for rows inserted outside Hibernate, drawing one sequence value
+   * per block of {@code allocationSize} ids instead of one per row.
+   */
+  public static long[] reserve(JdbcTemplate jdbcTemplate, String sequence, int allocationSize,
+      int count) {
+    long[] ids = new long[count];
+    int filled = 0;
+    while (filled < count) {
+      int blocks = (count - filled + allocationSize - 1) / allocationSize;
+      List<Long> values = jdbcTemplate.queryForList(
+          "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)", Long.class, blocks);
+      for (long value : values) {
+        // The first value of a fresh sequence has no full block below it; Hibernate skips it too
+        if (value < allocationSize) {
+          continue;
+        }
+        for (long id = value - allocationSize + 1; id <= value && filled < count; id++) {
+          ids[filled++] = id;
+        }
+      }
+    }
+    return ids;
+  }
+}
@@ -0,0 +1,91 @@
+package com.flagship.common.id;
+
+import java.time.Instant;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake Id Generator
+ * <p>
+ * Generates unique, time-ordered ids without a database round-trip. An id packs 41 bits of
+ * milliseconds since {@link #EPOCH}, a 10 bit node id and a 12 bit per-millisecond sequence, and
+ * is rendered as 13 Crockford base32 characters so the text form sorts like the number and has no
+ * ambiguous letters. Ids are only unique while no two running instances share a node id, so the
+ * node id is either configured per instance or leased through {@link SnowflakeNodeLease}, and a
+ * generator on a lease stops handing out ids once the lease has lapsed.
+ */
+public class SnowflakeIdGenerator {
+
+  static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+  private static final int NODE_BITS = 10;
+  private static final int SEQUENCE_BITS = 12;
+  public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+  private static final int NODE_SHIFT = SEQUENCE_BITS;
+  private static final int TIMESTAMP_SHIFT = SEQUENCE_BITS + NODE_BITS;
+  private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+  private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+  private static final int ENCODED_LENGTH = 13;
+
+  private final long nodeId;
+  private final BooleanSupplier nodeIdHeld;
+  private final LongSupplier clock;
+
+  private long lastTimestamp = -1;
+  private long sequence;
+
+  /** Generator for a node id assigned to this instance by configuration. */
+  public SnowflakeIdGenerator(long nodeId) {
+    this(nodeId, () -> true, System::currentTimeMillis);
+  }
+
+  /** Generator for a node id leased from the database, usable while the lease is held. */
+  public SnowflakeIdGenerator(SnowflakeNodeLease lease) {
+    this(lease.getNodeId(), lease::isHeld, System::currentTimeMillis);
+  }
+
+  SnowflakeIdGenerator(long nodeId, BooleanSupplier nodeIdHeld, LongSupplier clock) {
+    if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+      throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+    }
+    this.nodeId = nodeId;
+    this.nodeIdHeld = nodeIdHeld;
+    this.clock = clock;
+  }
+
+  public long getNodeId() {
+    return nodeId;
+  }
+
+  public synchronized long nextId() {
+    if (!nodeIdHeld.getAsBoolean()) {
+      throw new IllegalStateException("Lease on node id " + nodeId + " has lapsed");
+    }
+    // Never step back: a clock moved backwards keeps using the last timestamp
+    long timestamp = Math.max(clock.getAsLong() - EPOCH, lastTimestamp);
+    if (timestamp == lastTimestamp) {
+      sequence = (sequence + 1) & SEQUENCE_MASK;
+      if (sequence == 0) {
+        // Sequence exhausted within this millisecond, borrow the next one
+        timestamp++;
+      }
+    } else {
+      sequence = 0;
+    }
+    lastTimestamp = timestamp;
+    return (timestamp << TIMESTAMP_SHIFT) | (nodeId << NODE_SHIFT) | sequence;
+  }
+
+  public String nextId(String prefix) {
+    return prefix + encode(nextId());
+  }
+
+  static String encode(long id) {
+    char[] chars = new char[ENCODED_LENGTH];
+    for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+      chars[i] = ALPHABET[(int) (id & 31)];
+      id >>>= 5;
+    }
+    return new String(chars);
+  }
+}
@@ -0,0 +1,200 @@
+package com.flagship.common.id;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snowflake Node Lease
+ * <p>
+ * Hands each running instance of a service its own Snowflake node id through a lease row in
+ * {@value #TABLE}, so replicas of the same deployment need no per-instance configuration. A free
+ * or long expired node id is claimed on startup, the holder renews the lease well before it
+ * expires, and {@link #isHeld()} turns false as soon as the lease may have lapsed, which stops the
+ * generator rather than risking an id another instance could also produce. Renewal runs on a
+ * thread of its own, so slow scheduled jobs elsewhere in the service cannot hold it up, and failed
+ * renewals are logged loudly while the lease still has time left.
+ */
+public class SnowflakeNodeLease {
+
+  public static final String TABLE = "snowflake_node_leases";
+
+  private static final Logger log = LoggerFactory.getLogger(SnowflakeNodeLease.class);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final String service;
+  private final Duration duration;
+  private final Clock clock;
+  private final String owner = UUID.randomUUID().toString();
+
+  private volatile long nodeId = -1;
+  private volatile Instant heldUntil = Instant.MIN;
+  private ScheduledExecutorService renewer;
+
+  public SnowflakeNodeLease(JdbcTemplate jdbcTemplate, String service, Duration duration) {
+    this(jdbcTemplate, service, duration, Clock.systemUTC());
+  }
+
+  SnowflakeNodeLease(JdbcTemplate jdbcTemplate, String service, Duration duration, Clock clock) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.service = service;
+    this.duration = duration;
+    this.clock = clock;
+  }
+
+  /**
+   * Claims the lowest node id that is free or whose lease has expired.
+   *
+   * @throws IllegalStateException when every node id is leased
+   */
+  public long acquire() {
+    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+        + "service VARCHAR(100) NOT NULL, node_id INT NOT NULL, owner VARCHAR(36) NOT NULL, "
+        + "leased_until TIMESTAMP NOT NULL, PRIMARY KEY (service, node_id))");
+
+    Map<Long, Lease> leases = new HashMap<>();
+    jdbcTemplate.query("SELECT node_id, owner, leased_until FROM " + TABLE + " WHERE service = ?",
+        rs -> {
+          leases.put(rs.getLong("node_id"),
+              new Lease(rs.getString("owner"), rs.getTimestamp("leased_until").toInstant()));
+        }, service);
+
+    Instant now = clock.instant();
+    Instant until = now.plus(duration);
+    for (long candidate = 0; candidate <= SnowflakeIdGenerator.MAX_NODE_ID; candidate++) {
+      Lease lease = leases.get(candidate);
+      boolean claimed;
+      if (lease == null) {
+        claimed = insert(candidate, until);
+      } else {
+        // Wait another lease period past expiry to leave room for clock skew between instances
+        claimed = lease.until().plus(duration).isBefore(now) && takeOver(candidate, lease, until);
+      }
+      if (claimed) {
+        nodeId = candidate;
+        heldUntil = until;
+        log.info("Leased Snowflake node id {} for {} until {}", candidate, service, until);
+        return candidate;
+      }
+    }
+    throw new IllegalStateException("Every Snowflake node id for " + service + " is leased");
+  }
+
+  /**
+   * Renews the lease every {@code interval} on a dedicated daemon thread until {@link #release()}.
+   */
+  public synchronized void startRenewing(Duration interval) {
+    if (nodeId < 0 || renewer != null) {
+      return;
+    }
+    if (interval.compareTo(duration.dividedBy(2)) > 0) {
+      log.warn("Renewing the Snowflake node lease every {} leaves little room within {}", interval,
+          duration);
+    }
+    renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "snowflake-node-lease");
+      thread.setDaemon(true);
+      return thread;
+    });
+    renewer.scheduleWithFixedDelay(() -> {
+      try {
+        renew();
+      } catch (RuntimeException e) {
+        // An exception escaping here would cancel every later renewal
+        log.error("Renewing the Snowflake node lease for {} failed", service, e);
+      }
+    }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Extends the lease. Once it turns out another instance has taken the node id over, the lease
+   * is dropped and the generator stops. A renewal that fails, e.g. while the database is
+   * unreachable, keeps the current lease and is retried on the next run.
+   */
+  public void renew() {
+    if (nodeId < 0) {
+      return;
+    }
+    Instant until = clock.instant().plus(duration);
+    int updated;
+    try {
+      updated = jdbcTemplate.update("UPDATE " + TABLE + " SET leased_until = ? "
+          + "WHERE service = ? AND node_id = ? AND owner = ?",
+          Timestamp.from(until), service, nodeId, owner);
+    } catch (DataAccessException e) {
+      Duration left = Duration.between(clock.instant(), heldUntil);
+      if (left.isNegative()) {
+        log.error("Lease on Snowflake node id {} for {} has lapsed and could not be renewed",
+            nodeId, service, e);
+      } else {
+        log.error("Could not renew the lease on Snowflake node id {} for {}; ids stop in {}",
+            nodeId, service, left, e);
+      }
+      return;
+    }
+    if (updated == 0) {
+      heldUntil = Instant.MIN;
+      log.error("Lost the lease on Snowflake node id {} for {}", nodeId, service);
+      return;
+    }
+    heldUntil = until;
+  }
+
+  public void release() {
+    synchronized (this) {
+      if (renewer != null) {
+        renewer.shutdownNow();
+        renewer = null;
+      }
+    }
+    if (nodeId < 0) {
+      return;
+    }
+    heldUntil = Instant.MIN;
+    jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE service = ? AND node_id = ? AND owner = ?",
+        service, nodeId, owner);
+  }
+
+  public boolean isHeld() {
+    return clock.instant().isBefore(heldUntil);
+  }
+
+  public long getNodeId() {
+    return nodeId;
+  }
+
+  private boolean insert(long candidate, Instant until) {
+    try {
+      jdbcTemplate.update("INSERT INTO " + TABLE + " (service, node_id, owner, leased_until) "
+          + "VALUES (?, ?, ?, ?)", service, candidate, owner, Timestamp.from(until));
+      return true;
+    } catch (DuplicateKeyException e) {
+      // Claimed by an instance starting at the same time
+      return false;
+    }
+  }
+
+  private boolean takeOver(long candidate, Lease expired, Instant until) {
+    // Only succeeds if nobody renewed or took over the lease since it was read
+    return jdbcTemplate.update("UPDATE " + TABLE + " SET owner = ?, leased_until = ? "
+        + "WHERE service = ? AND node_id = ? AND owner = ? AND leased_until = ?",
+        owner, Timestamp.from(until), service, candidate, expired.owner(),
+        Timestamp.from(expired.until())) == 1;
+  }
+
+  private record Lease(String owner, Instant until) {
+  }
+}
@@ -0,0 +1,151 @@
+package com.flagship.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox Publisher
+ * <p>
+ * Publishes the rows of a service's outbox table to Kafka without keeping a database transaction
+ * open while the broker acknowledges them. A short transaction locks the oldest batch and stamps
+ * a lease on it ({@code claimed_until}); the batch is then sent outside any transaction and
+ * deleted in a second short transaction. A failed send clears the lease so the batch is retried
+ * on the next run, and the lease of a relay that dies mid-send runs out, so delivery is
+ * at-least-once.
+ * <p>
+ * Only the oldest batch is ever in flight: a relay that finds the head of the table leased by
+ * another instance skips its run, which keeps per-key publish order across instances. The lease
+ * lasts twice the send timeout, so it only runs out under a live relay if clocks drift that far.
+ */
+@Slf4j
+public class OutboxPublisher<T> {
+
+  private final Class<T> eventType;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final KafkaTemplate<String, T> kafkaTemplate;
+  private final ObjectMapper objectMapper;
+  private final int batchSize;
+  private final Duration sendTimeout;
+  private final Duration lease;
+  private final String selectSql;
+  private final String claimSql;
+  private final String releaseSql;
+  private final String deleteSql;
+
+  public OutboxPublisher(String table,
+      Class<T> eventType,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      KafkaTemplate<String, T> kafkaTemplate,
+      ObjectMapper objectMapper,
+      int batchSize,
+      Duration sendTimeout) {
+    this.eventType = eventType;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.kafkaTemplate = kafkaTemplate;
+    this.objectMapper = objectMapper;
+    this.batchSize = Math.max(1, batchSize);
+    this.sendTimeout = sendTimeout;
+    this.lease = sendTimeout.multipliedBy(2);
+    this.selectSql = "SELECT id, topic, message_key, payload, claimed_until FROM " + table
+        + " ORDER BY id LIMIT ? FOR UPDATE";
+    this.claimSql = "UPDATE " + table + " SET claimed_until = ? WHERE id = ?";
+    this.releaseSql = "UPDATE " + table + " SET claimed_until = NULL WHERE id = ?";
+    this.deleteSql = "DELETE FROM " + table + " WHERE id = ?";
+  }
+
+  /**
+   * Claims, sends and deletes the oldest batch.
+   *
+   * @return the number of rows published, 0 when the outbox is empty or another relay holds it
+   */
+  public int publishBatch() {
+    List<OutboxRow> batch = transactionTemplate.execute(status -> claim());
+    if (batch == null || batch.isEmpty()) {
+      return 0;
+    }
+
+    try {
+      send(batch);
+    } catch (RuntimeException e) {
+      release(batch);
+      throw e;
+    }
+
+    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(deleteSql,
+        batch, batch.size(), (ps, row) -> ps.setLong(1, row.id())));
+    log.debug("Relayed {} outbox events up to id: {}", batch.size(),
+        batch.get(batch.size() - 1).id());
+    return batch.size();
+  }
+
+  private List<OutboxRow> claim() {
+    List<OutboxRow> head = jdbcTemplate.query(selectSql, (rs, rowNum) -> {
+      Timestamp claimedUntil = rs.getTimestamp("claimed_until");
+      return new OutboxRow(rs.getLong("id"), rs.getString("topic"), rs.getString("message_key"),
+          rs.getString("payload"), claimedUntil != null ? claimedUntil.toLocalDateTime() : null);
+    }, batchSize);
+
+    LocalDateTime now = LocalDateTime.now();
+    if (head.stream().anyMatch(row -> row.claimedUntil() != null
+        && row.claimedUntil().isAfter(now))) {
+      return List.of();
+    }
+    Timestamp claimedUntil = Timestamp.valueOf(now.plus(lease));
+    jdbcTemplate.batchUpdate(claimSql, head, head.size(), (ps, row) -> {
+      ps.setTimestamp(1, claimedUntil);
+      ps.setLong(2, row.id());
+    });
+    return head;
+  }
+
+  private void send(List<OutboxRow> batch) {
+    try {
+      List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+      for (OutboxRow row : batch) {
+        T event = objectMapper.readValue(row.payload(), eventType);
+        sends.add(kafkaTemplate.send(row.topic(), row.messageKey(), event));
+      }
+      kafkaTemplate.flush();
+      CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+          .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while relaying outbox events", e);
+    } catch (Exception e) {
+      log.error("Failed to relay {} outbox events starting at id: {}", batch.size(),
+          batch.get(0).id(), e);
+      throw new IllegalStateException("Outbox relay failed", e);
+    }
+  }
+
+  private void release(List<OutboxRow> batch) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(releaseSql,
+          batch, batch.size(), (ps, row) -> ps.setLong(1, row.id())));
+    } catch (RuntimeException e) {
+      // The lease runs out on its own; the batch is only retried later than it could be
+      log.warn("Failed to release {} outbox events starting at id: {}", batch.size(),
+          batch.get(0).id(), e);
+    }
+  }
+
+  private record OutboxRow(long id, String topic, String messageKey, String payload,
+                           LocalDateTime claimedUntil) {
+
+  }
+}
@@ -0,0 +1,45 @@
+package com.flagship.common.paging;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset Cursor
+ * <p>
+ * Position of the last row returned by a keyset-paginated query, expressed as the (timestamp, id)
+ * pair the results are ordered by. Encoded as an opaque URL-safe string for API clients.
+ */
+@Data
+@AllArgsConstructor
+public class KeysetCursor {
+
+  private static final String SEPARATOR = "|";
+
+  private LocalDateTime timestamp;
+  private Long id;
+
+  public String encode() {
+    String raw = timestamp + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static KeysetCursor decode(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separatorIndex = raw.lastIndexOf(SEPARATOR);
+      if (separatorIndex < 0) {
+        throw new IllegalArgumentException("Malformed cursor: " + cursor);
+      }
+      return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separatorIndex)),
+          Long.valueOf(raw.substring(separatorIndex + 1)));
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Malformed cursor: " + cursor, e);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package com.flagship.common.paging;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset Page
+ * <p>
+ * A single page of a keyset-paginated result. Unlike offset pages it does not count the whole
+ * result unless the caller asks for {@code totalElements}; clients follow {@code nextCursor}
+ * until {@code hasNext} is false. Content is held in a plain {@link ArrayList} so cached pages
+ * round-trip through Redis.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+  private List<T> content;
+  private int size;
+  private boolean hasNext;
+  private String nextCursor;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Long totalElements;
+
+  /**
+   * Builds a page from a result fetched with {@code size + 1} rows, using the extra row only to
+   * detect whether a next page exists.
+   */
+  public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, KeysetCursor> cursorOf) {
+    boolean hasNext = rows.size() > size;
+    List<T> content = new ArrayList<>(hasNext ? rows.subList(0, size) : rows);
+    String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+
+    return KeysetPage.<T>builder()
+        .content(content)
+        .size(content.size())
+        .hasNext(hasNext)
+        .nextCursor(nextCursor)
+        .build();
+  }
+
+  public <R> KeysetPage<R> map(Function<T, R> mapper) {
+    return KeysetPage.<R>builder()
+        .content(content.stream().map(mapper).collect(Collectors.toCollection(ArrayList::new)))
+        .size(size)
+        .hasNext(hasNext)
+        .nextCursor(nextCursor)
+        .totalElements(totalElements)
+        .build();
+  }
+}
@@ -0,0 +1,134 @@
+package com.flagship.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Snowflake Id Generator Test
+ * <p>
+ * Covers the id layout under a clock that stalls or steps back, the refusal to generate on a
+ * lapsed lease, and that the base32 text form sorts like the number.
+ */
+class SnowflakeIdGeneratorTest {
+
+  private static final long NODE_ID = 5;
+
+  private final AtomicLong clock = new AtomicLong(SnowflakeIdGenerator.EPOCH + 1_000);
+  private final AtomicBoolean held = new AtomicBoolean(true);
+  private final SnowflakeIdGenerator generator =
+      new SnowflakeIdGenerator(NODE_ID, held::get, clock::get);
+
+  @Test
+  void idCarriesTimestampNodeAndSequence() {
+    long first = generator.nextId();
+    long second = generator.nextId();
+
+    assertThat(timestamp(first)).isEqualTo(1_000);
+    assertThat(node(first)).isEqualTo(NODE_ID);
+    assertThat(sequence(first)).isZero();
+    assertThat(sequence(second)).isEqualTo(1);
+  }
+
+  @Test
+  void clockMovingBackKeepsTheLastTimestamp() {
+    long beforeRegression = generator.nextId();
+    clock.set(SnowflakeIdGenerator.EPOCH + 400);
+
+    long afterRegression = generator.nextId();
+
+    assertThat(afterRegression).isGreaterThan(beforeRegression);
+    assertThat(timestamp(afterRegression)).isEqualTo(1_000);
+    assertThat(sequence(afterRegression)).isEqualTo(1);
+  }
+
+  @Test
+  void exhaustedSequenceBorrowsTheNextMillisecond() {
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < 4096 + 2; i++) {
+      ids.add(generator.nextId());
+    }
+
+    assertThat(ids).isSorted().doesNotHaveDuplicates();
+    assertThat(timestamp(ids.get(4095))).isEqualTo(1_000);
+    assertThat(sequence(ids.get(4095))).isEqualTo(4095);
+    assertThat(timestamp(ids.get(4096))).isEqualTo(1_001);
+    assertThat(sequence(ids.get(4096))).isZero();
+
+    // The clock catching up to the borrowed millisecond continues its sequence
+    clock.set(SnowflakeIdGenerator.EPOCH + 1_001);
+    long caughtUp = generator.nextId();
+    assertThat(timestamp(caughtUp)).isEqualTo(1_001);
+    assertThat(sequence(caughtUp)).isEqualTo(2);
+  }
+
+  @Test
+  void lapsedLeaseStopsGeneration() {
+    generator.nextId();
+    held.set(false);
+
+    assertThatThrownBy(generator::nextId)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Lease on node id 5 has lapsed");
+
+    held.set(true);
+    assertThat(generator.nextId()).isPositive();
+  }
+
+  @Test
+  void nodeIdOutsideTenBitsIsRejected() {
+    assertThatThrownBy(() -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new SnowflakeIdGenerator(-1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void textFormSortsLikeTheNumber() {
+    List<Long> ids = new ArrayList<>(List.of(0L, 1L, 31L, 32L, 1L << 22, Long.MAX_VALUE));
+    Random random = new Random(42);
+    for (int i = 0; i < 1_000; i++) {
+      ids.add(random.nextLong() & Long.MAX_VALUE);
+    }
+
+    for (int i = 1; i < ids.size(); i++) {
+      long a = ids.get(i - 1);
+      long b = ids.get(i);
+      assertThat(Integer.signum(SnowflakeIdGenerator.encode(a)
+          .compareTo(SnowflakeIdGenerator.encode(b))))
+          .as("%d vs %d", a, b)
+          .isEqualTo(Long.signum(Long.compare(a, b)));
+    }
+    assertThat(SnowflakeIdGenerator.encode(Long.MAX_VALUE)).hasSize(13)
+        .doesNotContainAnyWhitespaces()
+        .matches("[0-9A-HJKMNP-TV-Z]+");
+  }
+
+  @Test
+  void prefixedIdIsThePrefixAndTheTextForm() {
+    String id = generator.nextId("PAY-");
+
+    assertThat(id).startsWith("PAY-").hasSize(4 + 13);
+    assertThat(id.substring(4)).isEqualTo(SnowflakeIdGenerator.encode(
+        (1_000L << 22) | (NODE_ID << 12)));
+  }
+
+  private static long timestamp(long id) {
+    return id >>> 22;
+  }
+
+  private static long node(long id) {
+    return (id >>> 12) & SnowflakeIdGenerator.MAX_NODE_ID;
+  }
+
+  private static long sequence(long id) {
+    return id & 4095;
+  }
+}
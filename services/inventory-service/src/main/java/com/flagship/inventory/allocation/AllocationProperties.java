@@ -0,0 +1,26 @@
+package com.flagship.inventory.allocation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Allocation Properties
+ * <p>
+ * Bound from {@code inventory.allocation}. {@code proximity} maps an origin (region, zone or
+ * warehouse code sent by the caller) to the stock locations ordered nearest first; locations not
+ * listed for an origin are considered after the listed ones.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory.allocation")
+public class AllocationProperties {
+
+  private AllocationStrategy defaultStrategy = AllocationStrategy.SPLIT;
+
+  private Map<String, List<String>> proximity = new HashMap<>();
+}
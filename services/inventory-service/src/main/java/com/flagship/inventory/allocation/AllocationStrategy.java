@@ -0,0 +1,24 @@
+package com.flagship.inventory.allocation;
+
+/**
+ * Allocation Strategy
+ * <p>
+ * How a reservation is spread across the locations that stock a product.
+ */
+public enum AllocationStrategy {
+
+  /**
+   * Single location, preferring the ones closest to the requested origin.
+   */
+  NEAREST,
+
+  /**
+   * Single location, preferring the one with the most available stock.
+   */
+  MOST_STOCK,
+
+  /**
+   * As many locations as needed, nearest first (most stock first without an origin).
+   */
+  SPLIT
+}
@@ -0,0 +1,68 @@
+package com.flagship.inventory.allocation;
+
+import com.flagship.inventory.repository.InventoryItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Location Stock Index
+ * <p>
+ * In-memory map of product to available quantity per location, used to rank candidate locations
+ * without querying every inventory row on the checkout path. Entries are loaded lazily and updated
+ * after commit by the local write paths; the index is only a hint, the conditional reserve
+ * statement remains the source of truth and corrects stale entries when it misses.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocationStockIndex {
+
+  private final InventoryItemRepository inventoryItemRepository;
+
+  private final Map<Long, Map<String, Integer>> availableByProduct = new ConcurrentHashMap<>();
+
+  public Map<String, Integer> availableByLocation(Long productId) {
+    Map<String, Integer> locations = availableByProduct.get(productId);
+    if (locations != null) {
+      return locations;
+    }
+    Map<String, Integer> loaded = new ConcurrentHashMap<>();
+    for (Object[] row : inventoryItemRepository.findAvailableQuantityByLocation(productId)) {
+      loaded.put((String) row[0], (Integer) row[1]);
+    }
+    Map<String, Integer> existing = availableByProduct.putIfAbsent(productId, loaded);
+    return existing != null ? existing : loaded;
+  }
+
+  public void update(Long productId, String location, int availableQuantity) {
+    Map<String, Integer> locations = availableByProduct.get(productId);
+    if (locations != null) {
+      locations.put(location, availableQuantity);
+    }
+  }
+
+  public void updateAfterCommit(Long productId, String location, int availableQuantity) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      update(productId, location, availableQuantity);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        update(productId, location, availableQuantity);
+      }
+    });
+  }
+
+  public void invalidate(Long productId) {
+    availableByProduct.remove(productId);
+  }
+
+  public void clear() {
+    availableByProduct.clear();
+  }
+}
@@ -0,0 +1,31 @@
+package com.flagship.inventory.config;
+
+import com.flagship.common.id.PooledSequenceAligner;
+import com.flagship.inventory.model.InventoryItem;
+import com.flagship.inventory.model.Product;
+import com.flagship.inventory.model.ProductEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+/**
+ * Id Sequence Configuration
+ * <p>
+ * Moves the pooled id sequences of this service's tables past their existing ids on startup; see
+ * {@link PooledSequenceAligner}.
+ */
+@Configuration
+public class IdSequenceConfig {
+
+  @Bean(initMethod = "alignSequences")
+  @DependsOn("entityManagerFactory")
+  PooledSequenceAligner pooledSequenceAligner(JdbcTemplate jdbcTemplate) {
+    return new PooledSequenceAligner(jdbcTemplate, Map.of(
+        Product.ID_SEQUENCE, "products",
+        InventoryItem.ID_SEQUENCE, "inventory_items",
+        ProductEvent.ID_SEQUENCE, "product_events"));
+  }
+}
@@ -0,0 +1,110 @@
+package com.flagship.inventory.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inventory Item Schema Configuration
+ * <p>
+ * Merges {@code inventory_items} rows that share a product and location before Hibernate schema
+ * management adds {@code uk_inventory_item_product_location}. Hibernate adds unique constraints
+ * quietly and skips them while duplicates exist, and the bulk import upsert cannot run without
+ * it. The rows of a pair are locked, their quantities summed into the oldest row and the others
+ * deleted, so product totals are unchanged; location counts of product stock levels are corrected
+ * by the next reconciliation.
+ */
+@Slf4j
+@Configuration
+public class InventoryItemSchemaConfig {
+
+  private static final String DUPLICATES_SQL = "SELECT product_id, location "
+      + "FROM inventory_items GROUP BY product_id, location HAVING COUNT(*) > 1";
+
+  private static final String LOCK_PAIR_SQL = "SELECT id, quantity, reserved_quantity, "
+      + "available_quantity FROM inventory_items WHERE product_id = ? AND location = ? "
+      + "ORDER BY id FOR UPDATE";
+
+  private static final String MERGE_SQL = "UPDATE inventory_items SET quantity = ?, "
+      + "reserved_quantity = ?, available_quantity = ?, version = version + 1, updated_at = ? "
+      + "WHERE id = ?";
+
+  private static final String DELETE_SQL = "DELETE FROM inventory_items WHERE id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  public InventoryItemSchemaConfig(DataSource dataSource) {
+    // Runs before the entity manager factory, so before the JPA transaction manager exists
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.transactionTemplate = new TransactionTemplate(
+        new DataSourceTransactionManager(dataSource));
+  }
+
+  @Bean
+  static EntityManagerFactoryDependsOnPostProcessor inventoryItemsMergedBeforeSchemaUpdate() {
+    return new EntityManagerFactoryDependsOnPostProcessor(InventoryItemSchemaConfig.class);
+  }
+
+  @PostConstruct
+  void mergeDuplicateItems() {
+    Integer tables = jdbcTemplate.queryForObject("SELECT COUNT(*) "
+        + "FROM information_schema.tables WHERE LOWER(table_name) = 'inventory_items'",
+        Integer.class);
+    if (tables == null || tables == 0) {
+      return;
+    }
+
+    List<Map<String, Object>> pairs = jdbcTemplate.queryForList(DUPLICATES_SQL);
+    for (Map<String, Object> pair : pairs) {
+      long productId = ((Number) pair.get("product_id")).longValue();
+      String location = (String) pair.get("location");
+      transactionTemplate.executeWithoutResult(status -> merge(productId, location));
+    }
+    if (!pairs.isEmpty()) {
+      log.warn("Merged duplicate inventory items of {} product locations", pairs.size());
+    }
+  }
+
+  private void merge(long productId, String location) {
+    List<ItemRow> rows = jdbcTemplate.query(LOCK_PAIR_SQL,
+        (rs, rowNum) -> new ItemRow(rs.getLong("id"), rs.getInt("quantity"),
+            rs.getInt("reserved_quantity"), rs.getInt("available_quantity")),
+        productId, location);
+    if (rows.size() < 2) {
+      // Merged by another instance while this one was starting
+      return;
+    }
+
+    int quantity = 0;
+    int reserved = 0;
+    int available = 0;
+    for (ItemRow row : rows) {
+      quantity += row.quantity();
+      reserved += row.reservedQuantity();
+      available += row.availableQuantity();
+    }
+    ItemRow kept = rows.get(0);
+    jdbcTemplate.update(MERGE_SQL, quantity, reserved, available,
+        Timestamp.valueOf(LocalDateTime.now()), kept.id());
+    for (ItemRow row : rows.subList(1, rows.size())) {
+      jdbcTemplate.update(DELETE_SQL, row.id());
+    }
+    log.info("Merged {} inventory items of product: {} at location: {} into item: {}",
+        rows.size(), productId, location, kept.id());
+  }
+
+  private record ItemRow(long id, int quantity, int reservedQuantity, int availableQuantity) {
+  }
+}
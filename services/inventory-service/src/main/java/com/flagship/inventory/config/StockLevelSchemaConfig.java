@@ -0,0 +1,59 @@
+package com.flagship.inventory.config;
+
+import com.flagship.inventory.model.ProductStockLevel;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Stock Level Schema Configuration
+ * <p>
+ * Creates the stock level change sequence, which Hibernate schema management does not export
+ * because it backs no generated identifier, the row the change sequencer locks and the row
+ * reconciliation runs are claimed on.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class StockLevelSchemaConfig {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @PostConstruct
+  void createChangeSequence() {
+    jdbcTemplate.execute(
+        "CREATE SEQUENCE IF NOT EXISTS " + ProductStockLevel.CHANGE_SEQUENCE + " START WITH 1");
+    log.debug("Ensured sequence: {}", ProductStockLevel.CHANGE_SEQUENCE);
+  }
+
+  @PostConstruct
+  void createSequencerLock() {
+    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + ProductStockLevel.SEQUENCER_LOCK_TABLE
+        + " (id INTEGER PRIMARY KEY)");
+    try {
+      jdbcTemplate.update("INSERT INTO " + ProductStockLevel.SEQUENCER_LOCK_TABLE
+          + " (id) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM "
+          + ProductStockLevel.SEQUENCER_LOCK_TABLE + " WHERE id = 1)");
+    } catch (DuplicateKeyException e) {
+      // Another instance created the row while this one was starting
+    }
+    log.debug("Ensured lock table: {}", ProductStockLevel.SEQUENCER_LOCK_TABLE);
+  }
+
+  @PostConstruct
+  void createReconcilerClaim() {
+    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + ProductStockLevel.RECONCILER_TABLE
+        + " (id INTEGER PRIMARY KEY, reconciled_at TIMESTAMP)");
+    try {
+      jdbcTemplate.update("INSERT INTO " + ProductStockLevel.RECONCILER_TABLE
+          + " (id) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM "
+          + ProductStockLevel.RECONCILER_TABLE + " WHERE id = 1)");
+    } catch (DuplicateKeyException e) {
+      // Another instance created the row while this one was starting
+    }
+    log.debug("Ensured claim table: {}", ProductStockLevel.RECONCILER_TABLE);
+  }
+}
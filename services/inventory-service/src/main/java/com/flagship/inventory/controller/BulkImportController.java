@@ -0,0 +1,73 @@
+package com.flagship.inventory.controller;
+
+import com.flagship.inventory.model.ImportJob;
+import com.flagship.inventory.service.BulkImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+
+/**
+ * Bulk Import Controller
+ * <p>
+ * REST API endpoints for bulk product and stock imports. Uploads are accepted immediately and
+ * processed in the background; progress is polled through the job endpoint.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/inventory/import")
+@RequiredArgsConstructor
+public class BulkImportController {
+
+  private final BulkImportService bulkImportService;
+
+  @PostMapping(consumes = {"text/csv", "application/x-ndjson", "application/octet-stream"})
+  @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
+  public ResponseEntity<ImportJob> submitImport(
+      HttpServletRequest request,
+      @RequestParam(required = false) String format) {
+    log.info("Submitting bulk import with content type: {} and format: {}",
+        request.getContentType(), format);
+
+    try {
+      ImportJob job = bulkImportService.submit(request.getInputStream(),
+          resolveFormat(format, request.getContentType()));
+      return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    } catch (IOException | UncheckedIOException e) {
+      log.error("Failed to accept bulk import", e);
+      return ResponseEntity.internalServerError().build();
+    }
+  }
+
+  @GetMapping("/{jobId}")
+  @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
+  public ResponseEntity<ImportJob> getImportJob(@PathVariable String jobId) {
+    log.debug("Getting bulk import job: {}", jobId);
+
+    return bulkImportService.getJob(jobId)
+        .map(ResponseEntity::ok)
+        .orElse(ResponseEntity.notFound().build());
+  }
+
+  private static ImportJob.ImportFormat resolveFormat(String format, String contentType) {
+    if (format != null) {
+      return ImportJob.ImportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+    }
+    if (contentType != null && contentType.startsWith("text/csv")) {
+      return ImportJob.ImportFormat.CSV;
+    }
+    if (contentType != null && contentType.startsWith("application/x-ndjson")) {
+      return ImportJob.ImportFormat.NDJSON;
+    }
+    throw new IllegalArgumentException("Unsupported import format: " + contentType);
+  }
+}
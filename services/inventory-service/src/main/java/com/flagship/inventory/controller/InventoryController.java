@@ -1,18 +1,25 @@
 package com.flagship.inventory.controller;
 
+import com.flagship.common.paging.KeysetPage;
+import com.flagship.inventory.allocation.AllocationStrategy;
+import com.flagship.inventory.dto.AllocationResult;
+import com.flagship.inventory.dto.ProductDto;
+import com.flagship.inventory.dto.ProductSearchResult;
 import com.flagship.inventory.model.InventoryItem;
 import com.flagship.inventory.model.Product;
+import com.flagship.inventory.search.ProductSearchQuery;
+import com.flagship.inventory.service.InventoryMutationRetry;
 import com.flagship.inventory.service.InventoryService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +36,7 @@ import java.util.Optional;
 public class InventoryController {
 
   private final InventoryService inventoryService;
+  private final InventoryMutationRetry inventoryMutationRetry;
 
   @PostMapping("/products")
   @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
@@ -79,10 +87,14 @@ public class InventoryController {
         productId, location, quantity);
 
     try {
-      InventoryItem inventoryItem = inventoryService.addInventory(productId, location, quantity);
+      InventoryItem inventoryItem = inventoryMutationRetry.execute(productId,
+          () -> inventoryService.addInventory(productId, location, quantity),
+          InventoryItem::getSku);
       return ResponseEntity.ok(inventoryItem);
     } catch (IllegalArgumentException e) {
       return ResponseEntity.notFound().build();
+    } catch (OptimisticLockingFailureException e) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).build();
     }
   }
 
@@ -97,13 +109,37 @@ public class InventoryController {
         productId, location, quantity, orderId);
 
     try {
-      InventoryItem inventoryItem = inventoryService.reserveInventory(productId, location, quantity,
-          orderId);
+      InventoryItem inventoryItem = inventoryMutationRetry.execute(productId,
+          () -> inventoryService.reserveInventory(productId, location, quantity, orderId),
+          InventoryItem::getSku);
       return ResponseEntity.ok(inventoryItem);
     } catch (IllegalArgumentException e) {
       return ResponseEntity.notFound().build();
     } catch (IllegalStateException e) {
       return ResponseEntity.badRequest().build();
+    } catch (OptimisticLockingFailureException e) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+  }
+
+  @PostMapping("/products/{productId}/allocate")
+  @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER') or hasRole('ORDER_MANAGER')")
+  public ResponseEntity<AllocationResult> allocateInventory(@PathVariable Long productId,
+      @RequestParam Integer quantity,
+      @RequestParam Long orderId,
+      @RequestParam(required = false) AllocationStrategy strategy,
+      @RequestParam(required = false) String origin) {
+    log.info("Allocating inventory for product ID: {} with quantity: {} for order: {}",
+        productId, quantity, orderId);
+
+    try {
+      AllocationResult result = inventoryService.allocateInventory(productId, quantity, orderId,
+          strategy, origin);
+      return ResponseEntity.ok(result);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.notFound().build();
+    } catch (IllegalStateException e) {
+      return ResponseEntity.badRequest().build();
     }
   }
 
@@ -118,13 +154,16 @@ public class InventoryController {
         productId, location, quantity, orderId);
 
     try {
-      InventoryItem inventoryItem = inventoryService.releaseReservedInventory(productId, location,
-          quantity, orderId);
+      InventoryItem inventoryItem = inventoryMutationRetry.execute(productId,
+          () -> inventoryService.releaseReservedInventory(productId, location, quantity, orderId),
+          InventoryItem::getSku);
       return ResponseEntity.ok(inventoryItem);
     } catch (IllegalArgumentException e) {
       return ResponseEntity.notFound().build();
     } catch (IllegalStateException e) {
       return ResponseEntity.badRequest().build();
+    } catch (OptimisticLockingFailureException e) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).build();
     }
   }
 
@@ -139,13 +178,16 @@ public class InventoryController {
         productId, location, quantity, orderId);
 
     try {
-      InventoryItem inventoryItem = inventoryService.confirmReservedInventory(productId, location,
-          quantity, orderId);
+      InventoryItem inventoryItem = inventoryMutationRetry.execute(productId,
+          () -> inventoryService.confirmReservedInventory(productId, location, quantity, orderId),
+          InventoryItem::getSku);
       return ResponseEntity.ok(inventoryItem);
     } catch (IllegalArgumentException e) {
       return ResponseEntity.notFound().build();
     } catch (IllegalStateException e) {
       return ResponseEntity.badRequest().build();
+    } catch (OptimisticLockingFailureException e) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).build();
     }
   }
 
@@ -170,11 +212,42 @@ public class InventoryController {
   }
 
   @GetMapping("/products")
-  public ResponseEntity<Page<Product>> getAllProducts(Pageable pageable) {
-    log.debug("Getting all products with pagination: {}", pageable);
+  public ResponseEntity<KeysetPage<ProductDto>> getAllProducts(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "50") int size,
+      @RequestParam(defaultValue = "false") boolean includeTotal) {
+    log.debug("Getting all products after cursor: {}", cursor);
 
-    Page<Product> products = inventoryService.findAllProducts(pageable);
-    return ResponseEntity.ok(products);
+    try {
+      return ResponseEntity.ok(inventoryService.findAllProducts(cursor, size, includeTotal));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @GetMapping("/products/search")
+  public ResponseEntity<ProductSearchResult> searchProducts(
+      @RequestParam(required = false) String q,
+      @RequestParam(required = false) String category,
+      @RequestParam(required = false) String brand,
+      @RequestParam(required = false) BigDecimal minPrice,
+      @RequestParam(required = false) BigDecimal maxPrice,
+      @RequestParam(required = false) String status,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "20") int size) {
+    log.debug("Searching products for: '{}' category: {} brand: {}", q, category, brand);
+
+    ProductSearchQuery query = ProductSearchQuery.builder()
+        .text(q)
+        .category(category)
+        .brand(brand)
+        .minPrice(minPrice)
+        .maxPrice(maxPrice)
+        .status(status)
+        .page(page)
+        .size(size)
+        .build();
+    return ResponseEntity.ok(inventoryService.searchProducts(query));
   }
 
   @GetMapping("/products/category/{category}")
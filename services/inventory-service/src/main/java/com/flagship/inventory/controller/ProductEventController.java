@@ -0,0 +1,121 @@
+package com.flagship.inventory.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flagship.common.paging.KeysetPage;
+import com.flagship.inventory.dto.ProductEventDto;
+import com.flagship.inventory.model.ProductEvent;
+import com.flagship.inventory.service.ProductEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Product Event Controller
+ * <p>
+ * REST API endpoints for the product audit log. List endpoints are keyset-paginated and the export
+ * endpoint streams NDJSON so large date ranges never have to be held in memory.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/inventory/events")
+@RequiredArgsConstructor
+public class ProductEventController {
+
+  private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(
+      "application/x-ndjson");
+
+  private final ProductEventService productEventService;
+  private final ObjectMapper objectMapper;
+
+  @GetMapping("/type/{eventType}")
+  @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
+  public ResponseEntity<KeysetPage<ProductEventDto>> getProductEventsByEventType(
+      @PathVariable ProductEvent.EventType eventType,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "50") int size) {
+    log.debug("Getting product events by type: {} after cursor: {}", eventType, cursor);
+
+    try {
+      KeysetPage<ProductEvent> page = productEventService.getProductEventsByEventType(eventType,
+          cursor, size);
+      return ResponseEntity.ok(page.map(ProductEventDto::from));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @GetMapping("/location/{location}")
+  @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
+  public ResponseEntity<KeysetPage<ProductEventDto>> getProductEventsByLocation(
+      @PathVariable String location,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "50") int size) {
+    log.debug("Getting product events by location: {} after cursor: {}", location, cursor);
+
+    try {
+      KeysetPage<ProductEvent> page = productEventService.getProductEventsByLocation(location,
+          cursor, size);
+      return ResponseEntity.ok(page.map(ProductEventDto::from));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @GetMapping("/date-range")
+  @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
+  public ResponseEntity<KeysetPage<ProductEventDto>> getProductEventsByDateRange(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "50") int size) {
+    log.debug("Getting product events by date range: {} to {} after cursor: {}", startDate,
+        endDate, cursor);
+
+    try {
+      KeysetPage<ProductEvent> page = productEventService.getProductEventsByDateRange(startDate,
+          endDate, cursor, size);
+      return ResponseEntity.ok(page.map(ProductEventDto::from));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @GetMapping("/export")
+  @PreAuthorize("hasRole('ADMIN') or hasRole('INVENTORY_MANAGER')")
+  public ResponseEntity<StreamingResponseBody> exportProductEventsByDateRange(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+    log.info("Exporting product events by date range: {} to {}", startDate, endDate);
+
+    StreamingResponseBody body = outputStream -> {
+      Writer writer = new BufferedWriter(
+          new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+      productEventService.exportProductEventsByDateRange(startDate, endDate, event -> {
+        try {
+          writer.write(objectMapper.writeValueAsString(ProductEventDto.from(event)));
+          writer.write('\n');
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+      writer.flush();
+    };
+
+    return ResponseEntity.ok()
+        .contentType(APPLICATION_NDJSON)
+        .body(body);
+  }
+}
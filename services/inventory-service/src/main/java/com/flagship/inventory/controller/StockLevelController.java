@@ -0,0 +1,80 @@
+package com.flagship.inventory.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flagship.inventory.dto.StockLevelChanges;
+import com.flagship.inventory.dto.StockLevelEntry;
+import com.flagship.inventory.service.StockLevelService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stock Level Controller
+ * <p>
+ * REST API endpoints for consumers that mirror stock state. A client bootstraps from the gzipped
+ * NDJSON snapshot, remembers the sequence returned in {@value #SEQUENCE_HEADER}, and then polls the
+ * change feed from that sequence. Entries carry absolute totals, so replaying overlap is harmless.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/inventory/stock-levels")
+@RequiredArgsConstructor
+public class StockLevelController {
+
+  static final String SEQUENCE_HEADER = "X-Stock-Sequence";
+
+  private final StockLevelService stockLevelService;
+  private final ObjectMapper objectMapper;
+
+  @GetMapping("/snapshot")
+  public ResponseEntity<StreamingResponseBody> exportSnapshot() {
+    long sequence = stockLevelService.getSettledSequence();
+    log.info("Exporting stock level snapshot at sequence: {}", sequence);
+
+    StreamingResponseBody body = outputStream -> {
+      GZIPOutputStream gzip = new GZIPOutputStream(outputStream, 64 * 1024);
+      Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8));
+      stockLevelService.exportSnapshot(level -> {
+        try {
+          writer.write(objectMapper.writeValueAsString(StockLevelEntry.from(level)));
+          writer.write('\n');
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+      writer.flush();
+      gzip.finish();
+    };
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType("application/gzip"))
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"stock-levels-" + sequence + ".ndjson.gz\"")
+        .header(SEQUENCE_HEADER, String.valueOf(sequence))
+        .body(body);
+  }
+
+  @GetMapping("/changes")
+  public ResponseEntity<StockLevelChanges> getChanges(
+      @RequestParam long since,
+      @RequestParam(defaultValue = "1000") int limit) {
+    log.debug("Getting stock level changes since sequence: {}", since);
+
+    StockLevelChanges changes = stockLevelService.getChangesSince(since, limit);
+    return ResponseEntity.ok()
+        .header(SEQUENCE_HEADER, String.valueOf(changes.getNextSequence()))
+        .body(changes);
+  }
+}
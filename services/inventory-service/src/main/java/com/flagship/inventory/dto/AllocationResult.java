@@ -0,0 +1,37 @@
+package com.flagship.inventory.dto;
+
+import com.flagship.inventory.allocation.AllocationStrategy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Allocation Result
+ * <p>
+ * Locations and quantities reserved for an order line by the allocation engine.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AllocationResult {
+
+  private Long productId;
+  private String sku;
+  private Long orderId;
+  private AllocationStrategy strategy;
+  private int requestedQuantity;
+  private List<LocationAllocation> allocations;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class LocationAllocation {
+
+    private String location;
+    private int quantity;
+  }
+}
@@ -0,0 +1,76 @@
+package com.flagship.inventory.dto;
+
+import com.flagship.inventory.model.Product;
+import com.flagship.inventory.model.ProductStockLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Product DTO
+ * <p>
+ * Flat view of a {@link Product} for list responses. Stock totals come from the product's
+ * maintained {@link ProductStockLevel} instead of its lazy inventory items, and the event history
+ * is left out, so a page of products is written without loading anything per row.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductDto {
+
+  private Long id;
+  private String sku;
+  private String name;
+  private String description;
+  private String category;
+  private String brand;
+  private BigDecimal price;
+  private String currency;
+  private BigDecimal weight;
+  private String dimensions;
+  private String imageUrl;
+  private Product.ProductStatus status;
+  private Boolean isDigital;
+  private Boolean requiresShipping;
+  private String taxCategory;
+  private String metadata;
+  private Integer totalQuantity;
+  private Integer totalReservedQuantity;
+  private Integer totalAvailableQuantity;
+  private LocalDateTime createdAt;
+  private LocalDateTime updatedAt;
+
+  /**
+   * @param level the product's stock totals, or null when it has none yet
+   */
+  public static ProductDto from(Product product, ProductStockLevel level) {
+    return ProductDto.builder()
+        .id(product.getId())
+        .sku(product.getSku())
+        .name(product.getName())
+        .description(product.getDescription())
+        .category(product.getCategory())
+        .brand(product.getBrand())
+        .price(product.getPrice())
+        .currency(product.getCurrency())
+        .weight(product.getWeight())
+        .dimensions(product.getDimensions())
+        .imageUrl(product.getImageUrl())
+        .status(product.getStatus())
+        .isDigital(product.getIsDigital())
+        .requiresShipping(product.getRequiresShipping())
+        .taxCategory(product.getTaxCategory())
+        .metadata(product.getMetadata())
+        .totalQuantity(level != null ? level.getTotalQuantity() : 0)
+        .totalReservedQuantity(level != null ? level.getReservedQuantity() : 0)
+        .totalAvailableQuantity(level != null ? level.getAvailableQuantity() : 0)
+        .createdAt(product.getCreatedAt())
+        .updatedAt(product.getUpdatedAt())
+        .build();
+  }
+}
@@ -0,0 +1,54 @@
+package com.flagship.inventory.dto;
+
+import com.flagship.inventory.model.ProductEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Product Event DTO
+ * <p>
+ * Flat, serialization-safe view of a {@link ProductEvent}. Only the product id is exposed so the
+ * lazy product association is never initialized while writing audit responses.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductEventDto {
+
+  private Long id;
+  private Long productId;
+  private String sku;
+  private ProductEvent.EventType eventType;
+  private String description;
+  private Integer previousQuantity;
+  private Integer newQuantity;
+  private Integer quantityChange;
+  private String location;
+  private Long orderId;
+  private Long userId;
+  private String metadata;
+  private LocalDateTime timestamp;
+
+  public static ProductEventDto from(ProductEvent event) {
+    return ProductEventDto.builder()
+        .id(event.getId())
+        .productId(event.getProduct().getId())
+        .sku(event.getSku())
+        .eventType(event.getEventType())
+        .description(event.getDescription())
+        .previousQuantity(event.getPreviousQuantity())
+        .newQuantity(event.getNewQuantity())
+        .quantityChange(event.getQuantityChange())
+        .location(event.getLocation())
+        .orderId(event.getOrderId())
+        .userId(event.getUserId())
+        .metadata(event.getMetadata())
+        .timestamp(event.getTimestamp())
+        .build();
+  }
+}
@@ -0,0 +1,32 @@
+package com.flagship.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Product Search Hit
+ * <p>
+ * A single product matched by the search index, served straight from the index without a database
+ * round trip.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchHit {
+
+  private Long id;
+  private String sku;
+  private String name;
+  private String category;
+  private String brand;
+  private BigDecimal price;
+  private String currency;
+  private String status;
+  private String imageUrl;
+  private int score;
+}
@@ -0,0 +1,29 @@
+package com.flagship.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Product Search Result
+ * <p>
+ * One page of search hits together with facet counts computed over the full matching set.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchResult {
+
+  private List<ProductSearchHit> hits;
+  private long totalHits;
+  private int page;
+  private int size;
+  private Map<String, Long> categoryFacets;
+  private Map<String, Long> brandFacets;
+  private Map<String, Long> priceFacets;
+}
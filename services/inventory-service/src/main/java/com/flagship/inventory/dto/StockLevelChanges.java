@@ -0,0 +1,26 @@
+package com.flagship.inventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Stock Level Changes
+ * <p>
+ * One page of the stock level change feed. Each product appears at most once with its latest
+ * totals; pass {@code nextSequence} as {@code since} to continue.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevelChanges {
+
+  private long since;
+  private long nextSequence;
+  private boolean hasMore;
+  private List<StockLevelEntry> changes;
+}
@@ -0,0 +1,39 @@
+package com.flagship.inventory.dto;
+
+import com.flagship.inventory.model.ProductStockLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stock Level Entry
+ * <p>
+ * Current stock totals of one product as carried by the snapshot export and the change feed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevelEntry {
+
+  private Long productId;
+  private String sku;
+  private Integer totalQuantity;
+  private Integer reservedQuantity;
+  private Integer availableQuantity;
+  private Integer locationCount;
+  private Long sequence;
+
+  public static StockLevelEntry from(ProductStockLevel level) {
+    return StockLevelEntry.builder()
+        .productId(level.getProductId())
+        .sku(level.getSku())
+        .totalQuantity(level.getTotalQuantity())
+        .reservedQuantity(level.getReservedQuantity())
+        .availableQuantity(level.getAvailableQuantity())
+        .locationCount(level.getLocationCount())
+        .sequence(level.getChangeSequence())
+        .build();
+  }
+}
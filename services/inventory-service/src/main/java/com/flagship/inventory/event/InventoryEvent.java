@@ -20,6 +20,12 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class InventoryEvent {
 
+  /**
+   * Metadata field of a {@link InventoryEventType#BULK_IMPORT} event listing the product ids the
+   * batch touched.
+   */
+  public static final String PRODUCT_IDS_METADATA = "productIds";
+
   private Long productId;
   private String sku;
   private InventoryEventType eventType;
@@ -61,6 +67,9 @@ public class InventoryEvent {
     LOW_STOCK_ALERT,
     OUT_OF_STOCK_ALERT,
     REORDER_POINT_REACHED,
-    STOCK_LEVEL_CHANGED
+    STOCK_LEVEL_CHANGED,
+    BULK_IMPORT,
+    ORDER_RESERVED,
+    ORDER_RESERVATION_FAILED
   }
 }
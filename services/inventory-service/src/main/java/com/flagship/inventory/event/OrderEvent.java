@@ -0,0 +1,46 @@
+package com.flagship.inventory.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Order Event
+ * <p>
+ * The part of an order-service event that inventory acts on: which order, what happened to it and
+ * the items it contains. The event type is kept as a string so order types this service does not
+ * handle are simply ignored.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEvent {
+
+  public static final String INVENTORY_RESERVATION_REQUESTED = "INVENTORY_RESERVATION_REQUESTED";
+  public static final String ORDER_CONFIRMED = "ORDER_CONFIRMED";
+  public static final String ORDER_CANCELLED = "ORDER_CANCELLED";
+
+  private Long orderId;
+  private Long userId;
+  private String eventType;
+  private LocalDateTime timestamp;
+
+  @Builder.Default
+  private List<OrderItem> items = new ArrayList<>();
+
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class OrderItem {
+
+    private Long productId;
+    private Integer quantity;
+  }
+}
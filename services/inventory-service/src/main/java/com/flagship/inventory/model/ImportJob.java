@@ -0,0 +1,134 @@
+package com.flagship.inventory.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Import Job Entity
+ * <p>
+ * Progress of a bulk product/stock import. The worker updates its copy and saves it with every
+ * committed batch, so status requests served by any replica read the stored row. Only the first
+ * {@value #MAX_ERRORS} row errors are retained, and finished jobs are deleted after the retention
+ * period.
+ */
+@Entity
+@Table(name = "import_jobs", indexes = {
+    @Index(name = "idx_import_job_updated_at", columnList = "updated_at")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ImportJob {
+
+  public static final int MAX_ERRORS = 100;
+
+  private static final String ERROR_SEPARATOR = "\n";
+
+  @Id
+  @Column(name = "id", length = 36)
+  private String id = UUID.randomUUID().toString();
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "format", nullable = false)
+  private ImportFormat format;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false)
+  private ImportStatus status = ImportStatus.PENDING;
+
+  @Column(name = "submitted_at", nullable = false)
+  private LocalDateTime submittedAt = LocalDateTime.now();
+
+  @Column(name = "started_at")
+  private LocalDateTime startedAt;
+
+  @Column(name = "completed_at")
+  private LocalDateTime completedAt;
+
+  @Column(name = "failure_reason", columnDefinition = "TEXT")
+  private String failureReason;
+
+  @Column(name = "rows_read", nullable = false)
+  private long rowsRead;
+
+  @Column(name = "rows_imported", nullable = false)
+  private long rowsImported;
+
+  @Column(name = "rows_rejected", nullable = false)
+  private long rowsRejected;
+
+  @Column(name = "batches_committed", nullable = false)
+  private long batchesCommitted;
+
+  @JsonIgnore
+  @Column(name = "error_log", columnDefinition = "TEXT")
+  private String errorLog;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt = LocalDateTime.now();
+
+  public ImportJob(ImportFormat format) {
+    this.format = format;
+  }
+
+  public void start() {
+    this.startedAt = LocalDateTime.now();
+    this.status = ImportStatus.RUNNING;
+  }
+
+  public void complete() {
+    this.completedAt = LocalDateTime.now();
+    this.status = ImportStatus.COMPLETED;
+  }
+
+  public void fail(String reason) {
+    this.failureReason = reason;
+    this.completedAt = LocalDateTime.now();
+    this.status = ImportStatus.FAILED;
+  }
+
+  public long nextRow() {
+    return ++rowsRead;
+  }
+
+  public void batchCommitted(long rowsImported) {
+    this.rowsImported += rowsImported;
+    this.batchesCommitted++;
+  }
+
+  public List<String> getErrors() {
+    return errorLog == null ? List.of() : Arrays.asList(errorLog.split(ERROR_SEPARATOR));
+  }
+
+  public void reject(long rowNumber, String reason) {
+    if (rowsRejected++ < MAX_ERRORS) {
+      String error = "row " + rowNumber + ": " + reason.replace(ERROR_SEPARATOR, " ");
+      errorLog = errorLog == null ? error : errorLog + ERROR_SEPARATOR + error;
+    }
+  }
+
+  @PrePersist
+  @PreUpdate
+  void touch() {
+    this.updatedAt = LocalDateTime.now();
+  }
+
+  public enum ImportFormat {
+    CSV,
+    NDJSON
+  }
+
+  public enum ImportStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+}
@@ -19,7 +19,10 @@ import java.time.LocalDateTime;
  * levels, reservations, and availability.
  */
 @Entity
-@Table(name = "inventory_items", indexes = {
+@Table(name = "inventory_items", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_inventory_item_product_location", columnNames = {"product_id",
+        "location"})
+}, indexes = {
     @Index(name = "idx_inventory_item_product_id", columnList = "product_id"),
     @Index(name = "idx_inventory_item_location", columnList = "location"),
     @Index(name = "idx_inventory_item_sku", columnList = "sku")
@@ -30,8 +33,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class InventoryItem {
 
+  public static final String ID_SEQUENCE = "inventory_items_seq";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -80,6 +86,10 @@ public class InventoryItem {
   @Column(name = "last_sold")
   private LocalDateTime lastSold;
 
+  @Version
+  @Column(name = "version", columnDefinition = "bigint default 0 not null")
+  private Long version;
+
   @CreationTimestamp
   @Column(name = "created_at", nullable = false, updatable = false)
   private LocalDateTime createdAt;
@@ -0,0 +1,67 @@
+package com.flagship.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order Reservation Entity
+ * <p>
+ * Stock held for an order at one location. Allocation may split an item across locations, so
+ * these rows are what a later confirmation or release works from. Rows are kept after they are
+ * settled so a redelivered reservation request for the same order is recognised.
+ */
+@Entity
+@Table(name = "order_reservations", indexes = {
+    @Index(name = "idx_order_reservation_order_id", columnList = "order_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderReservation {
+
+  public static final String ID_SEQUENCE = "order_reservations_seq";
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
+  private Long id;
+
+  @Column(name = "order_id", nullable = false)
+  private Long orderId;
+
+  @Column(name = "product_id", nullable = false)
+  private Long productId;
+
+  @Column(name = "location", nullable = false)
+  private String location;
+
+  @Column(name = "quantity", nullable = false)
+  private Integer quantity;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false)
+  @Builder.Default
+  private ReservationStatus status = ReservationStatus.RESERVED;
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @UpdateTimestamp
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  public enum ReservationStatus {
+    RESERVED,
+    CONFIRMED,
+    RELEASED
+  }
+}
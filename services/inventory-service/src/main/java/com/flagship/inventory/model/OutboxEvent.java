@@ -0,0 +1,53 @@
+package com.flagship.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox Event Entity
+ * <p>
+ * A Kafka message written in the same transaction as the state change it describes. Rows are
+ * published in id order by the outbox relay and deleted once the broker has acknowledged them.
+ * The id stays IDENTITY: pooled sequence blocks would let one instance write lower ids after
+ * another instance's higher ones and break per-key publish order. {@code claimedUntil} is the
+ * lease of the relay currently sending the row.
+ */
+@Entity
+@Table(name = OutboxEvent.TABLE)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+  public static final String TABLE = "inventory_outbox";
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "topic", nullable = false)
+  private String topic;
+
+  @Column(name = "message_key")
+  private String messageKey;
+
+  @Column(name = "event_type", nullable = false)
+  private String eventType;
+
+  @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+  private String payload;
+
+  @Column(name = "claimed_until")
+  private LocalDateTime claimedUntil;
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+}
@@ -27,7 +27,8 @@ import java.util.List;
     @Index(name = "idx_product_sku", columnList = "sku"),
     @Index(name = "idx_product_name", columnList = "name"),
     @Index(name = "idx_product_category", columnList = "category"),
-    @Index(name = "idx_product_status", columnList = "status")
+    @Index(name = "idx_product_status", columnList = "status"),
+    @Index(name = "idx_product_created_at_id", columnList = "created_at, id")
 })
 @Data
 @Builder
@@ -35,8 +36,11 @@ import java.util.List;
 @AllArgsConstructor
 public class Product {
 
+  public static final String ID_SEQUENCE = "products_seq";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
   private Long id;
 
   @Column(name = "sku", unique = true, nullable = false)
@@ -20,7 +20,9 @@ import java.time.LocalDateTime;
 @Table(name = "product_events", indexes = {
     @Index(name = "idx_product_event_product_id", columnList = "product_id"),
     @Index(name = "idx_product_event_type", columnList = "event_type"),
-    @Index(name = "idx_product_event_timestamp", columnList = "timestamp")
+    @Index(name = "idx_product_event_timestamp", columnList = "timestamp"),
+    @Index(name = "idx_product_event_type_timestamp_id", columnList = "event_type, timestamp, id"),
+    @Index(name = "idx_product_event_location_timestamp_id", columnList = "location, timestamp, id")
 })
 @Data
 @Builder
@@ -28,8 +30,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class ProductEvent {
 
+  public static final String ID_SEQUENCE = "product_events_seq";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,86 @@
+package com.flagship.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Product Stock Level Entity
+ * <p>
+ * Per-product stock totals across all locations, maintained incrementally in the same transaction
+ * as every inventory item mutation. Low-stock and out-of-stock lookups read this table through its
+ * available quantity index instead of aggregating {@code inventory_items} on every call.
+ */
+@Entity
+@Table(name = "product_stock_levels", indexes = {
+    @Index(name = "idx_stock_level_available", columnList = "available_quantity, product_id"),
+    @Index(name = "idx_stock_level_change_sequence", columnList = "change_sequence"),
+    @Index(name = "idx_stock_level_pending_change", columnList = "pending_change")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStockLevel {
+
+  /**
+   * Database sequence stamped on a row after its totals change, so snapshot and delta consumers
+   * can resume from the last value they applied. Created by
+   * {@link com.flagship.inventory.config.StockLevelSchemaConfig} since no entity id uses it.
+   */
+  public static final String CHANGE_SEQUENCE = "stock_level_change_seq";
+
+  /**
+   * Single-row table locked while pending changes are sequenced, also created by
+   * {@link com.flagship.inventory.config.StockLevelSchemaConfig}.
+   */
+  public static final String SEQUENCER_LOCK_TABLE = "stock_level_sequencer";
+
+  /**
+   * Single-row table recording when totals were last reconciled, claimed by one instance per
+   * reconcile interval. Also created by
+   * {@link com.flagship.inventory.config.StockLevelSchemaConfig}.
+   */
+  public static final String RECONCILER_TABLE = "stock_level_reconciler";
+
+  @Id
+  @Column(name = "product_id")
+  private Long productId;
+
+  @Column(name = "sku", nullable = false)
+  private String sku;
+
+  @Column(name = "total_quantity", nullable = false)
+  @Builder.Default
+  private Integer totalQuantity = 0;
+
+  @Column(name = "reserved_quantity", nullable = false)
+  @Builder.Default
+  private Integer reservedQuantity = 0;
+
+  @Column(name = "available_quantity", nullable = false)
+  @Builder.Default
+  private Integer availableQuantity = 0;
+
+  @Column(name = "location_count", nullable = false)
+  @Builder.Default
+  private Integer locationCount = 0;
+
+  @Column(name = "change_sequence", columnDefinition = "bigint default 0 not null")
+  @Builder.Default
+  private Long changeSequence = 0L;
+
+  /**
+   * Set by every write; cleared when the row is stamped with a new change sequence.
+   */
+  @Column(name = "pending_change", columnDefinition = "boolean default false not null")
+  @Builder.Default
+  private Boolean pendingChange = true;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+}
@@ -0,0 +1,27 @@
+package com.flagship.inventory.repository;
+
+import com.flagship.inventory.model.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Import Job Repository
+ * <p>
+ * Data access layer for bulk import progress shared by all replicas.
+ */
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, String> {
+
+  /**
+   * Deletes jobs that have not changed since the cutoff: finished jobs past their retention and
+   * jobs abandoned by an instance that stopped mid-import.
+   */
+  @Modifying
+  @Query("DELETE FROM ImportJob j WHERE j.updatedAt < :cutoff")
+  int deleteNotUpdatedSince(@Param("cutoff") LocalDateTime cutoff);
+}
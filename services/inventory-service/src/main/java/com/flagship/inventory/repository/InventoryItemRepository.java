@@ -2,6 +2,7 @@ package com.flagship.inventory.repository;
 
 import com.flagship.inventory.model.InventoryItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -93,4 +94,19 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, Lo
       @Param("location") String location,
       @Param("minQuantity") Integer minQuantity,
       @Param("maxQuantity") Integer maxQuantity);
+
+  @Query("SELECT ii.location, ii.availableQuantity FROM InventoryItem ii WHERE ii.product.id = :productId")
+  List<Object[]> findAvailableQuantityByLocation(@Param("productId") Long productId);
+
+  @Query("SELECT ii.availableQuantity FROM InventoryItem ii WHERE ii.product.id = :productId AND ii.location = :location")
+  Optional<Integer> findAvailableQuantity(@Param("productId") Long productId,
+      @Param("location") String location);
+
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE InventoryItem ii SET ii.reservedQuantity = ii.reservedQuantity + :quantity, " +
+      "ii.availableQuantity = ii.availableQuantity - :quantity, ii.updatedAt = :now, " +
+      "ii.version = ii.version + 1 " +
+      "WHERE ii.product.id = :productId AND ii.location = :location AND ii.availableQuantity >= :quantity")
+  int reserveIfAvailable(@Param("productId") Long productId, @Param("location") String location,
+      @Param("quantity") int quantity, @Param("now") LocalDateTime now);
 }
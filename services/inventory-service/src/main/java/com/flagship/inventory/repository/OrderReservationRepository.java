@@ -0,0 +1,21 @@
+package com.flagship.inventory.repository;
+
+import com.flagship.inventory.model.OrderReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Order Reservation Repository
+ * <p>
+ * Data access layer for stock held on behalf of orders.
+ */
+@Repository
+public interface OrderReservationRepository extends JpaRepository<OrderReservation, Long> {
+
+  boolean existsByOrderId(Long orderId);
+
+  List<OrderReservation> findByOrderIdAndStatusOrderByProductIdAscLocationAsc(Long orderId,
+      OrderReservation.ReservationStatus status);
+}
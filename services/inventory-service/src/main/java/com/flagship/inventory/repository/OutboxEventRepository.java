@@ -0,0 +1,16 @@
+package com.flagship.inventory.repository;
+
+import com.flagship.inventory.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Outbox Event Repository
+ * <p>
+ * Data access layer for writing to the inventory outbox. The relay reads and deletes rows through
+ * {@link com.flagship.common.outbox.OutboxPublisher}.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+}
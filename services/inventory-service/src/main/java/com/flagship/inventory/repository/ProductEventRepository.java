@@ -1,14 +1,18 @@
 package com.flagship.inventory.repository;
 
 import com.flagship.inventory.model.ProductEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Product Event Repository
@@ -87,4 +91,53 @@ public interface ProductEventRepository extends JpaRepository<ProductEvent, Long
       @Param("eventType") ProductEvent.EventType eventType,
       @Param("startDate") LocalDateTime startDate,
       @Param("endDate") LocalDateTime endDate);
+
+  // Keyset pagination: rows are ordered by (timestamp, id) descending and each page continues
+  // strictly after the last (timestamp, id) seen, so deep pages cost the same as the first one.
+
+  @Query("SELECT pe FROM ProductEvent pe WHERE pe.eventType = :eventType ORDER BY pe.timestamp DESC, pe.id DESC")
+  List<ProductEvent> findFirstPageByEventType(@Param("eventType") ProductEvent.EventType eventType,
+      Pageable pageable);
+
+  @Query("SELECT pe FROM ProductEvent pe WHERE pe.eventType = :eventType AND " +
+      "(pe.timestamp < :cursorTimestamp OR (pe.timestamp = :cursorTimestamp AND pe.id < :cursorId)) " +
+      "ORDER BY pe.timestamp DESC, pe.id DESC")
+  List<ProductEvent> findPageByEventTypeAfter(@Param("eventType") ProductEvent.EventType eventType,
+      @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+      @Param("cursorId") Long cursorId,
+      Pageable pageable);
+
+  @Query("SELECT pe FROM ProductEvent pe WHERE pe.location = :location ORDER BY pe.timestamp DESC, pe.id DESC")
+  List<ProductEvent> findFirstPageByLocation(@Param("location") String location,
+      Pageable pageable);
+
+  @Query("SELECT pe FROM ProductEvent pe WHERE pe.location = :location AND " +
+      "(pe.timestamp < :cursorTimestamp OR (pe.timestamp = :cursorTimestamp AND pe.id < :cursorId)) " +
+      "ORDER BY pe.timestamp DESC, pe.id DESC")
+  List<ProductEvent> findPageByLocationAfter(@Param("location") String location,
+      @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+      @Param("cursorId") Long cursorId,
+      Pageable pageable);
+
+  @Query("SELECT pe FROM ProductEvent pe WHERE pe.timestamp BETWEEN :startDate AND :endDate ORDER BY pe.timestamp DESC, pe.id DESC")
+  List<ProductEvent> findFirstPageByTimestampBetween(@Param("startDate") LocalDateTime startDate,
+      @Param("endDate") LocalDateTime endDate,
+      Pageable pageable);
+
+  @Query("SELECT pe FROM ProductEvent pe WHERE pe.timestamp BETWEEN :startDate AND :endDate AND " +
+      "(pe.timestamp < :cursorTimestamp OR (pe.timestamp = :cursorTimestamp AND pe.id < :cursorId)) " +
+      "ORDER BY pe.timestamp DESC, pe.id DESC")
+  List<ProductEvent> findPageByTimestampBetweenAfter(@Param("startDate") LocalDateTime startDate,
+      @Param("endDate") LocalDateTime endDate,
+      @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+      @Param("cursorId") Long cursorId,
+      Pageable pageable);
+
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("SELECT pe FROM ProductEvent pe WHERE pe.timestamp BETWEEN :startDate AND :endDate ORDER BY pe.timestamp DESC, pe.id DESC")
+  Stream<ProductEvent> streamByTimestampBetween(@Param("startDate") LocalDateTime startDate,
+      @Param("endDate") LocalDateTime endDate);
 }
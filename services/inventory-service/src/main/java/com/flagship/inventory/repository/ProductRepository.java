@@ -1,12 +1,15 @@
 package com.flagship.inventory.repository;
 
 import com.flagship.inventory.model.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +26,21 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
   boolean existsBySku(String sku);
 
+  List<Product> findBySkuIn(Collection<String> skus);
+
+  @Query("SELECT p.sku FROM Product p WHERE p.id = :id")
+  Optional<String> findSkuById(@Param("id") Long id);
+
+  @Query("SELECT p FROM Product p ORDER BY p.createdAt DESC, p.id DESC")
+  List<Product> findFirstPage(Pageable pageable);
+
+  @Query("SELECT p FROM Product p WHERE p.createdAt < :cursorTimestamp OR " +
+      "(p.createdAt = :cursorTimestamp AND p.id < :cursorId) " +
+      "ORDER BY p.createdAt DESC, p.id DESC")
+  List<Product> findPageAfter(@Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+      @Param("cursorId") Long cursorId,
+      Pageable pageable);
+
   List<Product> findByCategoryOrderByName(String category);
 
   List<Product> findByStatusOrderByName(Product.ProductStatus status);
@@ -31,6 +49,8 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
   List<Product> findByNameContainingIgnoreCaseOrderByName(String name);
 
+  List<Product> findByIdGreaterThanOrderById(Long id, Pageable pageable);
+
   List<Product> findByPriceBetweenOrderByPrice(BigDecimal minPrice, BigDecimal maxPrice);
 
   List<Product> findByCurrencyOrderByName(String currency);
@@ -0,0 +1,142 @@
+package com.flagship.inventory.repository;
+
+import com.flagship.inventory.model.Product;
+import com.flagship.inventory.model.ProductStockLevel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Product Stock Level Repository
+ * <p>
+ * Data access layer for the incrementally maintained per-product stock totals. Writers only mark
+ * a row as pending; change sequence values are drawn by
+ * {@link com.flagship.inventory.service.StockLevelService#sequencePendingChanges()} alone.
+ */
+@Repository
+public interface ProductStockLevelRepository extends JpaRepository<ProductStockLevel, Long> {
+
+  @Modifying(flushAutomatically = true, clearAutomatically = false)
+  @Query("UPDATE ProductStockLevel s SET " +
+      "s.totalQuantity = s.totalQuantity + :quantityDelta, " +
+      "s.reservedQuantity = s.reservedQuantity + :reservedDelta, " +
+      "s.availableQuantity = s.availableQuantity + :availableDelta, " +
+      "s.locationCount = s.locationCount + :locationDelta, " +
+      "s.pendingChange = true, s.updatedAt = :now " +
+      "WHERE s.productId = :productId")
+  int applyDelta(@Param("productId") Long productId,
+      @Param("quantityDelta") int quantityDelta,
+      @Param("reservedDelta") int reservedDelta,
+      @Param("availableDelta") int availableDelta,
+      @Param("locationDelta") int locationDelta,
+      @Param("now") LocalDateTime now);
+
+  @Query("SELECT s.availableQuantity AS availableQuantity, s.locationCount AS locationCount " +
+      "FROM ProductStockLevel s WHERE s.productId = :productId")
+  Level findLevelByProductId(@Param("productId") Long productId);
+
+  @Query("SELECT p FROM Product p JOIN ProductStockLevel s ON s.productId = p.id " +
+      "WHERE s.availableQuantity <= :threshold AND s.locationCount > 0 " +
+      "ORDER BY s.availableQuantity, p.id")
+  List<Product> findLowStockProducts(@Param("threshold") int threshold);
+
+  @Query("SELECT p FROM Product p JOIN ProductStockLevel s ON s.productId = p.id " +
+      "WHERE s.availableQuantity = 0 AND s.locationCount > 0 ORDER BY p.id")
+  List<Product> findOutOfStockProducts();
+
+  @Modifying
+  @Query("INSERT INTO ProductStockLevel (productId, sku, totalQuantity, reservedQuantity, availableQuantity, locationCount, changeSequence, pendingChange, updatedAt) " +
+      "SELECT p.id, p.sku, 0, 0, 0, 0, 0, true, :now FROM Product p " +
+      "WHERE NOT EXISTS (SELECT 1 FROM ProductStockLevel s WHERE s.productId = p.id)")
+  int insertMissing(@Param("now") LocalDateTime now);
+
+  /**
+   * Creates the row of a product written to before it had one. Callers lock the product first, so
+   * concurrent first writers insert one row between them.
+   */
+  @Modifying
+  @Query("INSERT INTO ProductStockLevel (productId, sku, totalQuantity, reservedQuantity, availableQuantity, locationCount, changeSequence, pendingChange, updatedAt) " +
+      "SELECT p.id, p.sku, 0, 0, 0, 0, 0, true, :now FROM Product p " +
+      "WHERE p.id = :productId AND NOT EXISTS (SELECT 1 FROM ProductStockLevel s WHERE s.productId = p.id)")
+  int insertIfMissing(@Param("productId") Long productId, @Param("now") LocalDateTime now);
+
+  /**
+   * Locks the next chunk of rows in product id order for reconciliation. Item writers block on
+   * their product's row until the chunk commits and then apply their delta on top.
+   */
+  @Query(value = "SELECT product_id FROM product_stock_levels WHERE product_id > :afterId " +
+      "ORDER BY product_id LIMIT :limit FOR UPDATE", nativeQuery = true)
+  List<Long> lockChunk(@Param("afterId") long afterId, @Param("limit") int limit);
+
+  @Modifying
+  @Query("UPDATE ProductStockLevel s SET " +
+      "s.totalQuantity = COALESCE((SELECT SUM(ii.quantity) FROM InventoryItem ii WHERE ii.product.id = s.productId), 0), " +
+      "s.reservedQuantity = COALESCE((SELECT SUM(ii.reservedQuantity) FROM InventoryItem ii WHERE ii.product.id = s.productId), 0), " +
+      "s.availableQuantity = COALESCE((SELECT SUM(ii.availableQuantity) FROM InventoryItem ii WHERE ii.product.id = s.productId), 0), " +
+      "s.locationCount = (SELECT COUNT(ii) FROM InventoryItem ii WHERE ii.product.id = s.productId), " +
+      "s.pendingChange = true, s.updatedAt = :now " +
+      "WHERE s.productId IN :productIds AND (" +
+      "s.totalQuantity <> COALESCE((SELECT SUM(ii.quantity) FROM InventoryItem ii WHERE ii.product.id = s.productId), 0) " +
+      "OR s.reservedQuantity <> COALESCE((SELECT SUM(ii.reservedQuantity) FROM InventoryItem ii WHERE ii.product.id = s.productId), 0) " +
+      "OR s.availableQuantity <> COALESCE((SELECT SUM(ii.availableQuantity) FROM InventoryItem ii WHERE ii.product.id = s.productId), 0) " +
+      "OR s.locationCount <> (SELECT COUNT(ii) FROM InventoryItem ii WHERE ii.product.id = s.productId))")
+  int recomputeChanged(@Param("productIds") Collection<Long> productIds,
+      @Param("now") LocalDateTime now);
+
+  @Modifying
+  @Query("INSERT INTO ProductStockLevel (productId, sku, totalQuantity, reservedQuantity, availableQuantity, locationCount, changeSequence, pendingChange, updatedAt) " +
+      "SELECT p.id, p.sku, 0, 0, 0, 0, 0, true, :now FROM Product p " +
+      "WHERE p.sku IN :skus AND NOT EXISTS (SELECT 1 FROM ProductStockLevel s WHERE s.productId = p.id)")
+  int insertMissingForSkus(@Param("skus") Collection<String> skus, @Param("now") LocalDateTime now);
+
+  @Modifying
+  @Query("UPDATE ProductStockLevel s SET " +
+      "s.totalQuantity = COALESCE((SELECT SUM(ii.quantity) FROM InventoryItem ii WHERE ii.product.id = s.productId), 0), " +
+      "s.reservedQuantity = COALESCE((SELECT SUM(ii.reservedQuantity) FROM InventoryItem ii WHERE ii.product.id = s.productId), 0), " +
+      "s.availableQuantity = COALESCE((SELECT SUM(ii.availableQuantity) FROM InventoryItem ii WHERE ii.product.id = s.productId), 0), " +
+      "s.locationCount = (SELECT COUNT(ii) FROM InventoryItem ii WHERE ii.product.id = s.productId), " +
+      "s.pendingChange = true, s.updatedAt = :now WHERE s.sku IN :skus")
+  int recomputeForSkus(@Param("skus") Collection<String> skus, @Param("now") LocalDateTime now);
+
+  /**
+   * Blocks until no other transaction holds the sequencer lock row, so sequencing runs one at a
+   * time across instances.
+   */
+  @Query(value = "SELECT id FROM " + ProductStockLevel.SEQUENCER_LOCK_TABLE + " WHERE id = 1 FOR UPDATE",
+      nativeQuery = true)
+  Integer lockSequencer();
+
+  @Query("SELECT MAX(s.changeSequence) FROM ProductStockLevel s")
+  Long findMaxChangeSequence();
+
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("SELECT s FROM ProductStockLevel s ORDER BY s.productId")
+  Stream<ProductStockLevel> streamAll();
+
+  @Query("SELECT s FROM ProductStockLevel s WHERE s.changeSequence > :since ORDER BY s.changeSequence")
+  List<ProductStockLevel> findChangesSince(@Param("since") long since, Pageable pageable);
+
+  /**
+   * Available quantity and number of locations of one product.
+   */
+  interface Level {
+
+    int getAvailableQuantity();
+
+    int getLocationCount();
+  }
+}
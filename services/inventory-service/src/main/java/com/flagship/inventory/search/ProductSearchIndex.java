@@ -0,0 +1,238 @@
+package com.flagship.inventory.search;
+
+import com.flagship.inventory.dto.ProductSearchHit;
+import com.flagship.inventory.dto.ProductSearchResult;
+import com.flagship.inventory.model.Product;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Product Search Index
+ * <p>
+ * In-memory inverted index over product name, description and brand. Terms are kept in a sorted
+ * map so each query term is resolved as a prefix range scan, and per-product documents carry the
+ * facet fields (category, brand, price) so results and facet counts never touch the database.
+ * <p>
+ * Writes are serialized; reads run concurrently against the concurrent maps and may briefly observe
+ * a product mid-update.
+ */
+@Component
+public class ProductSearchIndex {
+
+  private static final int NAME_EXACT_SCORE = 3;
+  private static final int NAME_PREFIX_SCORE = 2;
+  private static final int OTHER_FIELD_SCORE = 1;
+
+  private static final BigDecimal[] PRICE_BUCKET_BOUNDS = {
+      BigDecimal.valueOf(25), BigDecimal.valueOf(50), BigDecimal.valueOf(100),
+      BigDecimal.valueOf(250), BigDecimal.valueOf(500)
+  };
+
+  private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+  private final Map<Long, IndexedProduct> documents = new ConcurrentHashMap<>();
+
+  public synchronized void index(Product product) {
+    remove(product.getId());
+
+    Set<String> nameTerms = tokenize(product.getName());
+    Set<String> terms = new HashSet<>(nameTerms);
+    terms.addAll(tokenize(product.getDescription()));
+    terms.addAll(tokenize(product.getBrand()));
+
+    documents.put(product.getId(), new IndexedProduct(product.getId(), product.getSku(),
+        product.getName(), product.getCategory(), product.getBrand(), product.getPrice(),
+        product.getCurrency(), product.getStatus() != null ? product.getStatus().name() : null,
+        product.getImageUrl(), nameTerms, terms));
+
+    for (String term : terms) {
+      postings.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(product.getId());
+    }
+  }
+
+  public synchronized void remove(Long productId) {
+    IndexedProduct existing = documents.remove(productId);
+    if (existing == null) {
+      return;
+    }
+    for (String term : existing.terms()) {
+      postings.computeIfPresent(term, (key, ids) -> {
+        ids.remove(productId);
+        return ids.isEmpty() ? null : ids;
+      });
+    }
+  }
+
+  public synchronized void clear() {
+    postings.clear();
+    documents.clear();
+  }
+
+  public int size() {
+    return documents.size();
+  }
+
+  public ProductSearchResult search(ProductSearchQuery query) {
+    List<String> queryTerms = new ArrayList<>(tokenize(query.getText()));
+
+    Collection<Long> candidates = queryTerms.isEmpty() ? documents.keySet() : matchAll(queryTerms);
+
+    List<IndexedProduct> matches = new ArrayList<>();
+    for (Long id : candidates) {
+      IndexedProduct document = documents.get(id);
+      if (document != null && passesFilters(document, query)) {
+        matches.add(document);
+      }
+    }
+
+    List<ProductSearchHit> ranked = matches.stream()
+        .map(document -> toHit(document, score(document, queryTerms)))
+        .sorted(Comparator.comparingInt(ProductSearchHit::getScore).reversed()
+            .thenComparing(ProductSearchHit::getName, Comparator.nullsLast(String::compareTo))
+            .thenComparing(ProductSearchHit::getId))
+        .toList();
+
+    int from = Math.min(query.getPage() * query.getSize(), ranked.size());
+    int to = Math.min(from + query.getSize(), ranked.size());
+
+    return ProductSearchResult.builder()
+        .hits(ranked.subList(from, to))
+        .totalHits(ranked.size())
+        .page(query.getPage())
+        .size(query.getSize())
+        .categoryFacets(countBy(matches, IndexedProduct::category))
+        .brandFacets(countBy(matches, IndexedProduct::brand))
+        .priceFacets(priceFacets(matches))
+        .build();
+  }
+
+  private Set<Long> matchAll(List<String> queryTerms) {
+    Set<Long> result = null;
+    for (String term : queryTerms) {
+      Set<Long> termMatches = new HashSet<>();
+      postings.subMap(term, true, term + Character.MAX_VALUE, true)
+          .values()
+          .forEach(termMatches::addAll);
+
+      if (result == null) {
+        result = termMatches;
+      } else {
+        result.retainAll(termMatches);
+      }
+      if (result.isEmpty()) {
+        break;
+      }
+    }
+    return result;
+  }
+
+  private static boolean passesFilters(IndexedProduct document, ProductSearchQuery query) {
+    if (query.getCategory() != null && !query.getCategory().equalsIgnoreCase(document.category())) {
+      return false;
+    }
+    if (query.getBrand() != null && !query.getBrand().equalsIgnoreCase(document.brand())) {
+      return false;
+    }
+    if (query.getStatus() != null && !query.getStatus().equalsIgnoreCase(document.status())) {
+      return false;
+    }
+    if (query.getMinPrice() != null
+        && (document.price() == null || document.price().compareTo(query.getMinPrice()) < 0)) {
+      return false;
+    }
+    return query.getMaxPrice() == null
+        || (document.price() != null && document.price().compareTo(query.getMaxPrice()) <= 0);
+  }
+
+  private static int score(IndexedProduct document, List<String> queryTerms) {
+    int score = 0;
+    for (String term : queryTerms) {
+      if (document.nameTerms().contains(term)) {
+        score += NAME_EXACT_SCORE;
+      } else if (document.nameTerms().stream().anyMatch(nameTerm -> nameTerm.startsWith(term))) {
+        score += NAME_PREFIX_SCORE;
+      } else {
+        score += OTHER_FIELD_SCORE;
+      }
+    }
+    return score;
+  }
+
+  private static Map<String, Long> countBy(List<IndexedProduct> matches,
+      Function<IndexedProduct, String> field) {
+    return matches.stream()
+        .map(field)
+        .filter(value -> value != null && !value.isBlank())
+        .collect(Collectors.groupingBy(value -> value, TreeMap::new, Collectors.counting()));
+  }
+
+  private static Map<String, Long> priceFacets(List<IndexedProduct> matches) {
+    Map<String, Long> facets = new LinkedHashMap<>();
+    for (IndexedProduct document : matches) {
+      if (document.price() != null) {
+        facets.merge(priceBucket(document.price()), 1L, Long::sum);
+      }
+    }
+    return facets;
+  }
+
+  private static String priceBucket(BigDecimal price) {
+    BigDecimal lower = BigDecimal.ZERO;
+    for (BigDecimal upper : PRICE_BUCKET_BOUNDS) {
+      if (price.compareTo(upper) < 0) {
+        return lower.toPlainString() + "-" + upper.toPlainString();
+      }
+      lower = upper;
+    }
+    return lower.toPlainString() + "+";
+  }
+
+  private static ProductSearchHit toHit(IndexedProduct document, int score) {
+    return ProductSearchHit.builder()
+        .id(document.id())
+        .sku(document.sku())
+        .name(document.name())
+        .category(document.category())
+        .brand(document.brand())
+        .price(document.price())
+        .currency(document.currency())
+        .status(document.status())
+        .imageUrl(document.imageUrl())
+        .score(score)
+        .build();
+  }
+
+  static Set<String> tokenize(String text) {
+    Set<String> tokens = new LinkedHashSet<>();
+    if (text == null || text.isBlank()) {
+      return tokens;
+    }
+    for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+      if (!token.isEmpty()) {
+        tokens.add(token);
+      }
+    }
+    return tokens;
+  }
+
+  private record IndexedProduct(Long id, String sku, String name, String category, String brand,
+                                BigDecimal price, String currency, String status, String imageUrl,
+                                Set<String> nameTerms, Set<String> terms) {
+
+  }
+}
@@ -0,0 +1,34 @@
+package com.flagship.inventory.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Product Search Query
+ * <p>
+ * Free-text terms plus optional facet filters. Every term must match (as a word prefix) one of the
+ * product's name, description or brand.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchQuery {
+
+  private String text;
+  private String category;
+  private String brand;
+  private BigDecimal minPrice;
+  private BigDecimal maxPrice;
+  private String status;
+
+  @Builder.Default
+  private int page = 0;
+
+  @Builder.Default
+  private int size = 20;
+}
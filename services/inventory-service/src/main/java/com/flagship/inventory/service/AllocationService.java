@@ -0,0 +1,151 @@
+package com.flagship.inventory.service;
+
+import com.flagship.inventory.allocation.AllocationProperties;
+import com.flagship.inventory.allocation.AllocationStrategy;
+import com.flagship.inventory.allocation.LocationStockIndex;
+import com.flagship.inventory.dto.AllocationResult.LocationAllocation;
+import com.flagship.inventory.repository.InventoryItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Allocation Service
+ * <p>
+ * Picks the locations a reservation is taken from and reserves them with conditional updates
+ * ({@code available >= quantity}), so concurrent allocations never oversell and never need a
+ * read-modify-write retry. Candidates are ranked from the {@link LocationStockIndex}; when the
+ * index is stale the statement misses, the entry is corrected from the database and the next
+ * candidate is tried. Runs inside the caller's transaction so a failed allocation releases every
+ * partial reservation it made.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class AllocationService {
+
+  private static final int MAX_PASSES = 2;
+
+  private final InventoryItemRepository inventoryItemRepository;
+  private final LocationStockIndex locationStockIndex;
+  private final AllocationProperties allocationProperties;
+
+  public AllocationStrategy resolveStrategy(AllocationStrategy requested) {
+    return requested != null ? requested : allocationProperties.getDefaultStrategy();
+  }
+
+  public List<LocationAllocation> reserve(Long productId, int quantity,
+      AllocationStrategy strategy, String origin) {
+    LocalDateTime now = LocalDateTime.now();
+    Map<String, Integer> reserved = new LinkedHashMap<>();
+    int remaining = quantity;
+
+    for (int pass = 0; pass < MAX_PASSES && remaining > 0; pass++) {
+      if (pass > 0) {
+        log.debug("Location index stale for product: {}, reloading", productId);
+        locationStockIndex.invalidate(productId);
+      }
+      List<Map.Entry<String, Integer>> candidates = rank(
+          locationStockIndex.availableByLocation(productId), strategy, origin);
+
+      remaining = strategy == AllocationStrategy.SPLIT
+          ? reserveSplit(productId, remaining, candidates, reserved, now)
+          : reserveSingle(productId, remaining, candidates, reserved, now);
+    }
+
+    if (remaining > 0) {
+      throw new IllegalStateException("Insufficient inventory available for allocation");
+    }
+
+    List<LocationAllocation> allocations = new ArrayList<>();
+    reserved.forEach((location, amount) -> allocations.add(
+        new LocationAllocation(location, amount)));
+    return allocations;
+  }
+
+  private int reserveSingle(Long productId, int quantity,
+      List<Map.Entry<String, Integer>> candidates, Map<String, Integer> reserved,
+      LocalDateTime now) {
+    for (Map.Entry<String, Integer> candidate : candidates) {
+      if (candidate.getValue() < quantity) {
+        continue;
+      }
+      if (tryReserve(productId, candidate.getKey(), quantity, now)) {
+        reserved.merge(candidate.getKey(), quantity, Integer::sum);
+        return 0;
+      }
+    }
+    return quantity;
+  }
+
+  private int reserveSplit(Long productId, int quantity,
+      List<Map.Entry<String, Integer>> candidates, Map<String, Integer> reserved,
+      LocalDateTime now) {
+    int remaining = quantity;
+    for (Map.Entry<String, Integer> candidate : candidates) {
+      if (remaining == 0) {
+        break;
+      }
+      String location = candidate.getKey();
+      int take = Math.min(remaining, candidate.getValue());
+      if (take <= 0) {
+        continue;
+      }
+      if (!tryReserve(productId, location, take, now)) {
+        // The miss refreshed the index entry; retry once with what is actually left there
+        take = Math.min(remaining,
+            locationStockIndex.availableByLocation(productId).getOrDefault(location, 0));
+        if (take <= 0 || !tryReserve(productId, location, take, now)) {
+          continue;
+        }
+      }
+      reserved.merge(location, take, Integer::sum);
+      remaining -= take;
+    }
+    return remaining;
+  }
+
+  private boolean tryReserve(Long productId, String location, int quantity, LocalDateTime now) {
+    if (inventoryItemRepository.reserveIfAvailable(productId, location, quantity, now) == 1) {
+      return true;
+    }
+    int actual = inventoryItemRepository.findAvailableQuantity(productId, location).orElse(0);
+    locationStockIndex.update(productId, location, actual);
+    return false;
+  }
+
+  private List<Map.Entry<String, Integer>> rank(Map<String, Integer> available,
+      AllocationStrategy strategy, String origin) {
+    Comparator<Map.Entry<String, Integer>> byStock = Map.Entry.<String, Integer>comparingByValue()
+        .reversed()
+        .thenComparing(Map.Entry.comparingByKey());
+
+    Comparator<Map.Entry<String, Integer>> order = byStock;
+    if (strategy != AllocationStrategy.MOST_STOCK && origin != null) {
+      List<String> nearest = allocationProperties.getProximity().getOrDefault(origin, List.of());
+      order = Comparator.<Map.Entry<String, Integer>>comparingInt(
+          entry -> proximityRank(nearest, entry.getKey())).thenComparing(byStock);
+    }
+
+    return available.entrySet().stream()
+        .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+        .filter(entry -> entry.getValue() > 0)
+        .sorted(order)
+        .toList();
+  }
+
+  private static int proximityRank(List<String> nearest, String location) {
+    int rank = nearest.indexOf(location);
+    return rank >= 0 ? rank : Integer.MAX_VALUE;
+  }
+}
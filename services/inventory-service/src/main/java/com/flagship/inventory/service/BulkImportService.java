@@ -0,0 +1,452 @@
+package com.flagship.inventory.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.flagship.common.id.PooledSequences;
+import com.flagship.inventory.allocation.LocationStockIndex;
+import com.flagship.inventory.event.InventoryEvent;
+import com.flagship.inventory.model.ImportJob;
+import com.flagship.inventory.model.InventoryItem;
+import com.flagship.inventory.model.Product;
+import com.flagship.inventory.repository.ImportJobRepository;
+import com.flagship.inventory.repository.ProductRepository;
+import com.flagship.inventory.repository.ProductStockLevelRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Bulk Import Service
+ * <p>
+ * Streams CSV or NDJSON product/stock files row by row and writes them in fixed-size batches. Each
+ * batch is one transaction: products and inventory items are upserted with JDBC batch statements,
+ * the maintained stock levels of the touched products are recomputed, and a single summarized
+ * {@link InventoryEvent.InventoryEventType#BULK_IMPORT} event listing the touched products is
+ * written to the outbox with it.
+ * <p>
+ * A row carrying a {@code name} upserts the product (price required); a row carrying a
+ * {@code location} sets the absolute on-hand quantity of that product at the location. Invalid
+ * rows are rejected individually and never fail the batch, and so is a quantity below what is
+ * already reserved at the location, which would break quantity = available + reserved.
+ * <p>
+ * Job progress is stored in {@code import_jobs} with every batch, so any replica can answer a
+ * status request, and jobs are deleted once they have not changed for the retention period.
+ */
+@Slf4j
+@Service
+public class BulkImportService {
+
+  private static final String UPSERT_PRODUCT_SQL =
+      "INSERT INTO products (id, sku, name, description, category, brand, price, currency, "
+          + "status, is_digital, requires_shipping, created_at, updated_at) "
+          + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'ACTIVE', false, true, ?, ?) "
+          + "ON CONFLICT (sku) DO UPDATE SET name = EXCLUDED.name, "
+          + "description = COALESCE(EXCLUDED.description, products.description), "
+          + "category = COALESCE(EXCLUDED.category, products.category), "
+          + "brand = COALESCE(EXCLUDED.brand, products.brand), "
+          + "price = EXCLUDED.price, currency = EXCLUDED.currency, "
+          + "updated_at = EXCLUDED.updated_at";
+
+  private static final String UPSERT_STOCK_SQL =
+      "INSERT INTO inventory_items (id, product_id, sku, location, quantity, reserved_quantity, "
+          + "available_quantity, reorder_point, reorder_quantity, last_restocked, version, "
+          + "created_at, updated_at) "
+          + "SELECT ?, p.id, p.sku, ?, ?, 0, ?, 0, 0, "
+          + "?, 0, ?, ? FROM products p WHERE p.sku = ? "
+          + "ON CONFLICT (product_id, location) DO UPDATE SET quantity = EXCLUDED.quantity, "
+          + "available_quantity = EXCLUDED.quantity - inventory_items.reserved_quantity, "
+          + "last_restocked = EXCLUDED.last_restocked, version = inventory_items.version + 1, "
+          + "updated_at = EXCLUDED.updated_at "
+          + "WHERE EXCLUDED.quantity >= inventory_items.reserved_quantity";
+
+  private final ProductRepository productRepository;
+  private final ImportJobRepository importJobRepository;
+  private final ProductStockLevelRepository stockLevelRepository;
+  private final ProductSearchService productSearchService;
+  private final LocationStockIndex locationStockIndex;
+  private final OutboxService outboxService;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final CacheManager cacheManager;
+  private final ObjectMapper objectMapper;
+  private final int batchSize;
+  private final Duration jobRetention;
+  private final ExecutorService executor;
+
+  public BulkImportService(ProductRepository productRepository,
+      ImportJobRepository importJobRepository,
+      ProductStockLevelRepository stockLevelRepository,
+      ProductSearchService productSearchService,
+      LocationStockIndex locationStockIndex,
+      OutboxService outboxService,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      CacheManager cacheManager,
+      ObjectMapper objectMapper,
+      @Value("${inventory.import.batch-size:1000}") int batchSize,
+      @Value("${inventory.import.worker-threads:2}") int workerThreads,
+      @Value("${inventory.import.job-retention:P7D}") Duration jobRetention) {
+    this.productRepository = productRepository;
+    this.importJobRepository = importJobRepository;
+    this.stockLevelRepository = stockLevelRepository;
+    this.productSearchService = productSearchService;
+    this.locationStockIndex = locationStockIndex;
+    this.outboxService = outboxService;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.cacheManager = cacheManager;
+    this.objectMapper = objectMapper;
+    this.batchSize = batchSize;
+    this.jobRetention = jobRetention;
+    this.executor = Executors.newFixedThreadPool(workerThreads);
+  }
+
+  public ImportJob submit(InputStream body, ImportJob.ImportFormat format) {
+    ImportJob job = new ImportJob(format);
+    Path spool = spool(body, job.getId());
+    importJobRepository.save(job);
+    executor.submit(() -> run(job, spool));
+    log.info("Accepted {} import job: {}", format, job.getId());
+    return job;
+  }
+
+  public Optional<ImportJob> getJob(String jobId) {
+    return importJobRepository.findById(jobId);
+  }
+
+  @Scheduled(fixedDelayString = "${inventory.import.cleanup-interval:PT1H}")
+  @Transactional
+  public void deleteExpiredJobs() {
+    int deleted = importJobRepository.deleteNotUpdatedSince(
+        LocalDateTime.now().minus(jobRetention));
+    if (deleted > 0) {
+      log.info("Deleted {} import jobs older than {}", deleted, jobRetention);
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private Path spool(InputStream body, String jobId) {
+    try {
+      Path spool = Files.createTempFile("inventory-import-" + jobId, ".tmp");
+      Files.copy(body, spool, StandardCopyOption.REPLACE_EXISTING);
+      return spool;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to buffer import file", e);
+    }
+  }
+
+  private void run(ImportJob job, Path spool) {
+    job.start();
+    importJobRepository.save(job);
+    try (InputStream input = Files.newInputStream(spool);
+        MappingIterator<Map<String, Object>> rows = reader(job.getFormat()).readValues(input)) {
+      List<ImportRow> batch = new ArrayList<>(batchSize);
+      while (rows.hasNextValue()) {
+        long rowNumber = job.nextRow();
+        ImportRow row = parse(rowNumber, rows.nextValue(), job);
+        if (row != null) {
+          batch.add(row);
+        }
+        if (batch.size() >= batchSize) {
+          writeBatch(job, batch);
+          batch.clear();
+        }
+      }
+      if (!batch.isEmpty()) {
+        writeBatch(job, batch);
+      }
+      job.complete();
+      log.info("Import job {} completed: {} rows read, {} imported, {} rejected", job.getId(),
+          job.getRowsRead(), job.getRowsImported(), job.getRowsRejected());
+    } catch (Exception e) {
+      job.fail(e.getMessage());
+      log.error("Import job {} failed after {} rows", job.getId(), job.getRowsRead(), e);
+    } finally {
+      saveFinished(job);
+      evictProductCache();
+      try {
+        Files.deleteIfExists(spool);
+      } catch (IOException e) {
+        log.warn("Failed to delete import spool file: {}", spool, e);
+      }
+    }
+  }
+
+  private ObjectReader reader(ImportJob.ImportFormat format) {
+    if (format == ImportJob.ImportFormat.CSV) {
+      return new CsvMapper().readerFor(Map.class).with(CsvSchema.emptySchema().withHeader());
+    }
+    return objectMapper.readerFor(Map.class);
+  }
+
+  private ImportRow parse(long rowNumber, Map<String, Object> values, ImportJob job) {
+    try {
+      String sku = text(values, "sku");
+      if (sku == null) {
+        throw new IllegalArgumentException("sku is required");
+      }
+
+      String name = text(values, "name");
+      BigDecimal price = null;
+      if (name != null) {
+        price = decimal(values, "price");
+        if (price == null || price.signum() <= 0) {
+          throw new IllegalArgumentException("price must be greater than 0");
+        }
+      }
+
+      String location = text(values, "location");
+      Integer quantity = null;
+      if (location != null) {
+        BigDecimal parsed = decimal(values, "quantity");
+        if (parsed == null || parsed.signum() < 0) {
+          throw new IllegalArgumentException("quantity must be 0 or greater");
+        }
+        quantity = parsed.intValueExact();
+      }
+
+      if (name == null && location == null) {
+        throw new IllegalArgumentException("row has neither product nor stock data");
+      }
+
+      String currency = text(values, "currency");
+      return new ImportRow(rowNumber, sku, name, text(values, "description"),
+          text(values, "category"), text(values, "brand"), price,
+          currency != null ? currency : "USD", location, quantity);
+    } catch (IllegalArgumentException | ArithmeticException e) {
+      job.reject(rowNumber, e.getMessage());
+      return null;
+    }
+  }
+
+  private void writeBatch(ImportJob job, List<ImportRow> batch) {
+    LocalDateTime now = LocalDateTime.now();
+    Timestamp timestamp = Timestamp.valueOf(now);
+
+    List<ImportRow> productRows = lastPerKey(batch.stream()
+        .filter(row -> row.name() != null).toList(), ImportRow::sku);
+    List<ImportRow> stockRows = lastPerKey(batch.stream()
+        .filter(row -> row.location() != null).toList(), row -> row.sku() + '\0' + row.location());
+
+    long batchNumber = job.getBatchesCommitted() + 1;
+    Map<Long, String> rejectedRows = new LinkedHashMap<>();
+    List<Product> touched = transactionTemplate.execute(status -> {
+      if (!productRows.isEmpty()) {
+        PrimitiveIterator.OfLong ids = reserveIds(Product.ID_SEQUENCE, productRows.size());
+        jdbcTemplate.batchUpdate(UPSERT_PRODUCT_SQL, productRows, productRows.size(),
+            (ps, row) -> {
+              ps.setLong(1, ids.nextLong());
+              ps.setString(2, row.sku());
+              ps.setString(3, row.name());
+              ps.setString(4, row.description());
+              ps.setString(5, row.category());
+              ps.setString(6, row.brand());
+              ps.setBigDecimal(7, row.price());
+              ps.setString(8, row.currency());
+              ps.setTimestamp(9, timestamp);
+              ps.setTimestamp(10, timestamp);
+            });
+      }
+
+      if (!stockRows.isEmpty()) {
+        PrimitiveIterator.OfLong ids = reserveIds(InventoryItem.ID_SEQUENCE, stockRows.size());
+        int[][] counts = jdbcTemplate.batchUpdate(UPSERT_STOCK_SQL, stockRows, stockRows.size(),
+            (ps, row) -> {
+              ps.setLong(1, ids.nextLong());
+              ps.setString(2, row.location());
+              ps.setInt(3, row.quantity());
+              ps.setInt(4, row.quantity());
+              ps.setTimestamp(5, timestamp);
+              ps.setTimestamp(6, timestamp);
+              ps.setTimestamp(7, timestamp);
+              ps.setString(8, row.sku());
+            });
+        List<ImportRow> unwritten = new ArrayList<>();
+        for (int i = 0; i < stockRows.size(); i++) {
+          if (counts[0][i] == 0) {
+            unwritten.add(stockRows.get(i));
+          }
+        }
+        if (!unwritten.isEmpty()) {
+          rejectUnwritten(batch, unwritten, rejectedRows);
+        }
+      }
+
+      Set<String> skus = new LinkedHashSet<>();
+      batch.forEach(row -> skus.add(row.sku()));
+      stockLevelRepository.insertMissingForSkus(skus, now);
+      stockLevelRepository.recomputeForSkus(skus, now);
+
+      List<Product> products = productRepository.findBySkuIn(skus);
+      products.forEach(productSearchService::indexAfterCommit);
+
+      enqueueBatchEvent(job, batchNumber, batch.size() - rejectedRows.size(), products);
+      // Progress is committed with the batch it describes
+      rejectedRows.forEach(job::reject);
+      job.batchCommitted(batch.size() - rejectedRows.size());
+      importJobRepository.save(job);
+      return products;
+    });
+
+    if (touched != null) {
+      touched.forEach(product -> locationStockIndex.invalidate(product.getId()));
+    }
+  }
+
+  /**
+   * Rejects the stock rows the upsert left alone: their sku is unknown, or the quantity is below
+   * what is reserved at the location. Superseded rows are rejected with the row that replaced them.
+   */
+  private void rejectUnwritten(List<ImportRow> batch, List<ImportRow> unwritten,
+      Map<Long, String> rejectedRows) {
+    Set<String> knownSkus = new LinkedHashSet<>();
+    productRepository.findBySkuIn(unwritten.stream().map(ImportRow::sku).distinct().toList())
+        .forEach(product -> knownSkus.add(product.getSku()));
+    Set<String> unknownSkus = new LinkedHashSet<>();
+    Set<String> belowReserved = new LinkedHashSet<>();
+    for (ImportRow row : unwritten) {
+      if (knownSkus.contains(row.sku())) {
+        belowReserved.add(row.sku() + '\0' + row.location());
+      } else {
+        unknownSkus.add(row.sku());
+      }
+    }
+    for (ImportRow row : batch) {
+      if (row.location() == null) {
+        continue;
+      }
+      if (unknownSkus.contains(row.sku())) {
+        rejectedRows.put(row.rowNumber(), "unknown sku");
+      } else if (belowReserved.contains(row.sku() + '\0' + row.location())) {
+        rejectedRows.put(row.rowNumber(), "quantity is below the reserved quantity at "
+            + row.location());
+      }
+    }
+  }
+
+  /**
+   * Keeps the last row per key, in the order of first appearance. A multi-row upsert (which
+   * {@code reWriteBatchedInserts} turns a batch into) cannot affect the same row twice, so a
+   * repeated sku or sku and location in one batch would fail it; the later row wins, as it would
+   * have row by row, and the earlier ones still count as imported.
+   */
+  static <K> List<ImportRow> lastPerKey(List<ImportRow> rows, Function<ImportRow, K> key) {
+    Map<K, ImportRow> last = new LinkedHashMap<>();
+    rows.forEach(row -> last.put(key.apply(row), row));
+    return last.size() == rows.size() ? rows : List.copyOf(last.values());
+  }
+
+  /**
+   * Reserves ids for a batch a whole allocation block per sequence value, the way Hibernate does,
+   * instead of calling nextval (and burning a block) for every row.
+   */
+  private PrimitiveIterator.OfLong reserveIds(String sequence, int count) {
+    return Arrays.stream(PooledSequences.reserve(jdbcTemplate, sequence,
+        PooledSequences.ALLOCATION_SIZE, count)).iterator();
+  }
+
+  private void saveFinished(ImportJob job) {
+    try {
+      importJobRepository.save(job);
+    } catch (RuntimeException e) {
+      // Unchanged jobs expire with the retention period, so a lost final state does not linger
+      log.error("Failed to store final state of import job {}", job.getId(), e);
+    }
+  }
+
+  private void enqueueBatchEvent(ImportJob job, long batchNumber, long rows,
+      List<Product> products) {
+    Map<String, Object> metadata = new LinkedHashMap<>();
+    metadata.put("jobId", job.getId());
+    metadata.put("batch", batchNumber);
+    metadata.put("rows", rows);
+    metadata.put("products", products.size());
+    // Lets other replicas refresh what they hold for the batch, e.g. their search index
+    metadata.put(InventoryEvent.PRODUCT_IDS_METADATA,
+        products.stream().map(Product::getId).toList());
+
+    try {
+      InventoryEvent event = InventoryEvent.builder()
+          .eventType(InventoryEvent.InventoryEventType.BULK_IMPORT)
+          .timestamp(LocalDateTime.now())
+          .metadata(objectMapper.writeValueAsString(metadata))
+          .build();
+      outboxService.enqueue(job.getId(), event);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Failed to serialize bulk import metadata", e);
+    }
+  }
+
+  private void evictProductCache() {
+    Cache cache = cacheManager.getCache("products");
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+
+  private static String text(Map<String, Object> values, String field) {
+    Object value = values.get(field);
+    if (value == null) {
+      return null;
+    }
+    String text = value.toString().trim();
+    return text.isEmpty() ? null : text;
+  }
+
+  private static BigDecimal decimal(Map<String, Object> values, String field) {
+    String text = text(values, field);
+    if (text == null) {
+      return null;
+    }
+    try {
+      return new BigDecimal(text);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(field + " is not a number: " + text);
+    }
+  }
+
+  record ImportRow(long rowNumber, String sku, String name, String description,
+                           String category, String brand, BigDecimal price, String currency,
+                           String location, Integer quantity) {
+
+  }
+}
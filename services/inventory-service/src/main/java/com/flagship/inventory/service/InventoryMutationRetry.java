@@ -0,0 +1,108 @@
+package com.flagship.inventory.service;
+
+import com.flagship.inventory.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Inventory Mutation Retry
+ * <p>
+ * Runs an inventory mutation in its own transaction and re-runs it when the versioned inventory
+ * row was changed concurrently. Attempts are bounded and back off exponentially with full jitter
+ * so colliding writers spread out instead of retrying in lockstep.
+ * <p>
+ * Every mutation is counted by outcome ({@code inventory.mutations}) together with the conflicts
+ * it hit ({@code inventory.mutation.conflicts}), so the conflict rate is the ratio of the two. Both
+ * are tagged by SKU only for the configured hot SKUs and by {@code other} for the rest, which keeps
+ * the number of series bounded however large the catalog grows; conflicts on any SKU are also
+ * logged. Must be called outside a transaction; inside one the mutation runs once, unguarded.
+ */
+@Slf4j
+@Component
+public class InventoryMutationRetry {
+
+  private final ProductRepository productRepository;
+  private final MeterRegistry meterRegistry;
+  private final int maxAttempts;
+  private final long initialBackoffMillis;
+  private final long maxBackoffMillis;
+  private final Set<String> taggedSkus;
+
+  public InventoryMutationRetry(ProductRepository productRepository,
+      MeterRegistry meterRegistry,
+      @Value("${inventory.retry.max-attempts:4}") int maxAttempts,
+      @Value("${inventory.retry.initial-backoff:PT0.01S}") Duration initialBackoff,
+      @Value("${inventory.retry.max-backoff:PT0.2S}") Duration maxBackoff,
+      @Value("${inventory.retry.tagged-skus:}") Set<String> taggedSkus) {
+    this.productRepository = productRepository;
+    this.meterRegistry = meterRegistry;
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.initialBackoffMillis = initialBackoff.toMillis();
+    this.maxBackoffMillis = maxBackoff.toMillis();
+    this.taggedSkus = Set.copyOf(taggedSkus);
+  }
+
+  public <T> T execute(Long productId, Supplier<T> mutation, Function<T, String> skuOf) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return mutation.get();
+    }
+
+    int conflicts = 0;
+    while (true) {
+      try {
+        T result = mutation.get();
+        // A mutation that found nothing left to do has no row to name
+        String sku = result != null ? skuOf.apply(result) : null;
+        record(sku, conflicts, "success");
+        if (conflicts > 0) {
+          log.info("Inventory mutation for SKU: {} (product: {}) succeeded after {} conflicting "
+              + "attempts", sku, productId, conflicts);
+        }
+        return result;
+      } catch (OptimisticLockingFailureException e) {
+        conflicts++;
+        if (conflicts >= maxAttempts) {
+          String sku = productRepository.findSkuById(productId).orElse("unknown");
+          record(sku, conflicts, "exhausted");
+          log.warn("Giving up on inventory mutation for SKU: {} after {} conflicting attempts",
+              sku, conflicts);
+          throw e;
+        }
+        log.debug("Optimistic lock conflict on product: {} (attempt {}), retrying", productId,
+            conflicts);
+        backOff(conflicts);
+      }
+    }
+  }
+
+  private void backOff(int attempt) {
+    long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 16));
+    if (ceiling <= 0) {
+      return;
+    }
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while retrying inventory mutation", e);
+    }
+  }
+
+  private void record(String sku, int conflicts, String outcome) {
+    String skuTag = sku != null && taggedSkus.contains(sku) ? sku : "other";
+    meterRegistry.counter("inventory.mutations", "outcome", outcome, "sku", skuTag).increment();
+    if (conflicts > 0) {
+      meterRegistry.counter("inventory.mutation.conflicts", "sku", skuTag).increment(conflicts);
+    }
+  }
+}
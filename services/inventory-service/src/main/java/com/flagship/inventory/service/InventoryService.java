@@ -1,23 +1,32 @@
 package com.flagship.inventory.service;
 
+import com.flagship.common.paging.KeysetCursor;
+import com.flagship.common.paging.KeysetPage;
+import com.flagship.inventory.allocation.AllocationStrategy;
+import com.flagship.inventory.allocation.LocationStockIndex;
+import com.flagship.inventory.dto.AllocationResult;
+import com.flagship.inventory.dto.ProductDto;
+import com.flagship.inventory.dto.ProductSearchResult;
 import com.flagship.inventory.event.InventoryEvent;
 import com.flagship.inventory.model.InventoryItem;
 import com.flagship.inventory.model.Product;
 import com.flagship.inventory.model.ProductEvent;
+import com.flagship.inventory.model.ProductStockLevel;
 import com.flagship.inventory.repository.InventoryItemRepository;
 import com.flagship.inventory.repository.ProductRepository;
+import com.flagship.inventory.search.ProductSearchQuery;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 /**
@@ -32,10 +41,16 @@ import org.springframework.data.domain.Pageable;
 @Transactional
 public class InventoryService {
 
+  private static final int MAX_PAGE_SIZE = 500;
+
   private final ProductRepository productRepository;
   private final InventoryItemRepository inventoryItemRepository;
-  private final KafkaTemplate<String, InventoryEvent> kafkaTemplate;
+  private final OutboxService outboxService;
   private final ProductEventService productEventService;
+  private final StockLevelService stockLevelService;
+  private final ProductSearchService productSearchService;
+  private final AllocationService allocationService;
+  private final LocationStockIndex locationStockIndex;
 
   @CacheEvict(value = "products", allEntries = true)
   public Product createProduct(Product product) {
@@ -47,6 +62,8 @@ public class InventoryService {
     }
 
     Product savedProduct = productRepository.save(product);
+    stockLevelService.initialize(savedProduct);
+    productSearchService.indexAfterCommit(savedProduct);
 
     productEventService.logEvent(savedProduct, ProductEvent.EventType.PRODUCT_CREATED,
         "Product created", null, null);
@@ -92,6 +109,7 @@ public class InventoryService {
     existingProduct.setMetadata(updatedProduct.getMetadata());
 
     Product savedProduct = productRepository.save(existingProduct);
+    productSearchService.indexAfterCommit(savedProduct);
 
     productEventService.logEvent(savedProduct, ProductEvent.EventType.PRODUCT_UPDATED,
         "Product updated", null, null);
@@ -121,9 +139,17 @@ public class InventoryService {
             .availableQuantity(0)
             .build());
 
+    boolean newLocation = inventoryItem.getId() == null;
+    int previousQuantity = inventoryItem.getQuantity();
+    int previousReserved = inventoryItem.getReservedQuantity();
+    int previousAvailable = inventoryItem.getAvailableQuantity();
+
     inventoryItem.addQuantity(quantity);
 
     InventoryItem savedItem = inventoryItemRepository.save(inventoryItem);
+    locationStockIndex.updateAfterCommit(productId, location, savedItem.getAvailableQuantity());
+    recordStockChange(product, savedItem, previousQuantity, previousReserved, previousAvailable,
+        newLocation);
 
     productEventService.logEvent(product, ProductEvent.EventType.INVENTORY_ADDED,
         "Inventory added: " + quantity + " at " + location,
@@ -150,12 +176,19 @@ public class InventoryService {
         .orElseThrow(() -> new IllegalArgumentException(
             "Inventory item not found for product: " + productId + " at location: " + location));
 
+    int previousQuantity = inventoryItem.getQuantity();
+    int previousReserved = inventoryItem.getReservedQuantity();
+    int previousAvailable = inventoryItem.getAvailableQuantity();
+
     boolean reserved = inventoryItem.reserveQuantity(quantity);
     if (!reserved) {
       throw new IllegalStateException("Insufficient inventory available for reservation");
     }
 
     InventoryItem savedItem = inventoryItemRepository.save(inventoryItem);
+    locationStockIndex.updateAfterCommit(productId, location, savedItem.getAvailableQuantity());
+    recordStockChange(product, savedItem, previousQuantity, previousReserved, previousAvailable,
+        false);
 
     productEventService.logEvent(product, ProductEvent.EventType.INVENTORY_RESERVED,
         "Inventory reserved: " + quantity + " for order: " + orderId,
@@ -182,12 +215,19 @@ public class InventoryService {
         .orElseThrow(() -> new IllegalArgumentException(
             "Inventory item not found for product: " + productId + " at location: " + location));
 
+    int previousQuantity = inventoryItem.getQuantity();
+    int previousReserved = inventoryItem.getReservedQuantity();
+    int previousAvailable = inventoryItem.getAvailableQuantity();
+
     boolean released = inventoryItem.releaseReservedQuantity(quantity);
     if (!released) {
       throw new IllegalStateException("Insufficient reserved inventory to release");
     }
 
     InventoryItem savedItem = inventoryItemRepository.save(inventoryItem);
+    locationStockIndex.updateAfterCommit(productId, location, savedItem.getAvailableQuantity());
+    recordStockChange(product, savedItem, previousQuantity, previousReserved, previousAvailable,
+        false);
 
     productEventService.logEvent(product, ProductEvent.EventType.INVENTORY_RELEASED,
         "Inventory released: " + quantity + " for order: " + orderId,
@@ -214,12 +254,19 @@ public class InventoryService {
         .orElseThrow(() -> new IllegalArgumentException(
             "Inventory item not found for product: " + productId + " at location: " + location));
 
+    int previousQuantity = inventoryItem.getQuantity();
+    int previousReserved = inventoryItem.getReservedQuantity();
+    int previousAvailable = inventoryItem.getAvailableQuantity();
+
     boolean confirmed = inventoryItem.confirmReservedQuantity(quantity);
     if (!confirmed) {
       throw new IllegalStateException("Insufficient reserved inventory to confirm");
     }
 
     InventoryItem savedItem = inventoryItemRepository.save(inventoryItem);
+    locationStockIndex.updateAfterCommit(productId, location, savedItem.getAvailableQuantity());
+    recordStockChange(product, savedItem, previousQuantity, previousReserved, previousAvailable,
+        false);
 
     productEventService.logEvent(product, ProductEvent.EventType.INVENTORY_CONFIRMED,
         "Inventory confirmed: " + quantity + " for order: " + orderId,
@@ -231,6 +278,50 @@ public class InventoryService {
     return savedItem;
   }
 
+  @CacheEvict(value = "products", key = "#productId")
+  public AllocationResult allocateInventory(Long productId, Integer quantity, Long orderId,
+      AllocationStrategy strategy, String origin) {
+    AllocationStrategy resolvedStrategy = allocationService.resolveStrategy(strategy);
+    log.info("Allocating inventory for product ID: {} with quantity: {} for order: {} using {}",
+        productId, quantity, orderId, resolvedStrategy);
+
+    Product product = productRepository.findById(productId)
+        .orElseThrow(() -> new IllegalArgumentException("Product not found with ID: " + productId));
+
+    if (quantity == null || quantity <= 0) {
+      throw new IllegalStateException("Allocation quantity must be positive");
+    }
+
+    List<AllocationResult.LocationAllocation> allocations = allocationService.reserve(productId,
+        quantity, resolvedStrategy, origin);
+
+    for (InventoryItem item : inventoryItemRepository.findByProductIdOrderByLocation(productId)) {
+      locationStockIndex.updateAfterCommit(productId, item.getLocation(),
+          item.getAvailableQuantity());
+    }
+    recordStockDelta(product, 0, quantity, -quantity, 0);
+
+    for (AllocationResult.LocationAllocation allocation : allocations) {
+      productEventService.logEvent(product, ProductEvent.EventType.INVENTORY_RESERVED,
+          "Inventory reserved: " + allocation.getQuantity() + " at " + allocation.getLocation()
+              + " for order: " + orderId,
+          null, null);
+    }
+
+    publishInventoryEvent(product, InventoryEvent.InventoryEventType.INVENTORY_RESERVED);
+
+    log.info("Inventory allocated for product ID: {} across {} location(s)", productId,
+        allocations.size());
+    return AllocationResult.builder()
+        .productId(productId)
+        .sku(product.getSku())
+        .orderId(orderId)
+        .strategy(resolvedStrategy)
+        .requestedQuantity(quantity)
+        .allocations(allocations)
+        .build();
+  }
+
   @Transactional(readOnly = true)
   public List<InventoryItem> getInventoryByProductId(Long productId) {
     return inventoryItemRepository.findByProductIdOrderByLocation(productId);
@@ -247,9 +338,31 @@ public class InventoryService {
     return productRepository.findAll();
   }
 
+  /**
+   * Pages through all products, newest first. Stock totals come from the maintained stock levels,
+   * read for the whole page in one query.
+   */
   @Transactional(readOnly = true)
-  public Page<Product> findAllProducts(Pageable pageable) {
-    return productRepository.findAll(pageable);
+  public KeysetPage<ProductDto> findAllProducts(String cursor, int size, boolean includeTotal) {
+    int pageSize = clampPageSize(size);
+    Pageable limit = PageRequest.of(0, pageSize + 1);
+
+    List<Product> rows;
+    if (cursor == null) {
+      rows = productRepository.findFirstPage(limit);
+    } else {
+      KeysetCursor after = KeysetCursor.decode(cursor);
+      rows = productRepository.findPageAfter(after.getTimestamp(), after.getId(), limit);
+    }
+
+    Map<Long, ProductStockLevel> levels = stockLevelService.findLevels(
+        rows.stream().map(Product::getId).toList());
+    KeysetPage<ProductDto> page = KeysetPage.of(rows, pageSize, InventoryService::cursorOf)
+        .map(product -> ProductDto.from(product, levels.get(product.getId())));
+    if (includeTotal) {
+      page.setTotalElements(productRepository.count());
+    }
+    return page;
   }
 
   @Transactional(readOnly = true)
@@ -262,36 +375,74 @@ public class InventoryService {
     return productRepository.findByStatusOrderByName(status);
   }
 
+  public ProductSearchResult searchProducts(ProductSearchQuery query) {
+    return productSearchService.search(query);
+  }
+
   @Transactional(readOnly = true)
   public List<Product> findLowStockProducts(int threshold) {
-    return productRepository.findLowStockProducts(threshold);
+    return stockLevelService.findLowStockProducts(threshold);
   }
 
   @Transactional(readOnly = true)
   public List<Product> findOutOfStockProducts() {
-    return productRepository.findOutOfStockProducts();
+    return stockLevelService.findOutOfStockProducts();
   }
 
-  private void publishInventoryEvent(Product product, InventoryEvent.InventoryEventType eventType) {
-    try {
-      // Create lightweight event with only essential data
-      InventoryEvent event = InventoryEvent.builder()
-          .productId(product.getId())
-          .sku(product.getSku())
-          .eventType(eventType)
-          .timestamp(LocalDateTime.now())
-          .productName(product.getName())
-          .category(product.getCategory())
-          .status(product.getStatus().toString())
-          .totalQuantity(product.getTotalQuantity())
-          .availableQuantity(product.getTotalAvailableQuantity())
-          .build();
-
-      kafkaTemplate.send("inventory-events", event);
-      log.debug("Published inventory event: {} for product: {}", eventType, product.getId());
-    } catch (Exception e) {
-      log.error("Failed to publish inventory event: {} for product: {}", eventType, product.getId(),
-          e);
+  private void recordStockChange(Product product, InventoryItem item, int previousQuantity,
+      int previousReserved, int previousAvailable, boolean newLocation) {
+    recordStockDelta(product,
+        item.getQuantity() - previousQuantity,
+        item.getReservedQuantity() - previousReserved,
+        item.getAvailableQuantity() - previousAvailable,
+        newLocation ? 1 : 0);
+  }
+
+  private void recordStockDelta(Product product, int quantityDelta, int reservedDelta,
+      int availableDelta, int locationDelta) {
+    StockLevelService.StockTransition transition = stockLevelService.applyChange(product,
+        quantityDelta, reservedDelta, availableDelta, locationDelta);
+
+    switch (transition) {
+      case LOW_STOCK -> {
+        productEventService.logEvent(product, ProductEvent.EventType.LOW_STOCK_ALERT,
+            "Product stock is low", null, null);
+        publishInventoryEvent(product, InventoryEvent.InventoryEventType.LOW_STOCK_ALERT);
+      }
+      case OUT_OF_STOCK -> {
+        productEventService.logEvent(product, ProductEvent.EventType.OUT_OF_STOCK_ALERT,
+            "Product is out of stock", null, null);
+        publishInventoryEvent(product, InventoryEvent.InventoryEventType.OUT_OF_STOCK_ALERT);
+      }
+      case RESTOCKED -> publishInventoryEvent(product,
+          InventoryEvent.InventoryEventType.STOCK_LEVEL_CHANGED);
+      case NONE -> {
+      }
     }
   }
+
+  private void publishInventoryEvent(Product product, InventoryEvent.InventoryEventType eventType) {
+    // Create lightweight event with only essential data
+    InventoryEvent event = InventoryEvent.builder()
+        .productId(product.getId())
+        .sku(product.getSku())
+        .eventType(eventType)
+        .timestamp(LocalDateTime.now())
+        .productName(product.getName())
+        .category(product.getCategory())
+        .status(product.getStatus().toString())
+        .totalQuantity(product.getTotalQuantity())
+        .availableQuantity(product.getTotalAvailableQuantity())
+        .build();
+
+    outboxService.enqueue(String.valueOf(product.getId()), event);
+  }
+
+  private static int clampPageSize(int size) {
+    return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+  }
+
+  private static KeysetCursor cursorOf(Product product) {
+    return new KeysetCursor(product.getCreatedAt(), product.getId());
+  }
 }
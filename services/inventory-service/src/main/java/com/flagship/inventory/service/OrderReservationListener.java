@@ -0,0 +1,78 @@
+package com.flagship.inventory.service;
+
+import com.flagship.inventory.event.OrderEvent;
+import com.flagship.inventory.model.InventoryItem;
+import com.flagship.inventory.model.OrderReservation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Order Reservation Listener
+ * <p>
+ * Consumes order events and hands the ones inventory acts on to {@link OrderReservationService}.
+ * A reservation that cannot be satisfied is rolled back as a whole and reported from a separate
+ * transaction. Confirming or releasing goes one reservation at a time through
+ * {@link InventoryMutationRetry}, so a version conflict with another writer is retried there;
+ * any other failure is left to the container to redeliver, which skips what is already done.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderReservationListener {
+
+  private final OrderReservationService orderReservationService;
+  private final InventoryMutationRetry inventoryMutationRetry;
+
+  @KafkaListener(topics = "order-events", groupId = "inventory-service-orders",
+      properties = {
+          "spring.json.use.type.headers=false",
+          "spring.json.value.default.type=com.flagship.inventory.event.OrderEvent"
+      })
+  public void handleOrderEvent(OrderEvent event) {
+    if (event.getOrderId() == null) {
+      return;
+    }
+    switch (String.valueOf(event.getEventType())) {
+      case OrderEvent.INVENTORY_RESERVATION_REQUESTED -> reserve(event);
+      case OrderEvent.ORDER_CONFIRMED -> confirm(event.getOrderId());
+      case OrderEvent.ORDER_CANCELLED -> release(event.getOrderId());
+      default -> log.trace("Ignoring order event: {}", event.getEventType());
+    }
+  }
+
+  private void reserve(OrderEvent event) {
+    try {
+      orderReservationService.reserveOrder(event);
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      orderReservationService.rejectOrder(event, e.getMessage());
+    }
+  }
+
+  private void confirm(Long orderId) {
+    List<OrderReservation> reservations = orderReservationService.findHeld(orderId);
+    for (OrderReservation reservation : reservations) {
+      inventoryMutationRetry.execute(reservation.getProductId(),
+          () -> orderReservationService.confirmReservation(reservation.getId()),
+          InventoryItem::getSku);
+    }
+    if (!reservations.isEmpty()) {
+      log.info("Confirmed {} reservation(s) for order: {}", reservations.size(), orderId);
+    }
+  }
+
+  private void release(Long orderId) {
+    List<OrderReservation> reservations = orderReservationService.findHeld(orderId);
+    for (OrderReservation reservation : reservations) {
+      inventoryMutationRetry.execute(reservation.getProductId(),
+          () -> orderReservationService.releaseReservation(reservation.getId()),
+          InventoryItem::getSku);
+    }
+    if (!reservations.isEmpty()) {
+      log.info("Released {} reservation(s) for order: {}", reservations.size(), orderId);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.flagship.inventory.service;
+
+import com.flagship.inventory.dto.AllocationResult;
+import com.flagship.inventory.event.InventoryEvent;
+import com.flagship.inventory.event.OrderEvent;
+import com.flagship.inventory.model.InventoryItem;
+import com.flagship.inventory.model.OrderReservation;
+import com.flagship.inventory.repository.OrderReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Order Reservation Service
+ * <p>
+ * Inventory's side of the checkout saga. An order's items are reserved in one transaction, so
+ * either every item is held or nothing is and the order service hears why. The held quantities
+ * are recorded per location and later confirmed when the order is paid or released when it is
+ * cancelled, one reservation per transaction so each can be retried on its own. Replies go through
+ * the outbox keyed by order id.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class OrderReservationService {
+
+  private final OrderReservationRepository orderReservationRepository;
+  private final InventoryService inventoryService;
+  private final OutboxService outboxService;
+
+  public void reserveOrder(OrderEvent event) {
+    Long orderId = event.getOrderId();
+    if (orderReservationRepository.existsByOrderId(orderId)) {
+      log.info("Inventory already reserved for order: {}, ignoring repeated request", orderId);
+      return;
+    }
+
+    // Same product order in every transaction keeps concurrent orders from deadlocking
+    Map<Long, Integer> quantities = new TreeMap<>();
+    for (OrderEvent.OrderItem item : event.getItems()) {
+      quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+    }
+
+    quantities.forEach((productId, quantity) -> {
+      AllocationResult result = inventoryService.allocateInventory(productId, quantity, orderId,
+          null, null);
+      for (AllocationResult.LocationAllocation allocation : result.getAllocations()) {
+        orderReservationRepository.save(OrderReservation.builder()
+            .orderId(orderId)
+            .productId(productId)
+            .location(allocation.getLocation())
+            .quantity(allocation.getQuantity())
+            .build());
+      }
+    });
+
+    publishOrderEvent(event, InventoryEvent.InventoryEventType.ORDER_RESERVED, null);
+    log.info("Reserved {} product(s) for order: {}", quantities.size(), orderId);
+  }
+
+  public void rejectOrder(OrderEvent event, String reason) {
+    publishOrderEvent(event, InventoryEvent.InventoryEventType.ORDER_RESERVATION_FAILED, reason);
+    log.info("Inventory reservation failed for order: {} - {}", event.getOrderId(), reason);
+  }
+
+  @Transactional(readOnly = true)
+  public List<OrderReservation> findHeld(Long orderId) {
+    return orderReservationRepository.findByOrderIdAndStatusOrderByProductIdAscLocationAsc(
+        orderId, OrderReservation.ReservationStatus.RESERVED);
+  }
+
+  /**
+   * Takes one held reservation out of stock. Returns the inventory row it was taken from, or null
+   * when the reservation is no longer held, so a redelivered event or a retry after a conflict
+   * does not confirm it twice.
+   */
+  public InventoryItem confirmReservation(Long reservationId) {
+    OrderReservation reservation = findStillHeld(reservationId);
+    if (reservation == null) {
+      return null;
+    }
+    InventoryItem item = inventoryService.confirmReservedInventory(reservation.getProductId(),
+        reservation.getLocation(), reservation.getQuantity(), reservation.getOrderId());
+    reservation.setStatus(OrderReservation.ReservationStatus.CONFIRMED);
+    return item;
+  }
+
+  /**
+   * Returns one held reservation to stock, with the same null result as
+   * {@link #confirmReservation(Long)} when it is no longer held.
+   */
+  public InventoryItem releaseReservation(Long reservationId) {
+    OrderReservation reservation = findStillHeld(reservationId);
+    if (reservation == null) {
+      return null;
+    }
+    InventoryItem item = inventoryService.releaseReservedInventory(reservation.getProductId(),
+        reservation.getLocation(), reservation.getQuantity(), reservation.getOrderId());
+    reservation.setStatus(OrderReservation.ReservationStatus.RELEASED);
+    return item;
+  }
+
+  private OrderReservation findStillHeld(Long reservationId) {
+    return orderReservationRepository.findById(reservationId)
+        .filter(reservation -> reservation.getStatus()
+            == OrderReservation.ReservationStatus.RESERVED)
+        .orElse(null);
+  }
+
+  private void publishOrderEvent(OrderEvent order, InventoryEvent.InventoryEventType eventType,
+      String reason) {
+    InventoryEvent event = InventoryEvent.builder()
+        .eventType(eventType)
+        .timestamp(LocalDateTime.now())
+        .orderId(order.getOrderId())
+        .userId(order.getUserId())
+        .metadata(reason)
+        .build();
+
+    outboxService.enqueue(String.valueOf(order.getOrderId()), event);
+  }
+}
@@ -0,0 +1,43 @@
+package com.flagship.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flagship.common.outbox.OutboxPublisher;
+import com.flagship.inventory.event.InventoryEvent;
+import com.flagship.inventory.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+/**
+ * Outbox Relay
+ * <p>
+ * Drains the inventory outbox in id order. Events are keyed by product, so all events of a
+ * product land on one partition in commit order. Batches are claimed and deleted in short
+ * transactions and sent in between (see {@link OutboxPublisher}), so a slow broker never holds a
+ * database connection or row locks; delivery is at-least-once.
+ */
+@Component
+public class OutboxRelay {
+
+  private final OutboxPublisher<InventoryEvent> publisher;
+
+  public OutboxRelay(JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      KafkaTemplate<String, InventoryEvent> kafkaTemplate,
+      ObjectMapper objectMapper,
+      @Value("${inventory.outbox.batch-size:500}") int batchSize,
+      @Value("${inventory.outbox.send-timeout:PT30S}") Duration sendTimeout) {
+    this.publisher = new OutboxPublisher<>(OutboxEvent.TABLE, InventoryEvent.class, jdbcTemplate,
+        transactionManager, kafkaTemplate, objectMapper, batchSize, sendTimeout);
+  }
+
+  @Scheduled(fixedDelayString = "${inventory.outbox.poll-interval:PT0.5S}")
+  public void relay() {
+    publisher.publishBatch();
+  }
+}
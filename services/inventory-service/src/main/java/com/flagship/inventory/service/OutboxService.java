@@ -0,0 +1,45 @@
+package com.flagship.inventory.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flagship.inventory.event.InventoryEvent;
+import com.flagship.inventory.model.OutboxEvent;
+import com.flagship.inventory.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Outbox Service
+ * <p>
+ * Records inventory events in the outbox table as part of the caller's transaction, so an event
+ * exists if and only if the change it describes was committed. Publishing is left to
+ * {@link OutboxRelay}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+  public static final String INVENTORY_EVENTS_TOPIC = "inventory-events";
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final ObjectMapper objectMapper;
+
+  public void enqueue(String messageKey, InventoryEvent event) {
+    try {
+      outboxEventRepository.save(OutboxEvent.builder()
+          .topic(INVENTORY_EVENTS_TOPIC)
+          .messageKey(messageKey)
+          .eventType(event.getEventType().name())
+          .payload(objectMapper.writeValueAsString(event))
+          .build());
+      log.debug("Queued inventory event: {} with key: {}", event.getEventType(), messageKey);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Failed to serialize inventory event", e);
+    }
+  }
+}
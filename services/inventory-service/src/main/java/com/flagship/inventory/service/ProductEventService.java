@@ -1,15 +1,22 @@
 package com.flagship.inventory.service;
 
+import com.flagship.common.paging.KeysetCursor;
+import com.flagship.common.paging.KeysetPage;
 import com.flagship.inventory.model.Product;
 import com.flagship.inventory.model.ProductEvent;
 import com.flagship.inventory.repository.ProductEventRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Product Event Service
@@ -23,7 +30,10 @@ import java.util.List;
 @Transactional
 public class ProductEventService {
 
+  private static final int MAX_PAGE_SIZE = 500;
+
   private final ProductEventRepository productEventRepository;
+  private final EntityManager entityManager;
 
   public void logEvent(Product product, ProductEvent.EventType eventType, String description,
       Integer previousQuantity, Integer newQuantity) {
@@ -152,4 +162,86 @@ public class ProductEventService {
       LocalDateTime endDate) {
     return productEventRepository.findByTimestampBetweenOrderByTimestampDesc(startDate, endDate);
   }
+
+  @Transactional(readOnly = true)
+  public KeysetPage<ProductEvent> getProductEventsByEventType(ProductEvent.EventType eventType,
+      String cursor, int size) {
+    int pageSize = clampPageSize(size);
+    Pageable limit = PageRequest.of(0, pageSize + 1);
+
+    List<ProductEvent> rows;
+    if (cursor == null) {
+      rows = productEventRepository.findFirstPageByEventType(eventType, limit);
+    } else {
+      KeysetCursor after = KeysetCursor.decode(cursor);
+      rows = productEventRepository.findPageByEventTypeAfter(eventType, after.getTimestamp(),
+          after.getId(), limit);
+    }
+    return KeysetPage.of(rows, pageSize, ProductEventService::cursorOf);
+  }
+
+  @Transactional(readOnly = true)
+  public KeysetPage<ProductEvent> getProductEventsByLocation(String location, String cursor,
+      int size) {
+    int pageSize = clampPageSize(size);
+    Pageable limit = PageRequest.of(0, pageSize + 1);
+
+    List<ProductEvent> rows;
+    if (cursor == null) {
+      rows = productEventRepository.findFirstPageByLocation(location, limit);
+    } else {
+      KeysetCursor after = KeysetCursor.decode(cursor);
+      rows = productEventRepository.findPageByLocationAfter(location, after.getTimestamp(),
+          after.getId(), limit);
+    }
+    return KeysetPage.of(rows, pageSize, ProductEventService::cursorOf);
+  }
+
+  @Transactional(readOnly = true)
+  public KeysetPage<ProductEvent> getProductEventsByDateRange(LocalDateTime startDate,
+      LocalDateTime endDate, String cursor, int size) {
+    int pageSize = clampPageSize(size);
+    Pageable limit = PageRequest.of(0, pageSize + 1);
+
+    List<ProductEvent> rows;
+    if (cursor == null) {
+      rows = productEventRepository.findFirstPageByTimestampBetween(startDate, endDate, limit);
+    } else {
+      KeysetCursor after = KeysetCursor.decode(cursor);
+      rows = productEventRepository.findPageByTimestampBetweenAfter(startDate, endDate,
+          after.getTimestamp(), after.getId(), limit);
+    }
+    return KeysetPage.of(rows, pageSize, ProductEventService::cursorOf);
+  }
+
+  /**
+   * Streams every event in the date range to {@code consumer} as rows are fetched from the
+   * database. Each event is detached once consumed so the persistence context stays bounded no
+   * matter how large the range is.
+   *
+   * @return the number of events written
+   */
+  @Transactional(readOnly = true)
+  public long exportProductEventsByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+      Consumer<ProductEvent> consumer) {
+    long exported = 0;
+    try (Stream<ProductEvent> events = productEventRepository.streamByTimestampBetween(startDate,
+        endDate)) {
+      for (ProductEvent event : (Iterable<ProductEvent>) events::iterator) {
+        consumer.accept(event);
+        entityManager.detach(event);
+        exported++;
+      }
+    }
+    log.debug("Exported {} product events between {} and {}", exported, startDate, endDate);
+    return exported;
+  }
+
+  private static int clampPageSize(int size) {
+    return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+  }
+
+  private static KeysetCursor cursorOf(ProductEvent event) {
+    return new KeysetCursor(event.getTimestamp(), event.getId());
+  }
 }
@@ -0,0 +1,150 @@
+package com.flagship.inventory.service;
+
+import com.flagship.inventory.event.InventoryEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Product Search Feed
+ * <p>
+ * Refreshes this replica's search index from {@code inventory-events}. Every replica needs every
+ * event, so the feed assigns itself all partitions without a consumer group: nothing is committed
+ * and nothing is left behind on the broker when a pod goes away. The end offsets are fixed before
+ * the index is built from the database and consumption starts from them, so every catalog change
+ * is in the scan, the feed, or both. Whenever the feed has to reconnect, the index is rebuilt the
+ * same way.
+ */
+@Slf4j
+@Component
+public class ProductSearchFeed {
+
+  private static final String TOPIC = "inventory-events";
+  private static final Duration KAFKA_TIMEOUT = Duration.ofSeconds(10);
+  private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+  private final ProductSearchService productSearchService;
+  private final ConsumerFactory<?, ?> consumerFactory;
+  private final Duration retryInterval;
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "product-search-feed");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private volatile boolean running = true;
+  private volatile Consumer<String, InventoryEvent> consumer;
+
+  public ProductSearchFeed(ProductSearchService productSearchService,
+      ConsumerFactory<?, ?> consumerFactory,
+      @Value("${inventory.search.feed-retry-interval:PT30S}") Duration retryInterval) {
+    this.productSearchService = productSearchService;
+    this.consumerFactory = consumerFactory;
+    this.retryInterval = retryInterval;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    executor.execute(this::run);
+  }
+
+  @PreDestroy
+  void stop() {
+    running = false;
+    Consumer<String, InventoryEvent> current = consumer;
+    if (current != null) {
+      current.wakeup();
+    }
+    executor.shutdownNow();
+  }
+
+  private void run() {
+    boolean built = false;
+    while (running) {
+      try (Consumer<String, InventoryEvent> feed = createConsumer()) {
+        consumer = feed;
+        List<TopicPartition> partitions = feed.partitionsFor(TOPIC, KAFKA_TIMEOUT).stream()
+            .map(partition -> new TopicPartition(partition.topic(), partition.partition()))
+            .toList();
+        if (partitions.isEmpty()) {
+          throw new IllegalStateException("Topic " + TOPIC + " does not exist yet");
+        }
+        feed.assign(partitions);
+        feed.seekToEnd(partitions);
+        // Resolves the lazy seek now, before the scan
+        partitions.forEach(partition -> feed.position(partition, KAFKA_TIMEOUT));
+
+        productSearchService.rebuild();
+        built = true;
+        while (running) {
+          for (ConsumerRecord<String, InventoryEvent> record : feed.poll(POLL_TIMEOUT)) {
+            // Records that do not deserialize arrive without a value
+            if (record.value() != null) {
+              productSearchService.apply(record.value());
+            }
+          }
+        }
+      } catch (WakeupException e) {
+        // Stopping
+      } catch (RuntimeException e) {
+        log.warn("Product search feed stopped, reconnecting in {}", retryInterval, e);
+        if (!built) {
+          // Searchable from the database while Kafka is unreachable; rebuilt once it connects
+          built = rebuildQuietly();
+        }
+        pause();
+      } finally {
+        consumer = null;
+      }
+    }
+  }
+
+  private Consumer<String, InventoryEvent> createConsumer() {
+    Map<String, Object> config = new HashMap<>(consumerFactory.getConfigurationProperties());
+    config.remove(ConsumerConfig.GROUP_ID_CONFIG);
+    config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+    config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+    config.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+    config.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+    config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, InventoryEvent.class.getName());
+    return new KafkaConsumer<>(config);
+  }
+
+  private boolean rebuildQuietly() {
+    try {
+      productSearchService.rebuild();
+      return true;
+    } catch (RuntimeException e) {
+      log.warn("Failed to build the product search index", e);
+      return false;
+    }
+  }
+
+  private void pause() {
+    try {
+      Thread.sleep(retryInterval.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      running = false;
+    }
+  }
+}
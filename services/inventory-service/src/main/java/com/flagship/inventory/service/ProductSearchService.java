@@ -0,0 +1,118 @@
+package com.flagship.inventory.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flagship.inventory.dto.ProductSearchResult;
+import com.flagship.inventory.event.InventoryEvent;
+import com.flagship.inventory.model.Product;
+import com.flagship.inventory.repository.ProductRepository;
+import com.flagship.inventory.search.ProductSearchIndex;
+import com.flagship.inventory.search.ProductSearchQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Product Search Service
+ * <p>
+ * Keeps the embedded {@link ProductSearchIndex} in sync with the catalog. The index is built from
+ * the database at startup, updated after commit by the local write path, and refreshed by
+ * {@link ProductSearchFeed} from {@code inventory-events} for writes handled by other replicas,
+ * including the products of every bulk import batch.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductSearchService {
+
+  private static final int REBUILD_BATCH_SIZE = 1000;
+  private static final int MAX_PAGE_SIZE = 100;
+
+  private static final Set<InventoryEvent.InventoryEventType> CATALOG_EVENT_TYPES = EnumSet.of(
+      InventoryEvent.InventoryEventType.PRODUCT_CREATED,
+      InventoryEvent.InventoryEventType.PRODUCT_UPDATED,
+      InventoryEvent.InventoryEventType.PRODUCT_ACTIVATED,
+      InventoryEvent.InventoryEventType.PRODUCT_DEACTIVATED);
+
+  private final ProductSearchIndex productSearchIndex;
+  private final ProductRepository productRepository;
+  private final ObjectMapper objectMapper;
+
+  public ProductSearchResult search(ProductSearchQuery query) {
+    query.setPage(Math.max(0, query.getPage()));
+    query.setSize(Math.max(1, Math.min(query.getSize(), MAX_PAGE_SIZE)));
+    return productSearchIndex.search(query);
+  }
+
+  /**
+   * Indexes the product once the surrounding transaction commits, so rolled-back writes never
+   * become searchable.
+   */
+  public void indexAfterCommit(Product product) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      productSearchIndex.index(product);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        productSearchIndex.index(product);
+      }
+    });
+  }
+
+  public void rebuild() {
+    long lastId = 0L;
+    List<Product> batch;
+    do {
+      batch = productRepository.findByIdGreaterThanOrderById(lastId,
+          PageRequest.of(0, REBUILD_BATCH_SIZE));
+      batch.forEach(productSearchIndex::index);
+      if (!batch.isEmpty()) {
+        lastId = batch.get(batch.size() - 1).getId();
+      }
+    } while (batch.size() == REBUILD_BATCH_SIZE);
+
+    log.info("Product search index built with {} products", productSearchIndex.size());
+  }
+
+  public void apply(InventoryEvent event) {
+    if (event.getEventType() == InventoryEvent.InventoryEventType.BULK_IMPORT) {
+      applyBulkImport(event);
+      return;
+    }
+    if (event.getProductId() == null || !CATALOG_EVENT_TYPES.contains(event.getEventType())) {
+      return;
+    }
+    log.debug("Refreshing search index for product: {} after {}", event.getProductId(),
+        event.getEventType());
+    productRepository.findById(event.getProductId()).ifPresent(productSearchIndex::index);
+  }
+
+  /**
+   * Reindexes the products of an import batch, which are listed in the event metadata instead of
+   * one event per product.
+   */
+  private void applyBulkImport(InventoryEvent event) {
+    List<Long> productIds = new ArrayList<>();
+    try {
+      JsonNode ids = objectMapper.readTree(event.getMetadata())
+          .path(InventoryEvent.PRODUCT_IDS_METADATA);
+      ids.forEach(id -> productIds.add(id.asLong()));
+    } catch (JsonProcessingException | IllegalArgumentException e) {
+      log.warn("Ignoring bulk import event with unreadable metadata: {}", event.getMetadata(), e);
+      return;
+    }
+    log.debug("Refreshing search index for {} imported products", productIds.size());
+    productRepository.findAllById(productIds).forEach(productSearchIndex::index);
+  }
+}
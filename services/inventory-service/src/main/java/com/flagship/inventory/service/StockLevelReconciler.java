@@ -0,0 +1,131 @@
+package com.flagship.inventory.service;
+
+import com.flagship.inventory.model.ProductStockLevel;
+import com.flagship.inventory.repository.ProductStockLevelRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stock Level Reconciler
+ * <p>
+ * Recounts the maintained product stock totals from {@code inventory_items} to repair drift from
+ * writes that bypass {@link StockLevelService}. One instance per reconcile interval claims the
+ * run. Rows are recounted in product id order, one locked chunk per transaction, so an item write
+ * that commits meanwhile waits for its chunk and applies its delta to the recounted total instead
+ * of being overwritten. Runs go on a thread of their own, starting once the service is ready, so
+ * a recount of the whole catalog neither holds up readiness nor the outbox relay and change feed
+ * sequencing on the shared scheduler.
+ */
+@Slf4j
+@Component
+public class StockLevelReconciler {
+
+  private static final String CLAIM_SQL = "UPDATE " + ProductStockLevel.RECONCILER_TABLE
+      + " SET reconciled_at = ? WHERE id = 1 AND (reconciled_at IS NULL OR reconciled_at < ?)";
+
+  private final ProductStockLevelRepository productStockLevelRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration interval;
+  private final int chunkSize;
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+      runnable -> {
+        Thread thread = new Thread(runnable, "stock-level-reconciler");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  public StockLevelReconciler(ProductStockLevelRepository productStockLevelRepository,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      @Value("${inventory.stock-levels.reconcile-interval:PT1H}") Duration interval,
+      @Value("${inventory.stock-levels.reconcile-chunk-size:500}") int chunkSize) {
+    this.productStockLevelRepository = productStockLevelRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.interval = interval;
+    this.chunkSize = Math.max(1, chunkSize);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    scheduler.scheduleWithFixedDelay(this::runReconcile, 0, interval.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  void stop() {
+    scheduler.shutdownNow();
+  }
+
+  private void runReconcile() {
+    try {
+      reconcile();
+    } catch (RuntimeException e) {
+      // An exception escaping here would cancel every later run
+      log.error("Reconciling product stock levels failed", e);
+    }
+  }
+
+  public void reconcile() {
+    LocalDateTime now = LocalDateTime.now();
+    // A run that dies part way is repeated with the next claim
+    int claimed = jdbcTemplate.update(CLAIM_SQL, Timestamp.valueOf(now),
+        Timestamp.valueOf(now.minus(interval.dividedBy(2))));
+    if (claimed == 0) {
+      log.debug("Product stock levels were reconciled recently, skipping");
+      return;
+    }
+
+    int inserted = 0;
+    try {
+      Integer count = transactionTemplate.execute(
+          status -> productStockLevelRepository.insertMissing(now));
+      inserted = count != null ? count : 0;
+    } catch (DataIntegrityViolationException e) {
+      // A product's first write created its row meanwhile; the next run inserts the rest
+      log.debug("Product stock levels were created concurrently", e);
+    }
+
+    long afterId = 0;
+    int corrected = 0;
+    while (true) {
+      long from = afterId;
+      Chunk chunk = transactionTemplate.execute(status -> reconcileChunk(from, now));
+      if (chunk == null) {
+        break;
+      }
+      corrected += chunk.corrected();
+      afterId = chunk.lastProductId();
+    }
+    log.info("Reconciled product stock levels: {} inserted, {} corrected", inserted, corrected);
+  }
+
+  private Chunk reconcileChunk(long afterId, LocalDateTime now) {
+    List<Long> productIds = productStockLevelRepository.lockChunk(afterId, chunkSize);
+    if (productIds.isEmpty()) {
+      return null;
+    }
+    int corrected = productStockLevelRepository.recomputeChanged(productIds, now);
+    return new Chunk(productIds.get(productIds.size() - 1), corrected);
+  }
+
+  private record Chunk(long lastProductId, int corrected) {
+  }
+}
@@ -0,0 +1,221 @@
+package com.flagship.inventory.service;
+
+import com.flagship.inventory.dto.StockLevelChanges;
+import com.flagship.inventory.dto.StockLevelEntry;
+import com.flagship.inventory.model.Product;
+import com.flagship.inventory.model.ProductStockLevel;
+import com.flagship.inventory.repository.ProductStockLevelRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stock Level Service
+ * <p>
+ * Maintains per-product stock totals incrementally as inventory items change, and serves low-stock
+ * and out-of-stock lookups from them. {@link StockLevelReconciler} periodically reconciles totals
+ * against {@code inventory_items} to repair any drift from writes that bypass this service.
+ * <p>
+ * Every change marks the row pending, and a sequencer that runs one instance at a time stamps the
+ * pending rows with the next values of a database sequence. The sequence backs a full snapshot
+ * export and an incremental change feed that clients resume from the last sequence seen. Because
+ * writers never draw sequence values, a sequence only becomes visible once every lower one has
+ * been committed, however long the writing transactions run and however often a row changes.
+ * The sequence is drawn through the dialect's own syntax, so the same code runs on PostgreSQL and
+ * on the H2 test database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class StockLevelService {
+
+  private static final int MAX_CHANGES_PAGE_SIZE = 5000;
+
+  private final ProductStockLevelRepository productStockLevelRepository;
+  private final EntityManager entityManager;
+
+  @Value("${inventory.stock-levels.low-stock-threshold:10}")
+  private int lowStockThreshold;
+
+  private volatile String sequencePendingChangesSql;
+
+  public void initialize(Product product) {
+    productStockLevelRepository.save(ProductStockLevel.builder()
+        .productId(product.getId())
+        .sku(product.getSku())
+        .updatedAt(LocalDateTime.now())
+        .build());
+  }
+
+  /**
+   * Applies an inventory item change to the product totals and reports whether the product
+   * crossed a stock alert boundary as a result.
+   */
+  public StockTransition applyChange(Product product, int quantityDelta, int reservedDelta,
+      int availableDelta, int locationDelta) {
+    LocalDateTime now = LocalDateTime.now();
+    int updated = productStockLevelRepository.applyDelta(product.getId(), quantityDelta,
+        reservedDelta, availableDelta, locationDelta, now);
+
+    if (updated == 0) {
+      // Product predates the stock level table and has not been reconciled yet. Concurrent first
+      // writers queue on the product row, and the recount includes this change.
+      entityManager.find(Product.class, product.getId(), LockModeType.PESSIMISTIC_WRITE);
+      if (productStockLevelRepository.insertIfMissing(product.getId(), now) == 0) {
+        // Another first writer created the row meanwhile; its recount could not see this change
+        return applyChange(product, quantityDelta, reservedDelta, availableDelta, locationDelta);
+      }
+      productStockLevelRepository.recomputeChanged(List.of(product.getId()), now);
+      return StockTransition.toFirstLevel(
+          productStockLevelRepository.findLevelByProductId(product.getId()).getAvailableQuantity(),
+          lowStockThreshold);
+    }
+
+    ProductStockLevelRepository.Level level =
+        productStockLevelRepository.findLevelByProductId(product.getId());
+    if (level.getLocationCount() == locationDelta && locationDelta > 0) {
+      // The product's first stock location, there was no level to cross from
+      return StockTransition.toFirstLevel(level.getAvailableQuantity(), lowStockThreshold);
+    }
+    int available = level.getAvailableQuantity();
+    return StockTransition.between(available - availableDelta, available, lowStockThreshold);
+  }
+
+  @Transactional(readOnly = true)
+  public Map<Long, ProductStockLevel> findLevels(Collection<Long> productIds) {
+    return productStockLevelRepository.findAllById(productIds).stream()
+        .collect(Collectors.toMap(ProductStockLevel::getProductId, Function.identity()));
+  }
+
+  @Transactional(readOnly = true)
+  public List<Product> findLowStockProducts(int threshold) {
+    return productStockLevelRepository.findLowStockProducts(threshold);
+  }
+
+  @Transactional(readOnly = true)
+  public List<Product> findOutOfStockProducts() {
+    return productStockLevelRepository.findOutOfStockProducts();
+  }
+
+  /**
+   * Highest change sequence stamped so far. Later stamps are always higher, so it is safe to
+   * resume from.
+   */
+  @Transactional(readOnly = true)
+  public long getSettledSequence() {
+    Long sequence = productStockLevelRepository.findMaxChangeSequence();
+    return sequence != null ? sequence : 0L;
+  }
+
+  @Scheduled(fixedDelayString = "${inventory.stock-levels.sequence-interval:PT1S}")
+  public void sequencePendingChanges() {
+    productStockLevelRepository.lockSequencer();
+    // Every pending row gets a fresh value under the sequencer lock, so the values of one run
+    // become visible together on commit and are higher than those of every earlier run
+    int sequenced = entityManager.createNativeQuery(sequencePendingChangesSql())
+        .executeUpdate();
+    if (sequenced > 0) {
+      log.debug("Sequenced {} stock level changes", sequenced);
+    }
+  }
+
+  private String sequencePendingChangesSql() {
+    String sql = sequencePendingChangesSql;
+    if (sql == null) {
+      String nextValue = entityManager.getEntityManagerFactory()
+          .unwrap(SessionFactoryImplementor.class)
+          .getJdbcServices().getDialect().getSequenceSupport()
+          .getSelectSequenceNextValString(ProductStockLevel.CHANGE_SEQUENCE);
+      sql = "UPDATE product_stock_levels SET change_sequence = " + nextValue
+          + ", pending_change = false WHERE pending_change = true";
+      sequencePendingChangesSql = sql;
+    }
+    return sql;
+  }
+
+  @Transactional(readOnly = true)
+  public long exportSnapshot(Consumer<ProductStockLevel> consumer) {
+    long exported = 0;
+    try (Stream<ProductStockLevel> levels = productStockLevelRepository.streamAll()) {
+      for (ProductStockLevel level : (Iterable<ProductStockLevel>) levels::iterator) {
+        consumer.accept(level);
+        entityManager.detach(level);
+        exported++;
+      }
+    }
+    log.debug("Exported {} product stock levels", exported);
+    return exported;
+  }
+
+  @Transactional(readOnly = true)
+  public StockLevelChanges getChangesSince(long since, int limit) {
+    int size = Math.max(1, Math.min(limit, MAX_CHANGES_PAGE_SIZE));
+    List<ProductStockLevel> rows = productStockLevelRepository.findChangesSince(since,
+        PageRequest.of(0, size + 1));
+
+    boolean hasMore = rows.size() > size;
+    List<StockLevelEntry> changes = rows.stream()
+        .limit(size)
+        .map(StockLevelEntry::from)
+        .toList();
+    long nextSequence = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence();
+
+    return StockLevelChanges.builder()
+        .since(since)
+        .nextSequence(nextSequence)
+        .hasMore(hasMore)
+        .changes(changes)
+        .build();
+  }
+
+  public enum StockTransition {
+    NONE,
+    LOW_STOCK,
+    OUT_OF_STOCK,
+    RESTOCKED;
+
+    /**
+     * Transition into a product's first stock level, from having no level at all.
+     */
+    static StockTransition toFirstLevel(int available, int lowStockThreshold) {
+      if (available == 0) {
+        return OUT_OF_STOCK;
+      }
+      return available <= lowStockThreshold ? LOW_STOCK : RESTOCKED;
+    }
+
+    static StockTransition between(int previousAvailable, int available, int lowStockThreshold) {
+      if (available == previousAvailable) {
+        return NONE;
+      }
+      if (available == 0) {
+        return OUT_OF_STOCK;
+      }
+      if (previousAvailable == 0 || (previousAvailable <= lowStockThreshold
+          && available > lowStockThreshold)) {
+        return RESTOCKED;
+      }
+      if (previousAvailable > lowStockThreshold && available <= lowStockThreshold) {
+        return LOW_STOCK;
+      }
+      return NONE;
+    }
+  }
+}
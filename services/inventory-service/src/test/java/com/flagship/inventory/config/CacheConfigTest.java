@@ -0,0 +1,41 @@
+package com.flagship.inventory.config;
+
+import com.flagship.inventory.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cache Config Test
+ * <p>
+ * Covers that a cached product survives the Redis value codec with its timestamps.
+ */
+class CacheConfigTest {
+
+    private final RedisSerializer<Object> serializer = CacheConfig.valueSerializer();
+
+    @Test
+    void productRoundTripsWithItsTimestamps() {
+        Product product = Product.builder()
+                .id(42L)
+                .sku("SKU-42")
+                .name("Cached product")
+                .price(new BigDecimal("19.99"))
+                .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .updatedAt(LocalDateTime.of(2024, 1, 2, 12, 30, 15))
+                .build();
+
+        Object decoded = serializer.deserialize(serializer.serialize(product));
+
+        assertThat(decoded).isInstanceOf(Product.class);
+        Product cached = (Product) decoded;
+        assertThat(cached.getSku()).isEqualTo("SKU-42");
+        assertThat(cached.getPrice()).isEqualByComparingTo("19.99");
+        assertThat(cached.getCreatedAt()).isEqualTo(product.getCreatedAt());
+        assertThat(cached.getUpdatedAt()).isEqualTo(product.getUpdatedAt());
+    }
+}
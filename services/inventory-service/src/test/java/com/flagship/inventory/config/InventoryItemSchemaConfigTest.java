@@ -0,0 +1,68 @@
+package com.flagship.inventory.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inventory Item Schema Config Test
+ * <p>
+ * Covers merging duplicate product locations on H2 before the unique constraint is added.
+ */
+class InventoryItemSchemaConfigTest {
+
+    private final DriverManagerDataSource dataSource =
+            new DriverManagerDataSource("jdbc:h2:mem:inventory_items_merge;DB_CLOSE_DELAY=-1");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    @AfterEach
+    void dropTable() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS inventory_items");
+    }
+
+    @Test
+    void duplicatesAreSummedIntoTheOldestRow() {
+        jdbcTemplate.execute("CREATE TABLE inventory_items (id BIGINT PRIMARY KEY, "
+                + "product_id BIGINT NOT NULL, location VARCHAR(255) NOT NULL, "
+                + "quantity INT NOT NULL, reserved_quantity INT NOT NULL, "
+                + "available_quantity INT NOT NULL, version BIGINT DEFAULT 0 NOT NULL, "
+                + "updated_at TIMESTAMP)");
+        insert(1, 10, "WH-1", 5, 2);
+        insert(2, 10, "WH-1", 7, 1);
+        insert(3, 10, "WH-2", 4, 0);
+        insert(4, 10, "WH-1", 1, 0);
+
+        new InventoryItemSchemaConfig(dataSource).mergeDuplicateItems();
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, quantity, reserved_quantity, available_quantity, version "
+                        + "FROM inventory_items ORDER BY id");
+        assertThat(rows).extracting(row -> ((Number) row.get("id")).longValue())
+                .containsExactly(1L, 3L);
+        Map<String, Object> merged = rows.get(0);
+        assertThat(((Number) merged.get("quantity")).intValue()).isEqualTo(13);
+        assertThat(((Number) merged.get("reserved_quantity")).intValue()).isEqualTo(3);
+        assertThat(((Number) merged.get("available_quantity")).intValue()).isEqualTo(10);
+        assertThat(((Number) merged.get("version")).longValue()).isEqualTo(1);
+    }
+
+    @Test
+    void missingTableIsLeftToSchemaManagement() {
+        new InventoryItemSchemaConfig(dataSource).mergeDuplicateItems();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.tables "
+                + "WHERE LOWER(table_name) = 'inventory_items'", Integer.class)).isZero();
+    }
+
+    private void insert(long id, long productId, String location, int quantity, int reserved) {
+        jdbcTemplate.update("INSERT INTO inventory_items (id, product_id, location, quantity, "
+                        + "reserved_quantity, available_quantity) VALUES (?, ?, ?, ?, ?, ?)",
+                id, productId, location, quantity, reserved, quantity - reserved);
+    }
+}
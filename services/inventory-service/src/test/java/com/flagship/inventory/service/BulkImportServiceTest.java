@@ -0,0 +1,61 @@
+package com.flagship.inventory.service;
+
+import com.flagship.inventory.service.BulkImportService.ImportRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk Import Service Test
+ * <p>
+ * Covers how a batch is prepared for its multi-row upserts, which cannot touch the same row twice.
+ */
+class BulkImportServiceTest {
+
+    @Test
+    void duplicateSkuInOneBatchKeepsTheLastProductRow() {
+        List<ImportRow> batch = List.of(
+                product(1, "SKU-1", "First"),
+                product(2, "SKU-2", "Other"),
+                product(3, "SKU-1", "Second"));
+
+        List<ImportRow> rows = BulkImportService.lastPerKey(batch, ImportRow::sku);
+
+        assertThat(rows).extracting(ImportRow::rowNumber).containsExactly(3L, 2L);
+        assertThat(rows).extracting(ImportRow::name).containsExactly("Second", "Other");
+    }
+
+    @Test
+    void duplicateSkuInOneBatchKeepsOneStockRowPerLocation() {
+        List<ImportRow> batch = List.of(
+                stock(1, "SKU-1", "WH-1", 5),
+                stock(2, "SKU-1", "WH-2", 7),
+                stock(3, "SKU-1", "WH-1", 9));
+
+        List<ImportRow> rows = BulkImportService.lastPerKey(batch,
+                row -> row.sku() + '\0' + row.location());
+
+        assertThat(rows).extracting(ImportRow::rowNumber).containsExactly(3L, 2L);
+        assertThat(rows).extracting(ImportRow::quantity).containsExactly(9, 7);
+    }
+
+    @Test
+    void batchWithoutDuplicatesIsUnchanged() {
+        List<ImportRow> batch = List.of(product(1, "SKU-1", "First"), product(2, "SKU-2", "Other"));
+
+        assertThat(BulkImportService.lastPerKey(batch, ImportRow::sku)).isSameAs(batch);
+    }
+
+    private static ImportRow product(long rowNumber, String sku, String name) {
+        return new ImportRow(rowNumber, sku, name, null, null, null, new BigDecimal("9.99"), "USD",
+                null, null);
+    }
+
+    private static ImportRow stock(long rowNumber, String sku, String location, int quantity) {
+        return new ImportRow(rowNumber, sku, null, null, null, null, null, "USD", location,
+                quantity);
+    }
+}
@@ -0,0 +1,75 @@
+package com.flagship.inventory.service;
+
+import com.flagship.inventory.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Inventory Mutation Retry Test
+ * <p>
+ * Covers retrying on version conflicts and which SKUs get a tag of their own on the counters.
+ */
+class InventoryMutationRetryTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InventoryMutationRetry retry = new InventoryMutationRetry(productRepository,
+            meterRegistry, 3, Duration.ZERO, Duration.ZERO, Set.of("HOT-1"));
+
+    @Test
+    void conflictsOnAHotSkuAreCountedUnderItsOwnTag() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retry.execute(1L, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("conflict");
+            }
+            return "HOT-1";
+        }, sku -> sku);
+
+        assertThat(result).isEqualTo("HOT-1");
+        assertThat(count("inventory.mutations", "success", "HOT-1")).isEqualTo(1);
+        assertThat(meterRegistry.get("inventory.mutation.conflicts").tag("sku", "HOT-1")
+                .counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void otherSkusShareOneTag() {
+        retry.execute(1L, () -> "SKU-1", sku -> sku);
+        retry.execute(2L, () -> "SKU-2", sku -> sku);
+        retry.<String>execute(3L, () -> null, sku -> sku);
+
+        assertThat(count("inventory.mutations", "success", "other")).isEqualTo(3);
+        assertThat(meterRegistry.find("inventory.mutations").tag("sku", "SKU-1").counter())
+                .isNull();
+    }
+
+    @Test
+    void givesUpAfterTheLastAttempt() {
+        when(productRepository.findSkuById(1L)).thenReturn(Optional.of("HOT-1"));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.<String>execute(1L, () -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("conflict");
+        }, sku -> sku)).isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(attempts).hasValue(3);
+        assertThat(count("inventory.mutations", "exhausted", "HOT-1")).isEqualTo(1);
+    }
+
+    private double count(String name, String outcome, String sku) {
+        return meterRegistry.get(name).tag("outcome", outcome).tag("sku", sku).counter().count();
+    }
+}
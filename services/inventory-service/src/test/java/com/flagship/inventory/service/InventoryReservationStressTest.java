@@ -0,0 +1,227 @@
+package com.flagship.inventory.service;
+
+import com.flagship.inventory.dto.AllocationResult;
+import com.flagship.inventory.model.InventoryItem;
+import com.flagship.inventory.model.Product;
+import com.flagship.inventory.model.ProductStockLevel;
+import com.flagship.inventory.repository.InventoryItemRepository;
+import com.flagship.inventory.repository.ProductStockLevelRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inventory Reservation Stress Test
+ * <p>
+ * Fires concurrent reserve/release/confirm/allocate calls at a few SKUs through the same retry
+ * wrapper the controller uses, then checks that no row went negative, that every row still
+ * satisfies reserved + available = quantity, and that the totals match what the successful calls
+ * say happened. Throughput is logged so faster reservation paths can be compared.
+ * <p>
+ * Runs on an in-process H2 database, so it needs nothing but the JVM; the reservation and stock
+ * level paths it drives use no PostgreSQL-only SQL.
+ * <p>
+ * Size with -Dstress.operations and -Dstress.threads.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:stressdb;LOCK_TIMEOUT=10000",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.flagship.inventory=INFO",
+    "inventory.outbox.poll-interval=PT1H"
+})
+@ActiveProfiles("test")
+class InventoryReservationStressTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryReservationStressTest.class);
+
+    private static final int OPERATIONS = Integer.getInteger("stress.operations", 2000);
+    private static final int THREADS = Integer.getInteger("stress.threads", 8);
+    private static final int PRODUCTS = 4;
+    private static final String[] LOCATIONS = {"WH-EAST", "WH-WEST"};
+    private static final int INITIAL_QUANTITY = 500;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryMutationRetry inventoryMutationRetry;
+
+    @Autowired
+    private InventoryItemRepository inventoryItemRepository;
+
+    @Autowired
+    private ProductStockLevelRepository productStockLevelRepository;
+
+    @TestConfiguration
+    static class InMemoryCacheConfig {
+
+        @Bean
+        @Primary
+        CacheManager testCacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+    }
+
+    @Test
+    void concurrentReservationsPreserveInvariants() throws InterruptedException {
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = inventoryService.createProduct(Product.builder()
+                    .sku("STRESS-" + i)
+                    .name("Stress product " + i)
+                    .price(BigDecimal.TEN)
+                    .build());
+            for (String location : LOCATIONS) {
+                inventoryService.addInventory(product.getId(), location, INITIAL_QUANTITY);
+            }
+            productIds.add(product.getId());
+        }
+
+        Ledger[] ledgers = new Ledger[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            ledgers[i] = new Ledger();
+        }
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong aborted = new AtomicLong();
+        List<Throwable> unexpected = Collections.synchronizedList(new ArrayList<>());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(OPERATIONS);
+
+        for (int op = 0; op < OPERATIONS; op++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    int index = random.nextInt(PRODUCTS);
+                    Long productId = productIds.get(index);
+                    String location = LOCATIONS[random.nextInt(LOCATIONS.length)];
+                    int quantity = 1 + random.nextInt(3);
+
+                    runOperation(random.nextInt(4), productId, location, quantity, ledgers[index]);
+                    succeeded.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    rejected.incrementAndGet();
+                } catch (OptimisticLockingFailureException | PessimisticLockingFailureException e) {
+                    aborted.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    unexpected.add(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        assertThat(done.await(5, TimeUnit.MINUTES)).isTrue();
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        executor.shutdown();
+
+        log.info("Reservation stress: {} ops on {} threads in {}s ({} ops/s); "
+                        + "{} succeeded, {} rejected, {} aborted after retries",
+                OPERATIONS, THREADS, String.format("%.2f", seconds),
+                String.format("%.0f", OPERATIONS / seconds), succeeded.get(), rejected.get(),
+                aborted.get());
+
+        assertThat(unexpected).isEmpty();
+        assertThat(succeeded.get() + rejected.get() + aborted.get()).isEqualTo(OPERATIONS);
+
+        for (int i = 0; i < PRODUCTS; i++) {
+            Long productId = productIds.get(i);
+            List<InventoryItem> items = inventoryItemRepository.findByProductIdOrderByLocation(
+                    productId);
+
+            for (InventoryItem item : items) {
+                assertThat(item.getAvailableQuantity()).as("available at %s", item.getLocation())
+                        .isGreaterThanOrEqualTo(0);
+                assertThat(item.getReservedQuantity()).as("reserved at %s", item.getLocation())
+                        .isGreaterThanOrEqualTo(0);
+                assertThat(item.getReservedQuantity() + item.getAvailableQuantity())
+                        .as("reserved + available at %s", item.getLocation())
+                        .isEqualTo(item.getQuantity());
+            }
+
+            int quantity = items.stream().mapToInt(InventoryItem::getQuantity).sum();
+            int reserved = items.stream().mapToInt(InventoryItem::getReservedQuantity).sum();
+            int available = items.stream().mapToInt(InventoryItem::getAvailableQuantity).sum();
+            Ledger ledger = ledgers[i];
+
+            assertThat(quantity).isEqualTo(
+                    INITIAL_QUANTITY * LOCATIONS.length - ledger.confirmed.get());
+            assertThat(reserved).isEqualTo(
+                    ledger.reserved.get() - ledger.released.get() - ledger.confirmed.get());
+
+            ProductStockLevel level = productStockLevelRepository.findById(productId).orElseThrow();
+            assertThat(level.getTotalQuantity()).isEqualTo(quantity);
+            assertThat(level.getReservedQuantity()).isEqualTo(reserved);
+            assertThat(level.getAvailableQuantity()).isEqualTo(available);
+        }
+    }
+
+    private void runOperation(int kind, Long productId, String location, int quantity,
+            Ledger ledger) {
+        switch (kind) {
+            case 0 -> {
+                inventoryMutationRetry.execute(productId,
+                        () -> inventoryService.reserveInventory(productId, location, quantity, 1L),
+                        InventoryItem::getSku);
+                ledger.reserved.addAndGet(quantity);
+            }
+            case 1 -> {
+                AllocationResult result = inventoryService.allocateInventory(productId, quantity,
+                        1L, null, null);
+                ledger.reserved.addAndGet(result.getRequestedQuantity());
+            }
+            case 2 -> {
+                inventoryMutationRetry.execute(productId,
+                        () -> inventoryService.releaseReservedInventory(productId, location,
+                                quantity, 1L),
+                        InventoryItem::getSku);
+                ledger.released.addAndGet(quantity);
+            }
+            default -> {
+                inventoryMutationRetry.execute(productId,
+                        () -> inventoryService.confirmReservedInventory(productId, location,
+                                quantity, 1L),
+                        InventoryItem::getSku);
+                ledger.confirmed.addAndGet(quantity);
+            }
+        }
+    }
+
+    private static final class Ledger {
+
+        private final AtomicInteger reserved = new AtomicInteger();
+        private final AtomicInteger released = new AtomicInteger();
+        private final AtomicInteger confirmed = new AtomicInteger();
+    }
+}
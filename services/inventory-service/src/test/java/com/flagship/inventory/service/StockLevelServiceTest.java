@@ -0,0 +1,43 @@
+package com.flagship.inventory.service;
+
+import com.flagship.inventory.service.StockLevelService.StockTransition;
+import org.junit.jupiter.api.Test;
+
+import static com.flagship.inventory.service.StockLevelService.StockTransition.LOW_STOCK;
+import static com.flagship.inventory.service.StockLevelService.StockTransition.NONE;
+import static com.flagship.inventory.service.StockLevelService.StockTransition.OUT_OF_STOCK;
+import static com.flagship.inventory.service.StockLevelService.StockTransition.RESTOCKED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stock Level Service Test
+ * <p>
+ * Covers which stock alert a change of a product's available quantity raises.
+ */
+class StockLevelServiceTest {
+
+    private static final int THRESHOLD = 10;
+
+    @Test
+    void firstLevelRaisesTheAlertItIsAlreadyIn() {
+        assertThat(StockTransition.toFirstLevel(0, THRESHOLD)).isEqualTo(OUT_OF_STOCK);
+        assertThat(StockTransition.toFirstLevel(5, THRESHOLD)).isEqualTo(LOW_STOCK);
+        assertThat(StockTransition.toFirstLevel(10, THRESHOLD)).isEqualTo(LOW_STOCK);
+        assertThat(StockTransition.toFirstLevel(11, THRESHOLD)).isEqualTo(RESTOCKED);
+    }
+
+    @Test
+    void crossingABoundaryRaisesItsAlert() {
+        assertThat(StockTransition.between(11, 10, THRESHOLD)).isEqualTo(LOW_STOCK);
+        assertThat(StockTransition.between(3, 0, THRESHOLD)).isEqualTo(OUT_OF_STOCK);
+        assertThat(StockTransition.between(0, 3, THRESHOLD)).isEqualTo(RESTOCKED);
+        assertThat(StockTransition.between(5, 20, THRESHOLD)).isEqualTo(RESTOCKED);
+    }
+
+    @Test
+    void changesWithinABandRaiseNothing() {
+        assertThat(StockTransition.between(50, 20, THRESHOLD)).isEqualTo(NONE);
+        assertThat(StockTransition.between(8, 4, THRESHOLD)).isEqualTo(NONE);
+        assertThat(StockTransition.between(4, 4, THRESHOLD)).isEqualTo(NONE);
+    }
+}
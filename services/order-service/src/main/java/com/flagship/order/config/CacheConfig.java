@@ -0,0 +1,67 @@
+package com.flagship.order.config;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flagship.order.service.OrderHistoryService;
+import com.flagship.order.service.OrderService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.Duration;
+
+/**
+ * Cache Configuration for Order Service
+ * <p>
+ * Redis-backed caches shared by every instance, so an eviction triggered by one instance's
+ * consumer is seen by all of them. Evictions issued inside a transaction are applied after
+ * commit, which keeps a concurrent read from re-caching the state being replaced. Statistics are
+ * enabled so every cache reports hits and misses as {@code cache.gets}. Tests switch to the
+ * in-memory cache through {@code spring.cache.type}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  @Bean
+  public RedisCacheManagerBuilderCustomizer orderCacheCustomizer(
+      @Value("${order.history.cache-ttl:PT5M}") Duration historyTtl,
+      @Value("${order.cache.ttl:PT10M}") Duration orderTtl) {
+    RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+        .entryTtl(Duration.ofMinutes(15))
+        .serializeKeysWith(
+            RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+        .serializeValuesWith(
+            RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer()))
+        .disableCachingNullValues();
+
+    return builder -> builder
+        .cacheDefaults(config)
+        .withCacheConfiguration(OrderHistoryService.ORDER_HISTORY_CACHE,
+            config.entryTtl(historyTtl))
+        .withCacheConfiguration(OrderService.ORDER_CACHE, config.entryTtl(orderTtl))
+        .withCacheConfiguration(OrderService.ORDER_NUMBER_CACHE, config.entryTtl(orderTtl))
+        .enableStatistics()
+        .transactionAware();
+  }
+
+  private static GenericJackson2JsonRedisSerializer valueSerializer() {
+    ObjectMapper mapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(),
+        ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+    GenericJackson2JsonRedisSerializer.registerNullValueSerializer(mapper, null);
+    return new GenericJackson2JsonRedisSerializer(mapper);
+  }
+}
@@ -0,0 +1,44 @@
+package com.flagship.order.config;
+
+import com.flagship.common.id.SnowflakeIdGenerator;
+import com.flagship.common.id.SnowflakeNodeLease;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+/**
+ * Id Generator Configuration
+ * <p>
+ * Order numbers come from a Snowflake generator that needs a node id no other running instance
+ * uses. A node id can be pinned per instance with {@code order.ids.node-id}; otherwise one is
+ * leased from the database, and startup fails when neither is possible.
+ */
+@Slf4j
+@Configuration
+public class IdGeneratorConfig {
+
+  @Bean(destroyMethod = "release")
+  SnowflakeNodeLease snowflakeNodeLease(JdbcTemplate jdbcTemplate,
+      @Value("${spring.application.name}") String service,
+      @Value("${order.ids.node-lease:PT5M}") Duration leaseDuration) {
+    return new SnowflakeNodeLease(jdbcTemplate, service, leaseDuration);
+  }
+
+  @Bean
+  SnowflakeIdGenerator snowflakeIdGenerator(SnowflakeNodeLease nodeLease,
+      @Value("${order.ids.node-id:-1}") long nodeId,
+      @Value("${order.ids.node-lease-renewal:PT1M}") Duration renewalInterval) {
+    if (nodeId >= 0) {
+      log.info("Order id generator using configured node id: {}", nodeId);
+      return new SnowflakeIdGenerator(nodeId);
+    }
+    nodeLease.acquire();
+    // Renewed on its own thread, not the shared scheduler that also runs the slow batch jobs
+    nodeLease.startRenewing(renewalInterval);
+    return new SnowflakeIdGenerator(nodeLease);
+  }
+}
@@ -0,0 +1,31 @@
+package com.flagship.order.config;
+
+import com.flagship.common.id.PooledSequenceAligner;
+import com.flagship.order.model.Order;
+import com.flagship.order.model.OrderEvent;
+import com.flagship.order.model.OrderItem;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+/**
+ * Id Sequence Configuration
+ * <p>
+ * Moves the pooled id sequences of this service's tables past their existing ids on startup; see
+ * {@link PooledSequenceAligner}.
+ */
+@Configuration
+public class IdSequenceConfig {
+
+  @Bean(initMethod = "alignSequences")
+  @DependsOn("entityManagerFactory")
+  PooledSequenceAligner pooledSequenceAligner(JdbcTemplate jdbcTemplate) {
+    return new PooledSequenceAligner(jdbcTemplate, Map.of(
+        Order.ID_SEQUENCE, "orders",
+        OrderItem.ID_SEQUENCE, "order_items",
+        OrderEvent.ID_SEQUENCE, "order_events"));
+  }
+}
@@ -0,0 +1,42 @@
+package com.flagship.order.config;
+
+import com.flagship.order.model.Money;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Order Item Schema Configuration
+ * <p>
+ * Widens {@code order_items.unit_price} to the scale unit prices are computed at. Hibernate schema
+ * management creates new tables that way but never changes the type of an existing column.
+ */
+@Slf4j
+@Configuration
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class OrderItemSchemaConfig {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @PostConstruct
+  void widenUnitPrice() {
+    List<Integer> scales = jdbcTemplate.queryForList("SELECT numeric_scale "
+        + "FROM information_schema.columns "
+        + "WHERE LOWER(table_name) = 'order_items' AND LOWER(column_name) = 'unit_price'",
+        Integer.class);
+    if (scales.isEmpty() || scales.get(0) == null || scales.get(0) >= Money.PRICE_SCALE) {
+      return;
+    }
+    // Existing prices are whole minor units, so widening keeps every value as it is
+    jdbcTemplate.execute("ALTER TABLE order_items ALTER COLUMN unit_price TYPE NUMERIC(14, "
+        + Money.PRICE_SCALE + ")");
+    log.info("Widened order_items.unit_price from scale {} to {}", scales.get(0),
+        Money.PRICE_SCALE);
+  }
+}
@@ -1,29 +1,51 @@
 package com.flagship.order.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flagship.common.paging.KeysetPage;
+import com.flagship.order.dto.BulkStatusUpdateRequest;
+import com.flagship.order.dto.BulkStatusUpdateResult;
+import com.flagship.order.dto.OrderDto;
+import com.flagship.order.dto.OrderStatsDto;
+import com.flagship.order.model.CheckoutSaga;
 import com.flagship.order.model.Order;
 import com.flagship.order.model.OrderItem;
+import com.flagship.order.model.UserOrderSummary;
+import com.flagship.order.service.CheckoutSagaService;
+import com.flagship.order.service.OrderHistoryService;
 import com.flagship.order.service.OrderService;
+import com.flagship.order.service.OrderStatsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Order Controller
  * <p>
  * REST API endpoints for order management operations. Provides CRUD operations for orders and order
- * management.
+ * management. Orders are returned as {@link OrderDto} views; the audit trail is only included
+ * when requested, and the export endpoint streams NDJSON without holding the range in memory.
+ * Checkout is accepted immediately and progresses asynchronously; clients follow the returned
+ * location to see where it stands. Dashboard stats come from running counters, not from counting
+ * orders.
  */
 @Slf4j
 @RestController
@@ -31,69 +53,127 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class OrderController {
 
+  private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(
+      "application/x-ndjson");
+
   private final OrderService orderService;
+  private final CheckoutSagaService checkoutSagaService;
+  private final OrderHistoryService orderHistoryService;
+  private final OrderStatsService orderStatsService;
+  private final ObjectMapper objectMapper;
 
   @PostMapping
-  public ResponseEntity<Order> createOrder(@Valid @RequestBody Order order) {
+  public ResponseEntity<OrderDto> createOrder(@Valid @RequestBody Order order) {
     log.info("Creating new order for user: {}", order.getUserId());
     Order createdOrder = orderService.createOrder(order);
-    return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
+    return ResponseEntity.status(HttpStatus.CREATED).body(OrderDto.from(createdOrder));
+  }
+
+  @PostMapping("/checkout")
+  public ResponseEntity<CheckoutSaga> checkout(@Valid @RequestBody Order order) {
+    log.info("Starting checkout for user: {}", order.getUserId());
+
+    try {
+      CheckoutSaga saga = checkoutSagaService.startCheckout(order);
+      return ResponseEntity.accepted()
+          .location(URI.create("/api/orders/" + saga.getOrderId() + "/checkout"))
+          .body(saga);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @GetMapping("/{id}/checkout")
+  @PreAuthorize("hasRole('ADMIN') or hasRole('ORDER_MANAGER') or @orderService.isOrderOwner(#id, authentication)")
+  public ResponseEntity<CheckoutSaga> getCheckout(@PathVariable Long id) {
+    log.debug("Getting checkout state for order ID: {}", id);
+
+    return checkoutSagaService.findByOrderId(id)
+        .map(ResponseEntity::ok)
+        .orElse(ResponseEntity.notFound().build());
   }
 
   @GetMapping("/{id}")
   @PreAuthorize("hasRole('ADMIN') or hasRole('ORDER_MANAGER') or @orderService.isOrderOwner(#id, authentication)")
-  public ResponseEntity<Order> getOrderById(@PathVariable Long id,
+  public ResponseEntity<OrderDto> getOrderById(@PathVariable Long id,
+      @RequestParam(defaultValue = "false") boolean includeEvents,
       @AuthenticationPrincipal Jwt jwt) {
     log.debug("Getting order by ID: {}", id);
 
-    Optional<Order> order = orderService.findById(id);
-    return order.map(ResponseEntity::ok)
+    return orderService.getOrderDetails(id, includeEvents)
+        .map(ResponseEntity::ok)
         .orElse(ResponseEntity.notFound().build());
   }
 
   @GetMapping("/number/{orderNumber}")
   @PreAuthorize("hasRole('ADMIN') or hasRole('ORDER_MANAGER') or @orderService.isOrderOwnerByNumber(#orderNumber, authentication)")
-  public ResponseEntity<Order> getOrderByNumber(@PathVariable String orderNumber,
+  public ResponseEntity<OrderDto> getOrderByNumber(@PathVariable String orderNumber,
+      @RequestParam(defaultValue = "false") boolean includeEvents,
       @AuthenticationPrincipal Jwt jwt) {
     log.debug("Getting order by number: {}", orderNumber);
 
-    Optional<Order> order = orderService.findByOrderNumber(orderNumber);
-    return order.map(ResponseEntity::ok)
+    return orderService.getOrderDetailsByNumber(orderNumber, includeEvents)
+        .map(ResponseEntity::ok)
         .orElse(ResponseEntity.notFound().build());
   }
 
   @GetMapping("/my-orders")
-  public ResponseEntity<Page<Order>> getMyOrders(@AuthenticationPrincipal Jwt jwt, Pageable pageable) {
+  public ResponseEntity<KeysetPage<UserOrderSummary>> getMyOrders(
+      @AuthenticationPrincipal Jwt jwt,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "" + OrderHistoryService.DEFAULT_PAGE_SIZE) int size) {
     String userId = jwt.getClaim("sub");
-    log.debug("Getting orders for user: {} with pagination: {}", userId, pageable);
+    log.debug("Getting order history for user: {} after cursor: {}", userId, cursor);
 
-    Page<Order> orders = orderService.findByUserId(Long.valueOf(userId), pageable);
-    return ResponseEntity.ok(orders);
+    try {
+      KeysetPage<UserOrderSummary> orders = orderHistoryService.getOrderHistory(
+          Long.valueOf(userId), cursor, size);
+      return ResponseEntity.ok(orders);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
   }
 
   @PutMapping("/{id}/status")
   @PreAuthorize("hasRole('ADMIN') or hasRole('ORDER_MANAGER')")
-  public ResponseEntity<Order> updateOrderStatus(@PathVariable Long id,
+  public ResponseEntity<OrderDto> updateOrderStatus(@PathVariable Long id,
       @RequestParam Order.OrderStatus status) {
     log.info("Updating order status for order ID: {} to: {}", id, status);
 
     try {
       Order updatedOrder = orderService.updateOrderStatus(id, status);
-      return ResponseEntity.ok(updatedOrder);
+      return ResponseEntity.ok(OrderDto.from(updatedOrder));
     } catch (IllegalArgumentException e) {
       return ResponseEntity.notFound().build();
+    } catch (IllegalStateException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @PutMapping("/status")
+  @PreAuthorize("hasRole('ADMIN') or hasRole('ORDER_MANAGER')")
+  public ResponseEntity<BulkStatusUpdateResult> bulkUpdateOrderStatus(
+      @Valid @RequestBody BulkStatusUpdateRequest request) {
+    log.info("Bulk updating {} orders to status: {}", request.getOrderIds().size(),
+        request.getStatus());
+
+    try {
+      return ResponseEntity.ok(
+          orderService.bulkUpdateOrderStatus(request.getOrderIds(), request.getStatus()));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
     }
   }
 
   @PutMapping("/{id}/payment-status")
   @PreAuthorize("hasRole('ADMIN') or hasRole('ORDER_MANAGER')")
-  public ResponseEntity<Order> updatePaymentStatus(@PathVariable Long id,
+  public ResponseEntity<OrderDto> updatePaymentStatus(@PathVariable Long id,
       @RequestParam Order.PaymentStatus paymentStatus) {
     log.info("Updating payment status for order ID: {} to: {}", id, paymentStatus);
 
     try {
       Order updatedOrder = orderService.updatePaymentStatus(id, paymentStatus);
-      return ResponseEntity.ok(updatedOrder);
+      return ResponseEntity.ok(OrderDto.from(updatedOrder));
     } catch (IllegalArgumentException e) {
       return ResponseEntity.notFound().build();
     }
@@ -101,13 +181,13 @@ public class OrderController {
 
   @PostMapping("/{id}/items")
   @PreAuthorize("hasRole('ADMIN') or hasRole('ORDER_MANAGER') or @orderService.isOrderOwner(#id, authentication)")
-  public ResponseEntity<Order> addOrderItem(@PathVariable Long id,
+  public ResponseEntity<OrderDto> addOrderItem(@PathVariable Long id,
       @Valid @RequestBody OrderItem item) {
     log.info("Adding item to order ID: {}", id);
 
     try {
       Order updatedOrder = orderService.addOrderItem(id, item);
-      return ResponseEntity.ok(updatedOrder);
+      return ResponseEntity.ok(OrderDto.from(updatedOrder));
     } catch (IllegalArgumentException e) {
       return ResponseEntity.notFound().build();
     } catch (IllegalStateException e) {
@@ -117,13 +197,13 @@ public class OrderController {
 
   @DeleteMapping("/{id}/items/{itemId}")
   @PreAuthorize("hasRole('ADMIN') or hasRole('ORDER_MANAGER') or @orderService.isOrderOwner(#id, authentication)")
-  public ResponseEntity<Order> removeOrderItem(@PathVariable Long id,
+  public ResponseEntity<OrderDto> removeOrderItem(@PathVariable Long id,
       @PathVariable Long itemId) {
     log.info("Removing item from order ID: {}", id);
 
     try {
       Order updatedOrder = orderService.removeOrderItem(id, itemId);
-      return ResponseEntity.ok(updatedOrder);
+      return ResponseEntity.ok(OrderDto.from(updatedOrder));
     } catch (IllegalArgumentException e) {
       return ResponseEntity.notFound().build();
     } catch (IllegalStateException e) {
@@ -133,12 +213,12 @@ public class OrderController {
 
   @PutMapping("/{id}/cancel")
   @PreAuthorize("hasRole('ADMIN') or hasRole('ORDER_MANAGER') or @orderService.isOrderOwner(#id, authentication)")
-  public ResponseEntity<Order> cancelOrder(@PathVariable Long id) {
+  public ResponseEntity<OrderDto> cancelOrder(@PathVariable Long id) {
     log.info("Cancelling order ID: {}", id);
 
     try {
       Order updatedOrder = orderService.cancelOrder(id);
-      return ResponseEntity.ok(updatedOrder);
+      return ResponseEntity.ok(OrderDto.from(updatedOrder));
     } catch (IllegalArgumentException e) {
       return ResponseEntity.notFound().build();
     } catch (IllegalStateException e) {
@@ -148,14 +228,14 @@ public class OrderController {
 
   @PutMapping("/{id}/tracking")
   @PreAuthorize("hasRole('ADMIN') or hasRole('ORDER_MANAGER')")
-  public ResponseEntity<Order> updateTracking(@PathVariable Long id,
+  public ResponseEntity<OrderDto> updateTracking(@PathVariable Long id,
       @RequestParam String trackingNumber,
       @RequestParam(required = false) String shippingMethod) {
     log.info("Updating tracking for order ID: {}", id);
 
     try {
       Order updatedOrder = orderService.updateTracking(id, trackingNumber, shippingMethod);
-      return ResponseEntity.ok(updatedOrder);
+      return ResponseEntity.ok(OrderDto.from(updatedOrder));
     } catch (IllegalArgumentException e) {
       return ResponseEntity.notFound().build();
     }
@@ -163,33 +243,85 @@ public class OrderController {
 
   @GetMapping
   @PreAuthorize("hasRole('ADMIN') or hasRole('ORDER_MANAGER')")
-  public ResponseEntity<Page<Order>> getAllOrders(Pageable pageable) {
-    log.debug("Getting all orders with pagination: {}", pageable);
+  public ResponseEntity<KeysetPage<OrderDto>> getAllOrders(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "50") int size,
+      @RequestParam(defaultValue = "false") boolean includeTotal) {
+    log.debug("Getting all orders after cursor: {}", cursor);
 
-    //TODO This would need to be implemented in OrderService with pagination support
-    // For now, return empty page to avoid memory issues
-    return ResponseEntity.ok(Page.empty());
+    try {
+      return ResponseEntity.ok(orderService.getAllOrders(cursor, size, includeTotal));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
   }
 
   @GetMapping("/status/{status}")
   @PreAuthorize("hasRole('ADMIN') or hasRole('ORDER_MANAGER')")
-  public ResponseEntity<List<Order>> getOrdersByStatus(@PathVariable Order.OrderStatus status) {
+  public ResponseEntity<List<OrderDto>> getOrdersByStatus(@PathVariable Order.OrderStatus status) {
     log.debug("Getting orders by status: {}", status);
 
-    List<Order> orders = orderService.findByStatus(status);
+    List<OrderDto> orders = orderService.getOrderSummariesByStatus(status);
     return ResponseEntity.ok(orders);
   }
 
+  @GetMapping("/shipping-location")
+  @PreAuthorize("hasRole('ADMIN') or hasRole('ORDER_MANAGER')")
+  public ResponseEntity<List<OrderDto>> getOrdersByShippingLocation(@RequestParam String country,
+      @RequestParam(required = false) String city) {
+    log.debug("Getting orders shipped to: {} {}", city, country);
+
+    try {
+      return ResponseEntity.ok(orderService.getOrderSummariesByShippingLocation(country, city));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
   @GetMapping("/date-range")
   @PreAuthorize("hasRole('ADMIN') or hasRole('ORDER_MANAGER')")
-  public ResponseEntity<List<Order>> getOrdersByDateRange(@RequestParam LocalDateTime startDate,
+  public ResponseEntity<List<OrderDto>> getOrdersByDateRange(@RequestParam LocalDateTime startDate,
       @RequestParam LocalDateTime endDate) {
     log.debug("Getting orders by date range: {} to {}", startDate, endDate);
 
-    List<Order> orders = orderService.findByDateRange(startDate, endDate);
+    List<OrderDto> orders = orderService.getOrderSummariesByDateRange(startDate, endDate);
     return ResponseEntity.ok(orders);
   }
 
+  @GetMapping("/export")
+  @PreAuthorize("hasRole('ADMIN') or hasRole('ORDER_MANAGER')")
+  public ResponseEntity<StreamingResponseBody> exportOrdersByDateRange(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+    log.info("Exporting orders by date range: {} to {}", startDate, endDate);
+
+    StreamingResponseBody body = outputStream -> {
+      Writer writer = new BufferedWriter(
+          new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+      orderService.exportOrdersByDateRange(startDate, endDate, order -> {
+        try {
+          writer.write(objectMapper.writeValueAsString(order));
+          writer.write('\n');
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+      writer.flush();
+    };
+
+    return ResponseEntity.ok()
+        .contentType(APPLICATION_NDJSON)
+        .body(body);
+  }
+
+  @GetMapping("/stats")
+  @PreAuthorize("hasRole('ADMIN') or hasRole('ORDER_MANAGER')")
+  public ResponseEntity<OrderStatsDto> getOrderStats(@RequestParam(defaultValue = "24") int hours) {
+    log.debug("Getting order stats for the last {} hours", hours);
+
+    return ResponseEntity.ok(orderStatsService.getStats(hours));
+  }
+
   @GetMapping("/health")
   public ResponseEntity<String> health() {
     return ResponseEntity.ok("Order service is healthy");
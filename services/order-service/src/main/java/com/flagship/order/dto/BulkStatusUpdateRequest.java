@@ -0,0 +1,29 @@
+package com.flagship.order.dto;
+
+import com.flagship.order.model.Order;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bulk Status Update Request
+ * <p>
+ * Moves a set of orders to one status, e.g. a warehouse marking a shipping batch SHIPPED.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateRequest {
+
+  @NotEmpty(message = "Order IDs are required")
+  private List<Long> orderIds;
+
+  @NotNull(message = "Status is required")
+  private Order.OrderStatus status;
+}
@@ -0,0 +1,27 @@
+package com.flagship.order.dto;
+
+import com.flagship.order.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Bulk Status Update Result
+ * <p>
+ * Outcome of a bulk status transition. Orders that were not found or may not move to the
+ * requested status are listed with the reason; all others were updated.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResult {
+
+  private Order.OrderStatus status;
+  private int requested;
+  private int updated;
+  private Map<Long, String> rejected;
+}
@@ -0,0 +1,93 @@
+package com.flagship.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.flagship.order.model.Order;
+import com.flagship.order.model.OrderEvent;
+import com.flagship.order.model.OrderItem;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Order DTO
+ * <p>
+ * Serialization-safe view of an {@link Order}. Items are always included and must already be
+ * loaded by the query that fetched the order. The audit trail is only present when it was
+ * explicitly requested, so building this view never initializes {@link Order#getEvents()}. Items
+ * are held in an {@link ArrayList} so cached views round-trip through Redis.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderDto {
+
+  private Long id;
+  private String orderNumber;
+  private Long userId;
+  private Order.OrderStatus status;
+  private BigDecimal totalAmount;
+  private String currency;
+  private String shippingAddress;
+  private String shippingCity;
+  private String shippingCountry;
+  private String billingAddress;
+  private String paymentMethod;
+  private Order.PaymentStatus paymentStatus;
+  private String shippingMethod;
+  private String trackingNumber;
+  private String notes;
+  private LocalDateTime estimatedDeliveryDate;
+  private LocalDateTime actualDeliveryDate;
+  private LocalDateTime createdAt;
+  private LocalDateTime updatedAt;
+  private List<OrderItemDto> items;
+  private List<OrderEventDto> events;
+
+  public static OrderDto from(Order order) {
+    return withItems(order, order.getItems());
+  }
+
+  public static OrderDto from(Order order, List<OrderEvent> events) {
+    OrderDto dto = from(order);
+    dto.setEvents(events.stream().map(OrderEventDto::from).toList());
+    return dto;
+  }
+
+  /**
+   * Builds the view from items loaded separately, leaving the order's own collection untouched.
+   */
+  public static OrderDto withItems(Order order, List<OrderItem> items) {
+    return OrderDto.builder()
+        .id(order.getId())
+        .orderNumber(order.getOrderNumber())
+        .userId(order.getUserId())
+        .status(order.getStatus())
+        .totalAmount(order.getTotalAmount())
+        .currency(order.getCurrency())
+        .shippingAddress(order.getShippingAddress())
+        .shippingCity(order.getShippingCity())
+        .shippingCountry(order.getShippingCountry())
+        .billingAddress(order.getBillingAddress())
+        .paymentMethod(order.getPaymentMethod())
+        .paymentStatus(order.getPaymentStatus())
+        .shippingMethod(order.getShippingMethod())
+        .trackingNumber(order.getTrackingNumber())
+        .notes(order.getNotes())
+        .estimatedDeliveryDate(order.getEstimatedDeliveryDate())
+        .actualDeliveryDate(order.getActualDeliveryDate())
+        .createdAt(order.getCreatedAt())
+        .updatedAt(order.getUpdatedAt())
+        .items(items.stream().map(OrderItemDto::from)
+            .collect(Collectors.toCollection(ArrayList::new)))
+        .build();
+  }
+}
@@ -0,0 +1,47 @@
+package com.flagship.order.dto;
+
+import com.flagship.order.model.OrderEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order Event DTO
+ * <p>
+ * Flat view of an {@link OrderEvent} audit entry without the lazy order association.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEventDto {
+
+  private Long id;
+  private OrderEvent.EventType eventType;
+  private String description;
+  private String previousStatus;
+  private String newStatus;
+  private String metadata;
+  private Long userId;
+  private String ipAddress;
+  private String userAgent;
+  private LocalDateTime timestamp;
+
+  public static OrderEventDto from(OrderEvent event) {
+    return OrderEventDto.builder()
+        .id(event.getId())
+        .eventType(event.getEventType())
+        .description(event.getDescription())
+        .previousStatus(event.getPreviousStatus())
+        .newStatus(event.getNewStatus())
+        .metadata(event.getMetadata())
+        .userId(event.getUserId())
+        .ipAddress(event.getIpAddress())
+        .userAgent(event.getUserAgent())
+        .timestamp(event.getTimestamp())
+        .build();
+  }
+}
@@ -0,0 +1,54 @@
+package com.flagship.order.dto;
+
+import com.flagship.order.model.OrderItem;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Order Item DTO
+ * <p>
+ * Flat view of an {@link OrderItem} without the back reference to its order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderItemDto {
+
+  private Long id;
+  private Long productId;
+  private String productName;
+  private String productSku;
+  private Integer quantity;
+  private BigDecimal unitPrice;
+  private BigDecimal totalPrice;
+  private BigDecimal discountAmount;
+  private BigDecimal taxAmount;
+  private String productImageUrl;
+  private String productDescription;
+  private LocalDateTime createdAt;
+  private LocalDateTime updatedAt;
+
+  public static OrderItemDto from(OrderItem item) {
+    return OrderItemDto.builder()
+        .id(item.getId())
+        .productId(item.getProductId())
+        .productName(item.getProductName())
+        .productSku(item.getProductSku())
+        .quantity(item.getQuantity())
+        .unitPrice(item.getUnitPrice())
+        .totalPrice(item.getTotalPrice())
+        .discountAmount(item.getDiscountAmount())
+        .taxAmount(item.getTaxAmount())
+        .productImageUrl(item.getProductImageUrl())
+        .productDescription(item.getProductDescription())
+        .createdAt(item.getCreatedAt())
+        .updatedAt(item.getUpdatedAt())
+        .build();
+  }
+}
@@ -0,0 +1,30 @@
+package com.flagship.order.dto;
+
+import com.flagship.order.model.Order;
+import com.flagship.order.model.OrderHourlyStats;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order Stats DTO
+ * <p>
+ * Dashboard view of the order counters: orders per order and payment status, plus hourly volume
+ * and revenue buckets, oldest first.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatsDto {
+
+  private Map<Order.OrderStatus, Long> statusCounts;
+  private Map<Order.PaymentStatus, Long> paymentStatusCounts;
+  private List<OrderHourlyStats> hourly;
+  private LocalDateTime asOf;
+}
@@ -0,0 +1,30 @@
+package com.flagship.order.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inventory Event
+ * <p>
+ * The part of an inventory-service event that the checkout saga reads. The event type is kept as
+ * a string so inventory types this service does not know about are simply ignored.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryEvent {
+
+  public static final String ORDER_RESERVED = "ORDER_RESERVED";
+  public static final String ORDER_RESERVATION_FAILED = "ORDER_RESERVATION_FAILED";
+
+  private Long productId;
+  private String eventType;
+  private LocalDateTime timestamp;
+  private String metadata;
+  private Long orderId;
+}
@@ -57,7 +57,10 @@ public class OrderEvent {
     ITEM_UPDATED,
     STATUS_CHANGED,
     ADDRESS_UPDATED,
-    TRACKING_UPDATED
+    TRACKING_UPDATED,
+    INVENTORY_RESERVATION_REQUESTED,
+    PAYMENT_REQUESTED,
+    PAYMENT_CANCELLATION_REQUESTED
   }
 
   @Data
@@ -0,0 +1,31 @@
+package com.flagship.order.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payment Event
+ * <p>
+ * The part of a payment-service event that the checkout saga reads. The event type is kept as a
+ * string so payment types this service does not know about are simply ignored.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentEvent {
+
+  public static final String PAYMENT_COMPLETED = "PAYMENT_COMPLETED";
+  public static final String PAYMENT_FAILED = "PAYMENT_FAILED";
+
+  private String paymentId;
+  private Long orderId;
+  private String eventType;
+  private LocalDateTime timestamp;
+  private String status;
+  private String failureReason;
+}
@@ -0,0 +1,51 @@
+package com.flagship.order.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Archived Order Entity
+ * <p>
+ * Cold copy of a finished order. The order, its items and its audit trail are kept as one
+ * gzip-compressed JSON document, so an archived order costs a single narrow row and only the id
+ * and order number are indexed. The live tables no longer hold the order once it is archived.
+ */
+@Entity
+@Table(name = "order_archive")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedOrder {
+
+  @Id
+  @Column(name = "order_id")
+  private Long orderId;
+
+  @Column(name = "order_number", unique = true, nullable = false)
+  private String orderNumber;
+
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false)
+  private Order.OrderStatus status;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "archived_at", nullable = false)
+  private LocalDateTime archivedAt;
+
+  /**
+   * Gzip-compressed JSON of the order with its items and events.
+   */
+  @Column(name = "document", nullable = false, length = 10_485_760)
+  private byte[] document;
+}
@@ -0,0 +1,83 @@
+package com.flagship.order.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Checkout Saga Entity
+ * <p>
+ * Persisted progress of one checkout: which step the order is waiting on and, once it ended, why.
+ * The version guards against a participant reply and the timeout sweep moving the same saga at
+ * once.
+ */
+@Entity
+@Table(name = "checkout_sagas", indexes = {
+    @Index(name = "idx_checkout_saga_state_updated_at", columnList = "state, updatedAt")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutSaga {
+
+  public static final String ID_SEQUENCE = "checkout_sagas_seq";
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
+  private Long id;
+
+  @Column(name = "order_id", unique = true, nullable = false)
+  private Long orderId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "state", nullable = false)
+  private SagaState state;
+
+  @Column(name = "failure_reason")
+  private String failureReason;
+
+  @Version
+  @Column(name = "version", nullable = false)
+  private Long version;
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @UpdateTimestamp
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  public boolean isIn(SagaState expected) {
+    return state == expected;
+  }
+
+  public void advanceTo(SagaState next) {
+    this.state = next;
+    this.updatedAt = LocalDateTime.now();
+  }
+
+  public void fail(String reason) {
+    advanceTo(SagaState.FAILED);
+    this.failureReason = reason;
+  }
+
+  public enum SagaState {
+    RESERVING_INVENTORY,
+    AWAITING_PAYMENT,
+    COMPLETED,
+    FAILED;
+
+    public static final Set<SagaState> ACTIVE = EnumSet.of(RESERVING_INVENTORY, AWAITING_PAYMENT);
+  }
+}
@@ -0,0 +1,25 @@
+package com.flagship.order.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Minor Units Converter
+ * <p>
+ * Maps an amount held in {@link Money} minor units to a scale-2 numeric column.
+ */
+@Converter
+public class MinorUnitsConverter implements AttributeConverter<Long, BigDecimal> {
+
+  @Override
+  public BigDecimal convertToDatabaseColumn(Long minorUnits) {
+    return minorUnits != null ? Money.toAmount(minorUnits) : null;
+  }
+
+  @Override
+  public Long convertToEntityAttribute(BigDecimal amount) {
+    return Money.toMinorUnits(amount);
+  }
+}
@@ -0,0 +1,120 @@
+package com.flagship.order.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Money
+ * <p>
+ * A fixed-point amount in {@code long} minor units (hundredths, the scale of every amount column)
+ * together with its currency. Adding or subtracting amounts in different currencies fails, and so
+ * does overflow, instead of wrapping.
+ * <p>
+ * Order and item fields hold the bare minor units, and unit prices millionths, so an item total is
+ * multiplied out before it is rounded to a minor unit; the order's currency applies to all of
+ * them, and {@link Order#getTotal()} hands the total out as a {@code Money}. The static helpers
+ * convert to {@link BigDecimal} only at the columns ({@link MinorUnitsConverter},
+ * {@link PriceUnitsConverter}, each at the scale the value is held in) and the API accessors.
+ */
+public record Money(long minorUnits, String currency) {
+
+  public static final int SCALE = 2;
+  public static final int PRICE_SCALE = 6;
+
+  private static final long PRICE_UNITS_PER_MINOR_UNIT = 10_000;
+
+  public Money {
+    Objects.requireNonNull(currency, "currency");
+  }
+
+  public static Money zero(String currency) {
+    return new Money(0, currency);
+  }
+
+  public static Money of(BigDecimal amount, String currency) {
+    return new Money(toMinorUnits(amount), currency);
+  }
+
+  /**
+   * @throws IllegalArgumentException when the currencies differ
+   */
+  public Money plus(Money other) {
+    requireSameCurrency(currency, other.currency);
+    return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+  }
+
+  /**
+   * @throws IllegalArgumentException when the currencies differ
+   */
+  public Money minus(Money other) {
+    requireSameCurrency(currency, other.currency);
+    return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+  }
+
+  public BigDecimal amount() {
+    return toAmount(minorUnits);
+  }
+
+  /**
+   * Minor units of an amount, rounding half up beyond two decimals. A missing amount is zero.
+   */
+  public static long toMinorUnits(BigDecimal amount) {
+    return toUnits(amount, SCALE);
+  }
+
+  public static BigDecimal toAmount(long minorUnits) {
+    return BigDecimal.valueOf(minorUnits, SCALE);
+  }
+
+  /**
+   * Price units (millionths) of a unit price, rounding half up beyond six decimals. A missing
+   * price is zero.
+   */
+  public static long toPriceUnits(BigDecimal price) {
+    return toUnits(price, PRICE_SCALE);
+  }
+
+  /**
+   * A unit price at the amount scale when it has no fraction of a minor unit, as every price read
+   * from the database does.
+   */
+  public static BigDecimal toPrice(long priceUnits) {
+    return priceUnits % PRICE_UNITS_PER_MINOR_UNIT == 0
+        ? toAmount(priceUnits / PRICE_UNITS_PER_MINOR_UNIT)
+        : BigDecimal.valueOf(priceUnits, PRICE_SCALE);
+  }
+
+  /**
+   * Guards arithmetic on amounts held as bare minor units.
+   *
+   * @throws IllegalArgumentException when the currencies differ
+   */
+  public static void requireSameCurrency(String currency, String otherCurrency) {
+    if (currency != null && !currency.equals(otherCurrency)) {
+      throw new IllegalArgumentException(
+          "Cannot combine amounts in " + currency + " and " + otherCurrency);
+    }
+  }
+
+  /**
+   * Unit price times quantity in minor units, rounded half up once after multiplying.
+   */
+  public static long times(long priceUnits, long quantity) {
+    long product = Math.multiplyExact(priceUnits, quantity);
+    long half = PRICE_UNITS_PER_MINOR_UNIT / 2;
+    return product >= 0
+        ? (product + half) / PRICE_UNITS_PER_MINOR_UNIT
+        : -((half - product) / PRICE_UNITS_PER_MINOR_UNIT);
+  }
+
+  private static long toUnits(BigDecimal amount, int scale) {
+    if (amount == null) {
+      return 0;
+    }
+    if (amount.scale() == scale) {
+      return amount.unscaledValue().longValueExact();
+    }
+    return amount.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+  }
+}
@@ -0,0 +1,37 @@
+package com.flagship.order.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One-Off Job Entity
+ * <p>
+ * Marker for a data migration that must only run once per database: which instance-independent
+ * job it is, when an instance last claimed it and when it completed.
+ */
+@Entity
+@Table(name = "one_off_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OneOffJob {
+
+  @Id
+  @Column(name = "name", length = 100)
+  private String name;
+
+  @Column(name = "claimed_at")
+  private LocalDateTime claimedAt;
+
+  @Column(name = "completed_at")
+  private LocalDateTime completedAt;
+}
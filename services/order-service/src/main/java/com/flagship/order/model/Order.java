@@ -1,5 +1,6 @@
 package com.flagship.order.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -15,6 +16,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Order Entity
@@ -23,10 +25,14 @@ import java.util.List;
  * from creation to completion.
  */
 @Entity
+@NamedEntityGraph(name = Order.WITH_ITEMS, attributeNodes = @NamedAttributeNode("items"))
 @Table(name = "orders", indexes = {
     @Index(name = "idx_order_user_id", columnList = "userId"),
     @Index(name = "idx_order_status", columnList = "status"),
-    @Index(name = "idx_order_created_at", columnList = "createdAt")
+    @Index(name = "idx_order_status_updated_at", columnList = "status, updatedAt"),
+    @Index(name = "idx_order_created_at_id", columnList = "createdAt, id"),
+    @Index(name = "idx_order_shipping_location",
+        columnList = "shippingCountry, shippingCity, createdAt")
 })
 @Data
 @Builder
@@ -34,8 +40,16 @@ import java.util.List;
 @AllArgsConstructor
 public class Order {
 
+  public static final String ID_SEQUENCE = "orders_seq";
+
+  /**
+   * Fetch plan for order views: the order and its items in one query, never the audit events.
+   */
+  public static final String WITH_ITEMS = "Order.withItems";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
   private Long id;
 
   @Column(name = "order_number", unique = true, nullable = false)
@@ -51,10 +65,13 @@ public class Order {
   @Builder.Default
   private OrderStatus status = OrderStatus.PENDING;
 
+  /**
+   * In {@link Money} minor units, read and written as {@link BigDecimal} through its accessors.
+   */
   @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
-  @NotNull(message = "Total amount is required")
+  @Convert(converter = MinorUnitsConverter.class)
   @Positive(message = "Total amount must be positive")
-  private BigDecimal totalAmount;
+  private long totalAmount;
 
   @Column(name = "currency", nullable = false)
   @NotBlank(message = "Currency is required")
@@ -64,6 +81,17 @@ public class Order {
   @Column(name = "shipping_address", columnDefinition = "TEXT")
   private String shippingAddress;
 
+  /**
+   * Normalized city and country of the shipping address (see {@link ShippingLocation}), filled
+   * from the address when the order is written unless given explicitly, and again after the
+   * address changes.
+   */
+  @Column(name = "shipping_city")
+  private String shippingCity;
+
+  @Column(name = "shipping_country", length = 64)
+  private String shippingCountry;
+
   @Column(name = "billing_address", columnDefinition = "TEXT")
   private String billingAddress;
 
@@ -90,6 +118,11 @@ public class Order {
   @Column(name = "actual_delivery_date")
   private LocalDateTime actualDeliveryDate;
 
+  @JsonIgnore
+  @Version
+  @Column(name = "version", columnDefinition = "bigint default 0 not null")
+  private Long version;
+
   @CreationTimestamp
   @Column(name = "created_at", nullable = false, updatable = false)
   private LocalDateTime createdAt;
@@ -107,6 +140,10 @@ public class Order {
   private List<OrderEvent> events = new ArrayList<>();
 
   public void addItem(OrderItem item) {
+    if (item.getOrder() != null && item.getOrder() != this) {
+      // The item's amounts are in the currency of the order it came from
+      Money.requireSameCurrency(item.getOrder().getCurrency(), currency);
+    }
     items.add(item);
     item.setOrder(this);
     recalculateTotal();
@@ -119,14 +156,49 @@ public class Order {
   }
 
   public void recalculateTotal() {
-    this.totalAmount = items.stream()
-        .map(OrderItem::getTotalPrice)
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
+    long total = 0;
+    for (OrderItem item : items) {
+      total = Math.addExact(total, item.getTotalPriceMinorUnits());
+    }
+    this.totalAmount = total;
+  }
+
+  public BigDecimal getTotalAmount() {
+    return Money.toAmount(totalAmount);
+  }
+
+  public void setTotalAmount(BigDecimal totalAmount) {
+    this.totalAmount = Money.toMinorUnits(totalAmount);
+  }
+
+  @JsonIgnore
+  public long getTotalAmountMinorUnits() {
+    return totalAmount;
+  }
+
+  @JsonIgnore
+  public Money getTotal() {
+    return new Money(totalAmount, currency);
+  }
+
+  /**
+   * Moves the order to {@code newStatus}, if {@link OrderStatus#canTransitionTo} allows it.
+   *
+   * @throws IllegalStateException when the current status may not change to {@code newStatus}
+   */
+  public void transitionTo(OrderStatus newStatus) {
+    if (!status.canTransitionTo(newStatus)) {
+      throw new IllegalStateException("Cannot change status from " + status + " to " + newStatus);
+    }
+    updateStatus(newStatus);
   }
 
   public void updateStatus(OrderStatus newStatus) {
     this.status = newStatus;
     this.updatedAt = LocalDateTime.now();
+    if (newStatus == OrderStatus.DELIVERED && actualDeliveryDate == null) {
+      this.actualDeliveryDate = updatedAt;
+    }
   }
 
   public void updatePaymentStatus(PaymentStatus newStatus) {
@@ -134,6 +206,31 @@ public class Order {
     this.updatedAt = LocalDateTime.now();
   }
 
+  /**
+   * Changing the address drops the city and country read from the previous one, so they are parsed
+   * again when the order is written unless they are set explicitly as well.
+   */
+  public void setShippingAddress(String shippingAddress) {
+    if (!Objects.equals(this.shippingAddress, shippingAddress)) {
+      this.shippingCity = null;
+      this.shippingCountry = null;
+    }
+    this.shippingAddress = shippingAddress;
+  }
+
+  @PrePersist
+  @PreUpdate
+  public void applyShippingLocation() {
+    if (shippingCity == null && shippingCountry == null) {
+      ShippingLocation location = ShippingLocation.parse(shippingAddress);
+      shippingCity = location.city();
+      shippingCountry = location.country();
+    } else {
+      shippingCity = ShippingLocation.normalizeCity(shippingCity);
+      shippingCountry = ShippingLocation.normalizeCountry(shippingCountry);
+    }
+  }
+
   public boolean canBeCancelled() {
     return status == OrderStatus.PENDING || status == OrderStatus.CONFIRMED;
   }
@@ -153,7 +250,22 @@ public class Order {
     SHIPPED,
     DELIVERED,
     CANCELLED,
-    REFUNDED
+    REFUNDED;
+
+    /**
+     * Whether an order in this status may be moved to {@code next}. Enforced for every status
+     * change requested through the API, one order at a time or in bulk.
+     */
+    public boolean canTransitionTo(OrderStatus next) {
+      return switch (this) {
+        case PENDING -> next == CONFIRMED || next == CANCELLED;
+        case CONFIRMED -> next == PROCESSING || next == SHIPPED || next == CANCELLED;
+        case PROCESSING -> next == SHIPPED;
+        case SHIPPED -> next == DELIVERED;
+        case DELIVERED -> next == REFUNDED;
+        case CANCELLED, REFUNDED -> false;
+      };
+    }
   }
 
   public enum PaymentStatus {
@@ -163,4 +275,12 @@ public class Order {
     REFUNDED,
     PARTIALLY_REFUNDED
   }
+
+  public static class OrderBuilder {
+
+    public OrderBuilder totalAmount(BigDecimal totalAmount) {
+      this.totalAmount = Money.toMinorUnits(totalAmount);
+      return this;
+    }
+  }
 }
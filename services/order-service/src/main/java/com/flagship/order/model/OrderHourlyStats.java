@@ -0,0 +1,53 @@
+package com.flagship.order.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Order Hourly Stats Entity
+ * <p>
+ * Order volume and revenue for one hour and currency. Orders count towards the hour they were
+ * placed in, payments towards the hour they were marked paid.
+ */
+@Entity
+@Table(name = "order_hourly_stats", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_order_hourly_stats_bucket",
+        columnNames = {"bucket_start", "currency"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderHourlyStats {
+
+  public static final String ID_SEQUENCE = "order_hourly_stats_seq";
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
+  private Long id;
+
+  @Column(name = "bucket_start", nullable = false)
+  private LocalDateTime bucketStart;
+
+  @Column(name = "currency", nullable = false)
+  private String currency;
+
+  @Column(name = "orders_placed", nullable = false)
+  private long ordersPlaced;
+
+  @Column(name = "placed_amount", precision = 14, scale = 2, nullable = false)
+  private BigDecimal placedAmount;
+
+  @Column(name = "orders_paid", nullable = false)
+  private long ordersPaid;
+
+  @Column(name = "paid_amount", precision = 14, scale = 2, nullable = false)
+  private BigDecimal paidAmount;
+}
@@ -1,5 +1,6 @@
 package com.flagship.order.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -31,8 +32,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class OrderItem {
 
+  public static final String ID_SEQUENCE = "order_items_seq";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -55,23 +59,27 @@ public class OrderItem {
   @Positive(message = "Quantity must be positive")
   private Integer quantity;
 
-  @Column(name = "unit_price", nullable = false, precision = 10, scale = 2)
-  @NotNull(message = "Unit price is required")
+  /**
+   * In {@link Money} price units; the amounts below are in minor units. All four are read and
+   * written as {@link BigDecimal} through their accessors.
+   */
+  @Column(name = "unit_price", nullable = false, precision = 14, scale = Money.PRICE_SCALE)
+  @Convert(converter = PriceUnitsConverter.class)
   @Positive(message = "Unit price must be positive")
-  private BigDecimal unitPrice;
+  private long unitPrice;
 
   @Column(name = "total_price", nullable = false, precision = 10, scale = 2)
-  @NotNull(message = "Total price is required")
+  @Convert(converter = MinorUnitsConverter.class)
   @Positive(message = "Total price must be positive")
-  private BigDecimal totalPrice;
+  private long totalPrice;
 
   @Column(name = "discount_amount", precision = 10, scale = 2)
-  @Builder.Default
-  private BigDecimal discountAmount = BigDecimal.ZERO;
+  @Convert(converter = MinorUnitsConverter.class)
+  private long discountAmount;
 
   @Column(name = "tax_amount", precision = 10, scale = 2)
-  @Builder.Default
-  private BigDecimal taxAmount = BigDecimal.ZERO;
+  @Convert(converter = MinorUnitsConverter.class)
+  private long taxAmount;
 
   @Column(name = "product_image_url")
   private String productImageUrl;
@@ -87,14 +95,44 @@ public class OrderItem {
   @Column(name = "updated_at", nullable = false)
   private LocalDateTime updatedAt;
 
+  /**
+   * Unit price times quantity, less discount, plus tax. The product is rounded once, to minor
+   * units; a missing quantity counts as zero, so the total stays defined while the item is being
+   * populated.
+   */
   public BigDecimal calculateTotalPrice() {
-    BigDecimal baseTotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
-    BigDecimal afterDiscount = baseTotal.subtract(discountAmount);
-    return afterDiscount.add(taxAmount);
+    return Money.toAmount(calculateTotalMinorUnits());
   }
 
+  /**
+   * Recomputes this item's total and, once the item belongs to an order, the order's total.
+   */
   public void updateTotalPrice() {
-    this.totalPrice = calculateTotalPrice();
+    this.totalPrice = calculateTotalMinorUnits();
+    if (order != null) {
+      order.recalculateTotal();
+    }
+  }
+
+  @JsonIgnore
+  public long getTotalPriceMinorUnits() {
+    return totalPrice;
+  }
+
+  public BigDecimal getUnitPrice() {
+    return Money.toPrice(unitPrice);
+  }
+
+  public BigDecimal getTotalPrice() {
+    return Money.toAmount(totalPrice);
+  }
+
+  public BigDecimal getDiscountAmount() {
+    return Money.toAmount(discountAmount);
+  }
+
+  public BigDecimal getTaxAmount() {
+    return Money.toAmount(taxAmount);
   }
 
   public void setQuantity(Integer quantity) {
@@ -103,17 +141,49 @@ public class OrderItem {
   }
 
   public void setUnitPrice(BigDecimal unitPrice) {
-    this.unitPrice = unitPrice;
+    this.unitPrice = Money.toPriceUnits(unitPrice);
     updateTotalPrice();
   }
 
+  public void setTotalPrice(BigDecimal totalPrice) {
+    this.totalPrice = Money.toMinorUnits(totalPrice);
+  }
+
   public void setDiscountAmount(BigDecimal discountAmount) {
-    this.discountAmount = discountAmount;
+    this.discountAmount = Money.toMinorUnits(discountAmount);
     updateTotalPrice();
   }
 
   public void setTaxAmount(BigDecimal taxAmount) {
-    this.taxAmount = taxAmount;
+    this.taxAmount = Money.toMinorUnits(taxAmount);
     updateTotalPrice();
   }
+
+  private long calculateTotalMinorUnits() {
+    long subtotal = Money.times(unitPrice, quantity != null ? quantity : 0);
+    return Math.addExact(Math.subtractExact(subtotal, discountAmount), taxAmount);
+  }
+
+  public static class OrderItemBuilder {
+
+    public OrderItemBuilder unitPrice(BigDecimal unitPrice) {
+      this.unitPrice = Money.toPriceUnits(unitPrice);
+      return this;
+    }
+
+    public OrderItemBuilder totalPrice(BigDecimal totalPrice) {
+      this.totalPrice = Money.toMinorUnits(totalPrice);
+      return this;
+    }
+
+    public OrderItemBuilder discountAmount(BigDecimal discountAmount) {
+      this.discountAmount = Money.toMinorUnits(discountAmount);
+      return this;
+    }
+
+    public OrderItemBuilder taxAmount(BigDecimal taxAmount) {
+      this.taxAmount = Money.toMinorUnits(taxAmount);
+      return this;
+    }
+  }
 }
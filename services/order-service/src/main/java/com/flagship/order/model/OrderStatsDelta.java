@@ -0,0 +1,57 @@
+package com.flagship.order.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order Stats Delta Entity
+ * <p>
+ * One pending change to the order stats, written in the same transaction as the order change it
+ * describes and later folded into {@link OrderStatusCount} or {@link OrderHourlyStats}. A row
+ * either moves a status counter ({@code counterKey}) or adds to an hourly bucket
+ * ({@code bucketStart}); amounts are in minor units.
+ */
+@Entity
+@Table(name = "order_stats_deltas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatsDelta {
+
+  public static final String ID_SEQUENCE = "order_stats_deltas_seq";
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
+  private Long id;
+
+  @Column(name = "counter_key")
+  private String counterKey;
+
+  @Column(name = "count_delta", nullable = false)
+  private long countDelta;
+
+  @Column(name = "bucket_start")
+  private LocalDateTime bucketStart;
+
+  @Column(name = "currency")
+  private String currency;
+
+  @Column(name = "orders_placed", nullable = false)
+  private long ordersPlaced;
+
+  @Column(name = "placed_minor_units", nullable = false)
+  private long placedMinorUnits;
+
+  @Column(name = "orders_paid", nullable = false)
+  private long ordersPaid;
+
+  @Column(name = "paid_minor_units", nullable = false)
+  private long paidMinorUnits;
+}
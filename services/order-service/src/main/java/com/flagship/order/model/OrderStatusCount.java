@@ -0,0 +1,51 @@
+package com.flagship.order.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order Status Count Entity
+ * <p>
+ * Running number of orders in one order or payment status. Rows are moved by deltas as orders
+ * change status rather than recounted, so reading them never touches the orders table. The key
+ * combines the dimension and the status, e.g. {@code ORDER_STATUS:PENDING}.
+ */
+@Entity
+@Table(name = "order_status_counts")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusCount {
+
+  @Id
+  @Column(name = "counter_key")
+  private String counterKey;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "dimension", nullable = false)
+  private Dimension dimension;
+
+  @Column(name = "status", nullable = false)
+  private String status;
+
+  @Column(name = "total", nullable = false)
+  private long total;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  public static String keyOf(Dimension dimension, String status) {
+    return dimension + ":" + status;
+  }
+
+  public enum Dimension {
+    ORDER_STATUS,
+    PAYMENT_STATUS
+  }
+}
@@ -0,0 +1,26 @@
+package com.flagship.order.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Price Units Converter
+ * <p>
+ * Maps a unit price held in {@link Money} price units to a numeric column of the same scale, so a
+ * reloaded item has the exact price its total was computed from.
+ */
+@Converter
+public class PriceUnitsConverter implements AttributeConverter<Long, BigDecimal> {
+
+  @Override
+  public BigDecimal convertToDatabaseColumn(Long priceUnits) {
+    return priceUnits != null ? BigDecimal.valueOf(priceUnits, Money.PRICE_SCALE) : null;
+  }
+
+  @Override
+  public Long convertToEntityAttribute(BigDecimal price) {
+    return Money.toPriceUnits(price);
+  }
+}
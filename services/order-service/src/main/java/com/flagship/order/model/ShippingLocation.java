@@ -0,0 +1,126 @@
+package com.flagship.order.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Shipping Location
+ * <p>
+ * City and country of a shipping address in the normalized form they are stored and looked up in:
+ * countries as ISO 3166 alpha-2 codes where the name or code is recognized (upper-cased
+ * otherwise), cities trimmed and lower-cased. Free-text addresses are read as comma or line
+ * separated parts ending in the country, e.g. {@code "1 Main St, Springfield, IL 62701, USA"}; an
+ * address without separators only yields a country it ends in.
+ */
+public record ShippingLocation(String city, String country) {
+
+  private static final Map<String, String> COUNTRY_CODES = countryCodes();
+  private static final int MAX_COUNTRY_WORDS = 4;
+
+  /**
+   * Best-effort parse of a free-text address. The last part is the country; the city is the
+   * nearest part before it once postal codes are dropped, skipping two-letter state codes.
+   */
+  public static ShippingLocation parse(String address) {
+    if (address == null || address.isBlank()) {
+      return new ShippingLocation(null, null);
+    }
+
+    String[] parts = address.split("[,\\n]");
+    int last = parts.length - 1;
+    while (last >= 0 && parts[last].isBlank()) {
+      last--;
+    }
+    if (last < 0) {
+      return new ShippingLocation(null, null);
+    }
+    if (last == 0) {
+      // Without separators only a recognized country name at the end can be told apart
+      return new ShippingLocation(null, trailingCountry(parts[0]));
+    }
+
+    String city = null;
+    for (int i = last - 1; i >= 0; i--) {
+      String candidate = withoutPostalCode(parts[i]);
+      if (candidate.isEmpty() || isStateCode(candidate)) {
+        continue;
+      }
+      // The first part is usually the street; only trust it when it carries no house number
+      if (i > 0 || parts[i].chars().noneMatch(Character::isDigit)) {
+        city = candidate;
+      }
+      break;
+    }
+    return new ShippingLocation(normalizeCity(city),
+        normalizeCountry(withoutPostalCode(parts[last])));
+  }
+
+  public static String normalizeCity(String city) {
+    if (city == null || city.isBlank()) {
+      return null;
+    }
+    return city.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+  }
+
+  public static String normalizeCountry(String country) {
+    if (country == null || country.isBlank()) {
+      return null;
+    }
+    // Dots count as spaces, so "U.S.A." matches "U S A"
+    String key = country.replaceAll("[\\s.]+", " ").strip().toUpperCase(Locale.ROOT);
+    return COUNTRY_CODES.getOrDefault(key, key);
+  }
+
+  private static String withoutPostalCode(String part) {
+    StringBuilder words = new StringBuilder();
+    for (String word : part.strip().split("\\s+")) {
+      if (!word.isEmpty() && word.chars().noneMatch(Character::isDigit)) {
+        if (!words.isEmpty()) {
+          words.append(' ');
+        }
+        words.append(word);
+      }
+    }
+    return words.toString();
+  }
+
+  /**
+   * Country code of the longest run of trailing words that names a country, leaving at least one
+   * word for the street. Two-letter codes are not matched, they are as likely state codes.
+   */
+  private static String trailingCountry(String part) {
+    String[] words = withoutPostalCode(part).replace(".", "").toUpperCase(Locale.ROOT).split(" ");
+    for (int n = Math.min(MAX_COUNTRY_WORDS, words.length - 1); n >= 1; n--) {
+      String candidate = String.join(" ",
+          Arrays.copyOfRange(words, words.length - n, words.length));
+      if (candidate.length() > 2 && COUNTRY_CODES.containsKey(candidate)) {
+        return COUNTRY_CODES.get(candidate);
+      }
+    }
+    return null;
+  }
+
+  private static boolean isStateCode(String part) {
+    return part.length() == 2 && part.chars().allMatch(Character::isUpperCase);
+  }
+
+  private static Map<String, String> countryCodes() {
+    Map<String, String> codes = new HashMap<>();
+    for (String code : Locale.getISOCountries()) {
+      Locale locale = Locale.of("", code);
+      codes.put(code, code);
+      codes.put(locale.getISO3Country(), code);
+      codes.put(locale.getDisplayCountry(Locale.ENGLISH).toUpperCase(Locale.ROOT), code);
+    }
+    codes.put("USA", "US");
+    codes.put("U S A", "US");
+    codes.put("U S", "US");
+    codes.put("UNITED STATES OF AMERICA", "US");
+    codes.put("UK", "GB");
+    codes.put("GREAT BRITAIN", "GB");
+    codes.put("ENGLAND", "GB");
+    return Map.copyOf(codes);
+  }
+}
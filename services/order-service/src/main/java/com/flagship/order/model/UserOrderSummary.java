@@ -0,0 +1,70 @@
+package com.flagship.order.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * User Order Summary Entity
+ * <p>
+ * Read model behind a user's order history: one flat row per order, keyed by the order id and
+ * maintained from order events rather than by the write path. Rows are listed newest first by
+ * (placedAt, orderId), which the user index serves without touching the orders table.
+ */
+@Entity
+@Table(name = "user_order_summaries", indexes = {
+    @Index(name = "idx_user_order_summary_user_placed_at", columnList = "userId, placedAt, orderId")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserOrderSummary {
+
+  @Id
+  @Column(name = "order_id")
+  private Long orderId;
+
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  @Column(name = "order_number", nullable = false)
+  private String orderNumber;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false)
+  private Order.OrderStatus status;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "payment_status")
+  private Order.PaymentStatus paymentStatus;
+
+  @Column(name = "total_amount", precision = 10, scale = 2)
+  private BigDecimal totalAmount;
+
+  @Column(name = "currency")
+  private String currency;
+
+  @Column(name = "tracking_number")
+  private String trackingNumber;
+
+  @Column(name = "placed_at", nullable = false)
+  private LocalDateTime placedAt;
+
+  /**
+   * When the order last changed, as of the latest refresh of this summary.
+   */
+  @Column(name = "last_event_at", nullable = false)
+  private LocalDateTime lastEventAt;
+
+  @JsonIgnore
+  @Version
+  @Column(name = "version", nullable = false)
+  private Long version;
+}
@@ -0,0 +1,18 @@
+package com.flagship.order.repository;
+
+import com.flagship.order.model.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Archived Order Repository
+ * <p>
+ * Data access layer for the order archive. Lookups are by order id or order number only.
+ */
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+  Optional<ArchivedOrder> findByOrderNumber(String orderNumber);
+}
@@ -0,0 +1,49 @@
+package com.flagship.order.repository;
+
+import com.flagship.order.model.CheckoutSaga;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Checkout Saga Repository
+ * <p>
+ * Data access layer for checkout saga state.
+ */
+@Repository
+public interface CheckoutSagaRepository extends JpaRepository<CheckoutSaga, Long> {
+
+  Optional<CheckoutSaga> findByOrderId(Long orderId);
+
+  /**
+   * Ids of the longest stalled sagas in the given states, for the timeout sweep.
+   */
+  @Query("SELECT s.id FROM CheckoutSaga s WHERE s.state IN :states "
+      + "AND s.updatedAt < :updatedBefore ORDER BY s.updatedAt")
+  List<Long> findStalledIds(@Param("states") Collection<CheckoutSaga.SagaState> states,
+      @Param("updatedBefore") LocalDateTime updatedBefore, Pageable pageable);
+
+  /**
+   * Locks one saga for the timeout sweep while it is still stalled. A saga another instance or a
+   * reply is holding is skipped, and a saga changed while it was being locked is re-checked
+   * against the conditions.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("SELECT s FROM CheckoutSaga s WHERE s.id = :id AND s.state IN :states "
+      + "AND s.updatedAt < :updatedBefore")
+  Optional<CheckoutSaga> lockStalled(@Param("id") Long id,
+      @Param("states") Collection<CheckoutSaga.SagaState> states,
+      @Param("updatedBefore") LocalDateTime updatedBefore);
+}
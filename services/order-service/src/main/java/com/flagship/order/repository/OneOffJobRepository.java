@@ -0,0 +1,46 @@
+package com.flagship.order.repository;
+
+import com.flagship.order.model.OneOffJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * One-Off Job Repository
+ * <p>
+ * Data access layer for one-off job markers. Claims are single conditional statements, so two
+ * instances starting together cannot both claim a job.
+ */
+@Repository
+public interface OneOffJobRepository extends JpaRepository<OneOffJob, String> {
+
+  /**
+   * Creates the marker for a job that has never run; fails with a key violation when it exists.
+   */
+  @Modifying
+  @Query(value = "INSERT INTO one_off_jobs (name, claimed_at) VALUES (:name, :now)",
+      nativeQuery = true)
+  int insertClaim(@Param("name") String name, @Param("now") LocalDateTime now);
+
+  /**
+   * Claims a job that has not completed and is not claimed, or whose claim is older than
+   * {@code staleBefore}.
+   */
+  @Modifying
+  @Query("UPDATE OneOffJob j SET j.claimedAt = :now WHERE j.name = :name " +
+      "AND j.completedAt IS NULL AND (j.claimedAt IS NULL OR j.claimedAt < :staleBefore)")
+  int reclaim(@Param("name") String name, @Param("now") LocalDateTime now,
+      @Param("staleBefore") LocalDateTime staleBefore);
+
+  @Modifying
+  @Query("UPDATE OneOffJob j SET j.claimedAt = NULL WHERE j.name = :name")
+  int releaseClaim(@Param("name") String name);
+
+  @Modifying
+  @Query("UPDATE OneOffJob j SET j.completedAt = :now WHERE j.name = :name")
+  int markCompleted(@Param("name") String name, @Param("now") LocalDateTime now);
+}
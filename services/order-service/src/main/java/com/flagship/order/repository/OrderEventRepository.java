@@ -3,11 +3,13 @@ package com.flagship.order.repository;
 import com.flagship.order.model.OrderEvent;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -29,6 +31,12 @@ public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
 
   List<OrderEvent> findByOrderIdOrderByTimestampDesc(Long orderId, Pageable pageable);
 
+  List<OrderEvent> findByOrderIdInOrderByTimestampDesc(Collection<Long> orderIds);
+
+  @Modifying
+  @Query("DELETE FROM OrderEvent oe WHERE oe.order.id IN :orderIds")
+  int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
   List<OrderEvent> findByEventTypeOrderByTimestampDesc(OrderEvent.EventType eventType);
 
   List<OrderEvent> findByUserIdOrderByTimestampDesc(Long userId);
@@ -0,0 +1,36 @@
+package com.flagship.order.repository;
+
+import com.flagship.order.model.OrderHourlyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Order Hourly Stats Repository
+ * <p>
+ * Data access layer for hourly order volume and revenue buckets.
+ */
+@Repository
+public interface OrderHourlyStatsRepository extends JpaRepository<OrderHourlyStats, Long> {
+
+  List<OrderHourlyStats> findByBucketStartGreaterThanEqualOrderByBucketStartAscCurrencyAsc(
+      LocalDateTime from);
+
+  @Modifying
+  @Query("UPDATE OrderHourlyStats s SET s.ordersPlaced = s.ordersPlaced + :ordersPlaced, " +
+      "s.placedAmount = s.placedAmount + :placedAmount, s.ordersPaid = s.ordersPaid + :ordersPaid, " +
+      "s.paidAmount = s.paidAmount + :paidAmount " +
+      "WHERE s.bucketStart = :bucketStart AND s.currency = :currency")
+  int increment(@Param("bucketStart") LocalDateTime bucketStart,
+      @Param("currency") String currency,
+      @Param("ordersPlaced") long ordersPlaced,
+      @Param("placedAmount") BigDecimal placedAmount,
+      @Param("ordersPaid") long ordersPaid,
+      @Param("paidAmount") BigDecimal paidAmount);
+}
@@ -0,0 +1,26 @@
+package com.flagship.order.repository;
+
+import com.flagship.order.model.OrderItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Order Item Repository
+ * <p>
+ * Data access layer for OrderItem entities, used where items of many orders are loaded at once.
+ */
+@Repository
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+  List<OrderItem> findByOrderIdInOrderByIdAsc(Collection<Long> orderIds);
+
+  @Modifying
+  @Query("DELETE FROM OrderItem i WHERE i.order.id IN :orderIds")
+  int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+}
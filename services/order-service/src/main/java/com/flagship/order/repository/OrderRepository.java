@@ -1,16 +1,24 @@
 package com.flagship.order.repository;
 
 import com.flagship.order.model.Order;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Order Repository
@@ -22,6 +30,44 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
   Optional<Order> findByOrderNumber(String orderNumber);
 
+  @EntityGraph(Order.WITH_ITEMS)
+  Optional<Order> findWithItemsById(Long id);
+
+  @EntityGraph(Order.WITH_ITEMS)
+  Optional<Order> findWithItemsByOrderNumber(String orderNumber);
+
+  /**
+   * Loads orders picked by id together with their items. Row limits and collection fetching
+   * cannot share one query, so list views select a page of ids first.
+   */
+  @EntityGraph(Order.WITH_ITEMS)
+  List<Order> findWithItemsByIdIn(Collection<Long> ids);
+
+  @Query("SELECT o.id FROM Order o ORDER BY o.createdAt DESC, o.id DESC")
+  List<Long> findFirstPageIds(Pageable pageable);
+
+  @Query("SELECT o.id FROM Order o WHERE o.createdAt < :cursorTimestamp OR " +
+      "(o.createdAt = :cursorTimestamp AND o.id < :cursorId) " +
+      "ORDER BY o.createdAt DESC, o.id DESC")
+  List<Long> findPageIdsAfter(@Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+      @Param("cursorId") Long cursorId,
+      Pageable pageable);
+
+  @EntityGraph(Order.WITH_ITEMS)
+  List<Order> findWithItemsByStatusOrderByCreatedAtDesc(Order.OrderStatus status);
+
+  @EntityGraph(Order.WITH_ITEMS)
+  List<Order> findWithItemsByCreatedAtBetweenOrderByCreatedAtDesc(LocalDateTime startDate,
+      LocalDateTime endDate);
+
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("SELECT o FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate ORDER BY o.createdAt DESC, o.id DESC")
+  Stream<Order> streamByCreatedAtBetween(@Param("startDate") LocalDateTime startDate,
+      @Param("endDate") LocalDateTime endDate);
+
   List<Order> findByUserIdOrderByCreatedAtDesc(Long userId);
   
   Page<Order> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
@@ -65,21 +111,62 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
   @Query("SELECT COUNT(o) FROM Order o WHERE o.paymentStatus = :paymentStatus")
   long countByPaymentStatus(@Param("paymentStatus") Order.PaymentStatus paymentStatus);
 
+  /**
+   * Locks the given orders, in id order, for a bulk status transition.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT o FROM Order o WHERE o.id IN :ids ORDER BY o.id")
+  List<Order> findAllForUpdateByIdIn(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Locks the oldest finished orders last changed before the cutoff, for the archival job. Orders
+   * another instance has locked are skipped, and an order changed while it was being locked is
+   * re-checked against the conditions.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("SELECT o FROM Order o WHERE o.status IN :statuses AND o.updatedAt < :cutoff ORDER BY o.id")
+  List<Order> lockArchivable(@Param("statuses") Collection<Order.OrderStatus> statuses,
+      @Param("cutoff") LocalDateTime cutoff,
+      Pageable pageable);
+
+  @Query("SELECT o.status, COUNT(o) FROM Order o GROUP BY o.status")
+  List<Object[]> countGroupedByStatus();
+
+  @Query("SELECT o.paymentStatus, COUNT(o) FROM Order o GROUP BY o.paymentStatus")
+  List<Object[]> countGroupedByPaymentStatus();
+
   @Query("SELECT o FROM Order o WHERE o.userId = :userId AND o.createdAt BETWEEN :startDate AND :endDate ORDER BY o.createdAt DESC")
   List<Order> findByUserIdAndCreatedAtBetweenOrderByCreatedAtDesc(@Param("userId") Long userId,
       @Param("startDate") LocalDateTime startDate,
       @Param("endDate") LocalDateTime endDate);
 
+  /**
+   * Amounts are in {@link com.flagship.order.model.Money} minor units, like the mapped column.
+   */
   @Query("SELECT o FROM Order o WHERE o.totalAmount BETWEEN :minAmount AND :maxAmount AND o.status = :status ORDER BY o.createdAt DESC")
   List<Order> findByTotalAmountBetweenAndStatusOrderByCreatedAtDesc(
-      @Param("minAmount") java.math.BigDecimal minAmount,
-      @Param("maxAmount") java.math.BigDecimal maxAmount,
+      @Param("minAmount") long minAmount,
+      @Param("maxAmount") long maxAmount,
       @Param("status") Order.OrderStatus status);
 
-  @Query("SELECT o FROM Order o WHERE LOWER(o.shippingAddress) LIKE LOWER(CONCAT('%', :city, '%')) ORDER BY o.createdAt DESC")
-  List<Order> findByShippingAddressContainingCityOrderByCreatedAtDesc(@Param("city") String city);
-
-  @Query("SELECT o FROM Order o WHERE LOWER(o.shippingAddress) LIKE LOWER(CONCAT('%', :country, '%')) ORDER BY o.createdAt DESC")
-  List<Order> findByShippingAddressContainingCountryOrderByCreatedAtDesc(
-      @Param("country") String country);
+  /**
+   * Orders shipped to a city, served by the (country, city, createdAt) index. Both arguments must
+   * be normalized with {@link com.flagship.order.model.ShippingLocation}.
+   */
+  @EntityGraph(Order.WITH_ITEMS)
+  List<Order> findWithItemsByShippingCountryAndShippingCityOrderByCreatedAtDesc(String country,
+      String city);
+
+  @EntityGraph(Order.WITH_ITEMS)
+  List<Order> findWithItemsByShippingCountryOrderByCreatedAtDesc(String country);
+
+  /**
+   * Orders written before the shipping location columns existed: (id, shippingAddress,
+   * orderNumber) rows in id order.
+   */
+  @Query("SELECT o.id, o.shippingAddress, o.orderNumber FROM Order o WHERE o.id > :afterId AND " +
+      "o.shippingAddress IS NOT NULL AND o.shippingCity IS NULL AND o.shippingCountry IS NULL " +
+      "ORDER BY o.id")
+  List<Object[]> findUnparsedShippingAddresses(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,42 @@
+package com.flagship.order.repository;
+
+import com.flagship.order.model.OrderStatsDelta;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Order Stats Delta Repository
+ * <p>
+ * Data access layer for pending order stats changes. Deltas are claimed with SKIP LOCKED, so
+ * instances folding at the same time take disjoint rows and never apply a delta twice.
+ */
+@Repository
+public interface OrderStatsDeltaRepository extends JpaRepository<OrderStatsDelta, Long> {
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("SELECT d FROM OrderStatsDelta d ORDER BY d.id")
+  List<OrderStatsDelta> lockBatch(Pageable pageable);
+
+  @Query("SELECT d.counterKey, SUM(d.countDelta) FROM OrderStatsDelta d " +
+      "WHERE d.counterKey IS NOT NULL GROUP BY d.counterKey")
+  List<Object[]> sumCountDeltas();
+
+  @Modifying
+  @Query("DELETE FROM OrderStatsDelta d WHERE d.id IN :ids")
+  int deleteByIdIn(@Param("ids") List<Long> ids);
+
+  @Modifying
+  @Query("DELETE FROM OrderStatsDelta d WHERE d.counterKey IS NOT NULL")
+  int deleteCountDeltas();
+}
@@ -0,0 +1,32 @@
+package com.flagship.order.repository;
+
+import com.flagship.order.model.OrderStatusCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order Status Count Repository
+ * <p>
+ * Data access layer for the running order status counters. Counters are moved with relative
+ * updates so several instances can flush into the same row.
+ */
+@Repository
+public interface OrderStatusCountRepository extends JpaRepository<OrderStatusCount, String> {
+
+  @Modifying
+  @Query("UPDATE OrderStatusCount c SET c.total = c.total + :delta, c.updatedAt = :now " +
+      "WHERE c.counterKey = :counterKey")
+  int increment(@Param("counterKey") String counterKey, @Param("delta") long delta,
+      @Param("now") LocalDateTime now);
+
+  @Modifying
+  @Query("UPDATE OrderStatusCount c SET c.total = :total, c.updatedAt = :now " +
+      "WHERE c.counterKey = :counterKey")
+  int setTotal(@Param("counterKey") String counterKey, @Param("total") long total,
+      @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,16 @@
+package com.flagship.order.repository;
+
+import com.flagship.order.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Outbox Event Repository
+ * <p>
+ * Data access layer for writing to the order outbox. The relay reads and deletes rows through
+ * {@link com.flagship.common.outbox.OutboxPublisher}.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+}
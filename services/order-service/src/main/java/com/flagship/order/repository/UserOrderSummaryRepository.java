@@ -0,0 +1,46 @@
+package com.flagship.order.repository;
+
+import com.flagship.order.model.UserOrderSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * User Order Summary Repository
+ * <p>
+ * Data access layer for the per-user order history read model. Pages are read by keyset on
+ * (placedAt, orderId), newest first.
+ */
+@Repository
+public interface UserOrderSummaryRepository extends JpaRepository<UserOrderSummary, Long> {
+
+  @Query("SELECT s FROM UserOrderSummary s WHERE s.userId = :userId ORDER BY s.placedAt DESC, s.orderId DESC")
+  List<UserOrderSummary> findFirstPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+  @Query("SELECT s FROM UserOrderSummary s WHERE s.userId = :userId AND " +
+      "(s.placedAt < :cursorTimestamp OR (s.placedAt = :cursorTimestamp AND s.orderId < :cursorId)) " +
+      "ORDER BY s.placedAt DESC, s.orderId DESC")
+  List<UserOrderSummary> findPageByUserIdAfter(@Param("userId") Long userId,
+      @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+      @Param("cursorId") Long cursorId,
+      Pageable pageable);
+
+  /**
+   * Copies orders that have no summary yet into the read model. Orders already projected from
+   * their events, including ones projected while this runs, are left alone.
+   */
+  @Modifying
+  @Query(value = "INSERT INTO user_order_summaries (order_id, user_id, order_number, status, " +
+      "payment_status, total_amount, currency, tracking_number, placed_at, last_event_at, version) " +
+      "SELECT o.id, o.user_id, o.order_number, o.status, o.payment_status, o.total_amount, " +
+      "o.currency, o.tracking_number, o.created_at, o.updated_at, 0 FROM orders o " +
+      "ON CONFLICT (order_id) DO NOTHING",
+      nativeQuery = true)
+  int backfillFromOrders();
+}
@@ -0,0 +1,74 @@
+package com.flagship.order.service;
+
+import com.flagship.order.event.InventoryEvent;
+import com.flagship.order.event.OrderEvent;
+import com.flagship.order.event.PaymentEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checkout Saga Listener
+ * <p>
+ * Feeds inventory and payment replies, and order cancellations, into {@link CheckoutSagaService}.
+ * The topics carry far more than checkout replies, so events are filtered here before any
+ * transaction is opened. The payloads are read into this service's own event classes rather than
+ * by type header.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CheckoutSagaListener {
+
+  private final CheckoutSagaService checkoutSagaService;
+
+  @KafkaListener(topics = "inventory-events", groupId = "order-service-checkout",
+      properties = {
+          "spring.json.use.type.headers=false",
+          "spring.json.value.default.type=com.flagship.order.event.InventoryEvent"
+      })
+  public void handleInventoryEvent(InventoryEvent event) {
+    if (event.getOrderId() == null) {
+      return;
+    }
+    switch (String.valueOf(event.getEventType())) {
+      case InventoryEvent.ORDER_RESERVED -> checkoutSagaService.onInventoryReserved(
+          event.getOrderId());
+      case InventoryEvent.ORDER_RESERVATION_FAILED ->
+          checkoutSagaService.onInventoryReservationFailed(event.getOrderId(),
+              event.getMetadata());
+      default -> log.trace("Ignoring inventory event: {}", event.getEventType());
+    }
+  }
+
+  @KafkaListener(topics = "payment-events", groupId = "order-service-checkout",
+      properties = {
+          "spring.json.use.type.headers=false",
+          "spring.json.value.default.type=com.flagship.order.event.PaymentEvent"
+      })
+  public void handlePaymentEvent(PaymentEvent event) {
+    if (event.getOrderId() == null) {
+      return;
+    }
+    switch (String.valueOf(event.getEventType())) {
+      case PaymentEvent.PAYMENT_COMPLETED -> checkoutSagaService.onPaymentCompleted(
+          event.getOrderId());
+      case PaymentEvent.PAYMENT_FAILED -> checkoutSagaService.onPaymentFailed(event.getOrderId(),
+          event.getFailureReason());
+      default -> log.trace("Ignoring payment event: {}", event.getEventType());
+    }
+  }
+
+  @KafkaListener(topics = OutboxService.ORDER_EVENTS_TOPIC, groupId = "order-service-checkout",
+      properties = {
+          "spring.json.use.type.headers=false",
+          "spring.json.value.default.type=com.flagship.order.event.OrderEvent"
+      })
+  public void handleOrderEvent(OrderEvent event) {
+    if (event.getOrderId() != null
+        && event.getEventType() == OrderEvent.OrderEventType.ORDER_CANCELLED) {
+      checkoutSagaService.onOrderCancelled(event.getOrderId());
+    }
+  }
+}
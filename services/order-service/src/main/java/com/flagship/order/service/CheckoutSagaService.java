@@ -0,0 +1,267 @@
+package com.flagship.order.service;
+
+import com.flagship.order.event.OrderEvent;
+import com.flagship.order.model.CheckoutSaga;
+import com.flagship.order.model.Order;
+import com.flagship.order.repository.CheckoutSagaRepository;
+import com.flagship.order.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Checkout Saga Service
+ * <p>
+ * Orchestrates checkout as a sequence of local transactions: the order is stored and inventory is
+ * asked to reserve every item; once inventory confirms, payment is requested; a completed payment
+ * confirms the order and commits the reservation. A failed reservation, a failed payment or a
+ * saga that stops hearing back within the timeout cancels the order, which releases whatever
+ * inventory holds for it. A payment that was requested for an order that is no longer going
+ * ahead, whether it is still pending or completes late, is cancelled or refunded by payment; an
+ * order cancelled outside the saga while payment is awaited ends the saga the same way. Commands
+ * leave through the outbox, and replies that do not match the saga's current state are ignored,
+ * so redelivered events are harmless. The timeout sweep expires each saga in its own transaction;
+ * one that fails is counted ({@code order.checkout.expiry.failures}) and tried again next sweep.
+ */
+@Slf4j
+@Service
+@Transactional
+public class CheckoutSagaService {
+
+  private final CheckoutSagaRepository checkoutSagaRepository;
+  private final OrderRepository orderRepository;
+  private final OrderService orderService;
+  private final OutboxService outboxService;
+  private final TransactionTemplate transactionTemplate;
+  private final Counter expiryFailures;
+  private final Duration timeout;
+  private final int sweepBatchSize;
+
+  public CheckoutSagaService(CheckoutSagaRepository checkoutSagaRepository,
+      OrderRepository orderRepository,
+      OrderService orderService,
+      OutboxService outboxService,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${order.checkout.timeout:PT15M}") Duration timeout,
+      @Value("${order.checkout.sweep-batch-size:100}") int sweepBatchSize) {
+    this.checkoutSagaRepository = checkoutSagaRepository;
+    this.orderRepository = orderRepository;
+    this.orderService = orderService;
+    this.outboxService = outboxService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.expiryFailures = meterRegistry.counter("order.checkout.expiry.failures");
+    this.timeout = timeout;
+    this.sweepBatchSize = sweepBatchSize;
+  }
+
+  public CheckoutSaga startCheckout(Order order) {
+    if (order.getItems() == null || order.getItems().isEmpty()) {
+      throw new IllegalArgumentException("Checkout requires at least one item");
+    }
+    if (order.getPaymentMethod() == null || order.getPaymentMethod().isBlank()) {
+      throw new IllegalArgumentException("Checkout requires a payment method");
+    }
+
+    Order savedOrder = orderService.createOrder(order);
+    CheckoutSaga saga = checkoutSagaRepository.save(CheckoutSaga.builder()
+        .orderId(savedOrder.getId())
+        .state(CheckoutSaga.SagaState.RESERVING_INVENTORY)
+        .build());
+
+    sendCommand(savedOrder, OrderEvent.OrderEventType.INVENTORY_RESERVATION_REQUESTED);
+
+    log.info("Checkout started for order: {}", savedOrder.getId());
+    return saga;
+  }
+
+  @Transactional(readOnly = true)
+  public Optional<CheckoutSaga> findByOrderId(Long orderId) {
+    return checkoutSagaRepository.findByOrderId(orderId);
+  }
+
+  public void onInventoryReserved(Long orderId) {
+    Optional<CheckoutSaga> found = findActive(orderId, CheckoutSaga.SagaState.RESERVING_INVENTORY);
+    if (found.isEmpty()) {
+      return;
+    }
+    CheckoutSaga saga = found.get();
+
+    Order order = loadOrder(orderId);
+    if (order.getStatus() == Order.OrderStatus.CANCELLED) {
+      // Cancelled while inventory was reserving; the cancellation already released the stock
+      saga.fail("Order cancelled during checkout");
+      log.info("Checkout for order: {} ended, order was cancelled", orderId);
+      return;
+    }
+
+    saga.advanceTo(CheckoutSaga.SagaState.AWAITING_PAYMENT);
+    sendCommand(order, OrderEvent.OrderEventType.PAYMENT_REQUESTED);
+    log.info("Inventory reserved for order: {}, payment requested", orderId);
+  }
+
+  public void onInventoryReservationFailed(Long orderId, String reason) {
+    findActive(orderId, CheckoutSaga.SagaState.RESERVING_INVENTORY)
+        .ifPresent(saga -> abort(saga, "Inventory reservation failed: " + reason));
+  }
+
+  public void onPaymentCompleted(Long orderId) {
+    Optional<CheckoutSaga> found = findActive(orderId, CheckoutSaga.SagaState.AWAITING_PAYMENT);
+    if (found.isEmpty()) {
+      checkoutSagaRepository.findByOrderId(orderId)
+          .filter(saga -> saga.isIn(CheckoutSaga.SagaState.FAILED))
+          .ifPresent(saga -> {
+            requestPaymentCancellation(loadOrder(orderId));
+            log.warn("Payment completed for order: {} after checkout failed, refund requested",
+                orderId);
+          });
+      return;
+    }
+    CheckoutSaga saga = found.get();
+
+    Order order = loadOrder(orderId);
+    if (order.getStatus() != Order.OrderStatus.PENDING) {
+      // Cancelled while payment was being taken; the money goes back
+      abort(saga, "Order was " + order.getStatus() + " when payment completed");
+      requestPaymentCancellation(order);
+      return;
+    }
+
+    orderService.updatePaymentStatus(orderId, Order.PaymentStatus.PAID);
+    order = orderService.updateOrderStatus(orderId, Order.OrderStatus.CONFIRMED);
+    sendCommand(order, OrderEvent.OrderEventType.ORDER_CONFIRMED);
+
+    saga.advanceTo(CheckoutSaga.SagaState.COMPLETED);
+    log.info("Checkout completed for order: {}", orderId);
+  }
+
+  public void onPaymentFailed(Long orderId, String reason) {
+    findActive(orderId, CheckoutSaga.SagaState.AWAITING_PAYMENT).ifPresent(saga -> {
+      orderService.updatePaymentStatus(orderId, Order.PaymentStatus.FAILED);
+      abort(saga, "Payment failed" + (reason != null ? ": " + reason : ""));
+    });
+  }
+
+  public void onOrderCancelled(Long orderId) {
+    // While inventory is reserving, the reply re-checks the order status instead
+    findActive(orderId, CheckoutSaga.SagaState.AWAITING_PAYMENT).ifPresent(saga -> {
+      saga.fail("Order cancelled during checkout");
+      requestPaymentCancellation(loadOrder(orderId));
+      log.info("Checkout for order: {} ended, order was cancelled", orderId);
+    });
+  }
+
+  @Scheduled(fixedDelayString = "${order.checkout.sweep-interval:PT30S}")
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public void expireStalledCheckouts() {
+    LocalDateTime cutoff = LocalDateTime.now().minus(timeout);
+    List<Long> stalled = checkoutSagaRepository.findStalledIds(CheckoutSaga.SagaState.ACTIVE,
+        cutoff, PageRequest.of(0, sweepBatchSize));
+
+    int expired = 0;
+    for (Long sagaId : stalled) {
+      // One transaction per saga, so a saga that cannot be expired does not undo the others
+      try {
+        if (Boolean.TRUE.equals(transactionTemplate.execute(status -> expire(sagaId, cutoff)))) {
+          expired++;
+        }
+      } catch (RuntimeException e) {
+        expiryFailures.increment();
+        log.error("Failed to expire stalled checkout saga: {}, retrying on the next sweep", sagaId,
+            e);
+      }
+    }
+    if (expired > 0) {
+      log.warn("Expired {} stalled checkouts", expired);
+    }
+  }
+
+  private boolean expire(Long sagaId, LocalDateTime cutoff) {
+    // Sagas a reply or another instance moved on or holds since they were listed are left alone
+    Optional<CheckoutSaga> locked = checkoutSagaRepository.lockStalled(sagaId,
+        CheckoutSaga.SagaState.ACTIVE, cutoff);
+    if (locked.isEmpty()) {
+      return false;
+    }
+    CheckoutSaga saga = locked.get();
+    boolean paymentRequested = saga.isIn(CheckoutSaga.SagaState.AWAITING_PAYMENT);
+    Order order = abort(saga, "Checkout timed out while " + saga.getState());
+    if (paymentRequested) {
+      // The payment may still be pending or may already have been taken
+      requestPaymentCancellation(order);
+    }
+    return true;
+  }
+
+  private Optional<CheckoutSaga> findActive(Long orderId, CheckoutSaga.SagaState expected) {
+    Optional<CheckoutSaga> saga = checkoutSagaRepository.findByOrderId(orderId)
+        .filter(candidate -> candidate.isIn(expected));
+    if (saga.isEmpty()) {
+      log.debug("Ignoring checkout reply for order: {}, saga is not {}", orderId, expected);
+    }
+    return saga;
+  }
+
+  private Order abort(CheckoutSaga saga, String reason) {
+    Order order = loadOrder(saga.getOrderId());
+    if (order.canBeCancelled()) {
+      // Publishes ORDER_CANCELLED, on which inventory releases the order's reservation
+      order = orderService.cancelOrder(order.getId());
+    }
+    saga.fail(reason);
+    log.info("Checkout failed for order: {} - {}", saga.getOrderId(), reason);
+    return order;
+  }
+
+  private void requestPaymentCancellation(Order order) {
+    // Payment cancels a pending payment and refunds a completed one
+    sendCommand(order, OrderEvent.OrderEventType.PAYMENT_CANCELLATION_REQUESTED);
+    log.info("Payment cancellation requested for order: {}", order.getId());
+  }
+
+  private Order loadOrder(Long orderId) {
+    return orderRepository.findById(orderId)
+        .orElseThrow(() -> new IllegalArgumentException("Order not found with ID: " + orderId));
+  }
+
+  private void sendCommand(Order order, OrderEvent.OrderEventType eventType) {
+    List<OrderEvent.OrderItemEvent> items = order.getItems().stream()
+        .map(item -> OrderEvent.OrderItemEvent.builder()
+            .productId(item.getProductId())
+            .productSku(item.getProductSku())
+            .quantity(item.getQuantity())
+            .unitPrice(item.getUnitPrice())
+            .totalPrice(item.getTotalPrice())
+            .build())
+        .toList();
+
+    OrderEvent event = OrderEvent.builder()
+        .orderId(order.getId())
+        .orderNumber(order.getOrderNumber())
+        .userId(order.getUserId())
+        .eventType(eventType)
+        .timestamp(LocalDateTime.now())
+        .totalAmount(order.getTotalAmount())
+        .currency(order.getCurrency())
+        .status(order.getStatus().toString())
+        .paymentStatus(order.getPaymentStatus().toString())
+        .paymentMethod(order.getPaymentMethod())
+        .items(items)
+        .build();
+
+    outboxService.enqueue(String.valueOf(order.getId()), event);
+  }
+}
@@ -0,0 +1,100 @@
+package com.flagship.order.service;
+
+import com.flagship.order.repository.OneOffJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * One-Off Job Service
+ * <p>
+ * Runs data migrations that only ever need to happen once per database, such as backfilling a new
+ * column or read model, on a background thread so startup does not wait for them. A row in
+ * {@code one_off_jobs} lets a single instance claim a job and records when it completed, so later
+ * starts and other replicas skip it. A failed job is released for the next start, and a claim
+ * that has not completed within the claim timeout, e.g. because its instance died, is taken over;
+ * jobs therefore have to be safe to run again.
+ */
+@Slf4j
+@Service
+public class OneOffJobService {
+
+  private final OneOffJobRepository oneOffJobRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration claimTimeout;
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "one-off-jobs");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  public OneOffJobService(OneOffJobRepository oneOffJobRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${order.one-off-jobs.claim-timeout:PT1H}") Duration claimTimeout) {
+    this.oneOffJobRepository = oneOffJobRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.claimTimeout = claimTimeout;
+  }
+
+  /**
+   * Runs the job in the background unless it already completed or another instance is running it.
+   */
+  public void runOnce(String name, Runnable job) {
+    executor.execute(() -> run(name, job));
+  }
+
+  private void run(String name, Runnable job) {
+    try {
+      if (!claim(name)) {
+        log.debug("One-off job: {} has completed or is running elsewhere", name);
+        return;
+      }
+    } catch (RuntimeException e) {
+      log.warn("Could not claim one-off job: {}", name, e);
+      return;
+    }
+
+    log.info("Running one-off job: {}", name);
+    try {
+      job.run();
+    } catch (RuntimeException e) {
+      log.warn("One-off job: {} failed, the next start retries it", name, e);
+      transactionTemplate.executeWithoutResult(
+          status -> oneOffJobRepository.releaseClaim(name));
+      return;
+    }
+    transactionTemplate.executeWithoutResult(
+        status -> oneOffJobRepository.markCompleted(name, LocalDateTime.now()));
+    log.info("One-off job: {} completed", name);
+  }
+
+  private boolean claim(String name) {
+    LocalDateTime now = LocalDateTime.now();
+    if (!oneOffJobRepository.existsById(name)) {
+      try {
+        transactionTemplate.executeWithoutResult(
+            status -> oneOffJobRepository.insertClaim(name, now));
+        return true;
+      } catch (DataIntegrityViolationException e) {
+        // Another instance created the marker first; fall through to the conditional claim
+      }
+    }
+    Integer claimed = transactionTemplate.execute(
+        status -> oneOffJobRepository.reclaim(name, now, now.minus(claimTimeout)));
+    return claimed != null && claimed == 1;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+}
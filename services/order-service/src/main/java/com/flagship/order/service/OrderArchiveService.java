@@ -0,0 +1,256 @@
+package com.flagship.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flagship.order.dto.OrderDto;
+import com.flagship.order.dto.OrderItemDto;
+import com.flagship.order.model.ArchivedOrder;
+import com.flagship.order.model.Order;
+import com.flagship.order.model.OrderEvent;
+import com.flagship.order.model.OrderItem;
+import com.flagship.order.repository.ArchivedOrderRepository;
+import com.flagship.order.repository.OrderEventRepository;
+import com.flagship.order.repository.OrderItemRepository;
+import com.flagship.order.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Order Archive Service
+ * <p>
+ * Moves finished orders out of the live tables. Delivered, cancelled and refunded orders that have
+ * not changed for the retention period are copied into {@link ArchivedOrder} documents and deleted
+ * from {@code orders}, {@code order_items} and {@code order_events} in the same transaction, one
+ * locked batch at a time, taking them out of the status counters as well. Instances skip the
+ * orders another is archiving. Keeping only open and recent orders in the live tables keeps their
+ * indexes small. Archived orders are read-only; lookups by id or order number fall back to the
+ * archive.
+ */
+@Slf4j
+@Service
+public class OrderArchiveService {
+
+  private static final Set<Order.OrderStatus> ARCHIVABLE_STATUSES = EnumSet.of(
+      Order.OrderStatus.DELIVERED, Order.OrderStatus.CANCELLED, Order.OrderStatus.REFUNDED);
+
+  private final OrderRepository orderRepository;
+  private final OrderItemRepository orderItemRepository;
+  private final OrderEventRepository orderEventRepository;
+  private final ArchivedOrderRepository archivedOrderRepository;
+  private final OrderStatsService orderStatsService;
+  private final OrderCacheEvictor orderCacheEvictor;
+  private final EntityManager entityManager;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final Duration retention;
+  private final int batchSize;
+  private final int maxBatchesPerRun;
+
+  public OrderArchiveService(OrderRepository orderRepository,
+      OrderItemRepository orderItemRepository,
+      OrderEventRepository orderEventRepository,
+      ArchivedOrderRepository archivedOrderRepository,
+      OrderStatsService orderStatsService,
+      OrderCacheEvictor orderCacheEvictor,
+      EntityManager entityManager,
+      ObjectMapper objectMapper,
+      PlatformTransactionManager transactionManager,
+      @Value("${order.archive.enabled:true}") boolean enabled,
+      @Value("${order.archive.retention:P90D}") Duration retention,
+      @Value("${order.archive.batch-size:200}") int batchSize,
+      @Value("${order.archive.max-batches-per-run:50}") int maxBatchesPerRun) {
+    this.orderRepository = orderRepository;
+    this.orderItemRepository = orderItemRepository;
+    this.orderEventRepository = orderEventRepository;
+    this.archivedOrderRepository = archivedOrderRepository;
+    this.orderStatsService = orderStatsService;
+    this.orderCacheEvictor = orderCacheEvictor;
+    this.entityManager = entityManager;
+    this.objectMapper = objectMapper;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.retention = retention;
+    this.batchSize = Math.max(1, batchSize);
+    this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+  }
+
+  @Scheduled(fixedDelayString = "${order.archive.interval:PT1H}",
+      initialDelayString = "${order.archive.interval:PT1H}")
+  public void archiveFinishedOrders() {
+    if (!enabled) {
+      return;
+    }
+
+    LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+    int archived = 0;
+    for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+      Integer count;
+      try {
+        count = transactionTemplate.execute(status -> archiveBatch(cutoff));
+      } catch (RuntimeException e) {
+        // The next run picks up what is left
+        log.warn("Order archival batch failed", e);
+        break;
+      }
+      if (count == null || count == 0) {
+        break;
+      }
+      archived += count;
+    }
+
+    if (archived > 0) {
+      log.info("Archived {} orders last changed before {}", archived, cutoff);
+    }
+  }
+
+  public Optional<OrderDto> findOrder(Long orderId, boolean includeEvents) {
+    return archivedOrderRepository.findById(orderId)
+        .map(archived -> read(archived, includeEvents));
+  }
+
+  public Optional<OrderDto> findOrderByNumber(String orderNumber, boolean includeEvents) {
+    return archivedOrderRepository.findByOrderNumber(orderNumber)
+        .map(archived -> read(archived, includeEvents));
+  }
+
+  /**
+   * Rebuilds a detached order with its items from an archived view, for callers that work with
+   * entities. Changes to it are never persisted.
+   */
+  public static Order toOrder(OrderDto dto) {
+    Order order = Order.builder()
+        .id(dto.getId())
+        .orderNumber(dto.getOrderNumber())
+        .userId(dto.getUserId())
+        .status(dto.getStatus())
+        .totalAmount(dto.getTotalAmount())
+        .currency(dto.getCurrency())
+        .shippingAddress(dto.getShippingAddress())
+        .shippingCity(dto.getShippingCity())
+        .shippingCountry(dto.getShippingCountry())
+        .billingAddress(dto.getBillingAddress())
+        .paymentMethod(dto.getPaymentMethod())
+        .paymentStatus(dto.getPaymentStatus())
+        .shippingMethod(dto.getShippingMethod())
+        .trackingNumber(dto.getTrackingNumber())
+        .notes(dto.getNotes())
+        .estimatedDeliveryDate(dto.getEstimatedDeliveryDate())
+        .actualDeliveryDate(dto.getActualDeliveryDate())
+        .createdAt(dto.getCreatedAt())
+        .updatedAt(dto.getUpdatedAt())
+        .build();
+    for (OrderItemDto item : dto.getItems()) {
+      order.getItems().add(OrderItem.builder()
+          .id(item.getId())
+          .order(order)
+          .productId(item.getProductId())
+          .productName(item.getProductName())
+          .productSku(item.getProductSku())
+          .quantity(item.getQuantity())
+          .unitPrice(item.getUnitPrice())
+          .totalPrice(item.getTotalPrice())
+          .discountAmount(item.getDiscountAmount())
+          .taxAmount(item.getTaxAmount())
+          .productImageUrl(item.getProductImageUrl())
+          .productDescription(item.getProductDescription())
+          .createdAt(item.getCreatedAt())
+          .updatedAt(item.getUpdatedAt())
+          .build());
+    }
+    return order;
+  }
+
+  private int archiveBatch(LocalDateTime cutoff) {
+    // Locked until the batch commits, so no other instance archives them and no change slips in
+    List<Long> ids = orderRepository.lockArchivable(ARCHIVABLE_STATUSES, cutoff,
+            PageRequest.of(0, batchSize)).stream()
+        .map(Order::getId)
+        .toList();
+    if (ids.isEmpty()) {
+      return 0;
+    }
+
+    List<Order> orders = orderRepository.findWithItemsByIdIn(ids);
+    Map<Long, List<OrderEvent>> events = orderEventRepository
+        .findByOrderIdInOrderByTimestampDesc(ids).stream()
+        .collect(Collectors.groupingBy(event -> event.getOrder().getId()));
+
+    LocalDateTime now = LocalDateTime.now();
+    List<Long> archivedIds = new ArrayList<>(orders.size());
+    for (Order order : orders) {
+      OrderDto dto = OrderDto.from(order, events.getOrDefault(order.getId(), List.of()));
+      // Ids are assigned, so persist directly instead of save()'s select-then-merge
+      entityManager.persist(ArchivedOrder.builder()
+          .orderId(order.getId())
+          .orderNumber(order.getOrderNumber())
+          .userId(order.getUserId())
+          .status(order.getStatus())
+          .createdAt(order.getCreatedAt())
+          .archivedAt(now)
+          .document(compress(dto))
+          .build());
+      archivedIds.add(order.getId());
+    }
+    orderStatsService.ordersRemoved(orders);
+    entityManager.flush();
+    entityManager.clear();
+
+    orderEventRepository.deleteByOrderIdIn(archivedIds);
+    orderItemRepository.deleteByOrderIdIn(archivedIds);
+    orderRepository.deleteAllByIdInBatch(archivedIds);
+    orderCacheEvictor.evictCachedOrders(archivedIds,
+        orders.stream().map(Order::getOrderNumber).toList());
+    log.debug("Archived {} orders", archivedIds.size());
+    return archivedIds.size();
+  }
+
+  private OrderDto read(ArchivedOrder archived, boolean includeEvents) {
+    OrderDto dto = decompress(archived.getDocument());
+    if (!includeEvents) {
+      dto.setEvents(null);
+    }
+    return dto;
+  }
+
+  private byte[] compress(OrderDto dto) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream out = new GZIPOutputStream(bytes)) {
+      objectMapper.writeValue(out, dto);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to archive order " + dto.getId(), e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private OrderDto decompress(byte[] document) {
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(document))) {
+      return objectMapper.readValue(in, OrderDto.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read archived order", e);
+    }
+  }
+}
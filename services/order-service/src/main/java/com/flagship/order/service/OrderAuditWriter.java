@@ -0,0 +1,236 @@
+package com.flagship.order.service;
+
+import com.flagship.order.model.OrderEvent;
+import com.flagship.order.repository.OrderEventRepository;
+import com.flagship.order.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order Audit Writer
+ * <p>
+ * Writes order audit events off the request path. Events are queued once the order change that
+ * produced them has committed, and a single background thread saves them in batches, so an order
+ * API call no longer pays for its own audit insert. When the queue is full the caller waits up to
+ * the enqueue timeout and then writes the event itself, which slows producers down instead of
+ * dropping audit history. Events may become visible up to one flush interval after the order
+ * change. When a batch fails its events are retried one by one, so only an event that cannot be
+ * written on its own is dropped ({@code order.audit.failed.events}).
+ * <p>
+ * Between commit and write a queued event lives only in memory: a process that dies without
+ * shutting down loses what was queued, at most the queue capacity. That is the price of keeping
+ * the insert out of the order transaction. On shutdown the queue is drained, events that arrive
+ * meanwhile are written inline, and whatever the writer thread did not reach in time is written
+ * by the shutting down thread.
+ */
+@Slf4j
+@Component
+public class OrderAuditWriter {
+
+  private final OrderEventRepository orderEventRepository;
+  private final OrderRepository orderRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate inlineTransactionTemplate;
+  private final BlockingQueue<PendingEvent> queue;
+  private final int batchSize;
+  private final long flushIntervalMillis;
+  private final long enqueueTimeoutMillis;
+  private final Counter inlineWrites;
+  private final Counter failedEvents;
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "order-audit-writer");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private volatile boolean running = true;
+
+  public OrderAuditWriter(OrderEventRepository orderEventRepository,
+      OrderRepository orderRepository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${order.audit.queue-capacity:10000}") int queueCapacity,
+      @Value("${order.audit.batch-size:200}") int batchSize,
+      @Value("${order.audit.flush-interval:PT0.2S}") Duration flushInterval,
+      @Value("${order.audit.enqueue-timeout:PT0.5S}") Duration enqueueTimeout) {
+    this.orderEventRepository = orderEventRepository;
+    this.orderRepository = orderRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    // Inline writes run from afterCommit, where the order's transaction is still bound
+    this.inlineTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.inlineTransactionTemplate.setPropagationBehavior(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.batchSize = Math.max(1, batchSize);
+    this.flushIntervalMillis = flushInterval.toMillis();
+    this.enqueueTimeoutMillis = enqueueTimeout.toMillis();
+    this.inlineWrites = meterRegistry.counter("order.audit.inline.writes");
+    this.failedEvents = meterRegistry.counter("order.audit.failed.events");
+    Gauge.builder("order.audit.queue.size", queue, BlockingQueue::size)
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  void start() {
+    executor.execute(this::run);
+  }
+
+  /**
+   * Queues an audit event for the given order. Inside a transaction the event is only queued
+   * after commit, so rolled back changes leave no audit trail and the order row always exists
+   * by the time the event is written.
+   */
+  public void submit(Long orderId, OrderEvent event) {
+    PendingEvent pending = new PendingEvent(orderId, event);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      enqueue(pending);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        enqueue(pending);
+      }
+    });
+  }
+
+  /**
+   * Queues audit events for several orders, keyed by order id, with one commit hook for the lot.
+   */
+  public void submitAll(Map<Long, OrderEvent> events) {
+    List<PendingEvent> pending = new ArrayList<>(events.size());
+    events.forEach((orderId, event) -> pending.add(new PendingEvent(orderId, event)));
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      pending.forEach(this::enqueue);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        pending.forEach(OrderAuditWriter.this::enqueue);
+      }
+    });
+  }
+
+  private void enqueue(PendingEvent pending) {
+    if (!running) {
+      // The writer thread is draining for shutdown and may already have stopped
+      writeInline(pending);
+      return;
+    }
+    try {
+      if (queue.offer(pending, enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        return;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    log.warn("Order audit queue full, writing event for order: {} inline", pending.orderId());
+    writeInline(pending);
+  }
+
+  private void writeInline(PendingEvent pending) {
+    inlineWrites.increment();
+    try {
+      inlineTransactionTemplate.executeWithoutResult(status -> write(List.of(pending)));
+    } catch (RuntimeException e) {
+      failedEvents.increment();
+      log.error("Failed to write audit event for order: {}", pending.orderId(), e);
+    }
+  }
+
+  private void run() {
+    List<PendingEvent> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        PendingEvent first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        flush(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void flush(List<PendingEvent> batch) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> write(batch));
+      log.debug("Wrote {} order audit events", batch.size());
+    } catch (RuntimeException e) {
+      log.warn("Failed to write {} order audit events as a batch, retrying one by one",
+          batch.size(), e);
+      batch.forEach(this::writeAlone);
+    }
+  }
+
+  private void writeAlone(PendingEvent pending) {
+    // The failed batch may have assigned an id that was never inserted
+    pending.event().setId(null);
+    try {
+      transactionTemplate.executeWithoutResult(status -> write(List.of(pending)));
+    } catch (RuntimeException e) {
+      failedEvents.increment();
+      log.error("Failed to write audit event for order: {}", pending.orderId(), e);
+    }
+  }
+
+  private void write(List<PendingEvent> batch) {
+    List<OrderEvent> events = new ArrayList<>(batch.size());
+    for (PendingEvent pending : batch) {
+      OrderEvent event = pending.event();
+      event.setOrder(orderRepository.getReferenceById(pending.orderId()));
+      events.add(event);
+    }
+    // Sequence ids and JDBC batching turn this into multi-row inserts
+    orderEventRepository.saveAll(events);
+  }
+
+  @PreDestroy
+  void shutdown() throws InterruptedException {
+    running = false;
+    executor.shutdown();
+    if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+      executor.shutdownNow();
+    }
+
+    // Left by a writer thread that ran out of time, or queued just as it stopped
+    List<PendingEvent> left = new ArrayList<>();
+    queue.drainTo(left);
+    if (!left.isEmpty()) {
+      log.warn("Writing {} order audit events left queued at shutdown", left.size());
+      left.forEach(this::writeInline);
+    }
+  }
+
+  private record PendingEvent(Long orderId, OrderEvent event) {
+  }
+}
@@ -0,0 +1,100 @@
+package com.flagship.order.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order Cache Evictor
+ * <p>
+ * Drops the cached views of changed orders. The caches are transaction aware, so an eviction
+ * happens once the change is committed. A read that loaded the previous state before that commit
+ * still puts it after its own transaction ends, so every eviction is repeated after a short delay
+ * instead of leaving the stale view for the whole TTL.
+ */
+@Slf4j
+@Service
+public class OrderCacheEvictor {
+
+  private final CacheManager cacheManager;
+  private final Duration reEvictDelay;
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+      runnable -> {
+        Thread thread = new Thread(runnable, "order-cache-evictor");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  public OrderCacheEvictor(CacheManager cacheManager,
+      @Value("${order.cache.re-evict-delay:PT5S}") Duration reEvictDelay) {
+    this.cacheManager = cacheManager;
+    this.reEvictDelay = reEvictDelay;
+  }
+
+  public void evictCachedOrder(Long orderId, String orderNumber) {
+    evictCachedOrders(List.of(orderId), orderNumber != null ? List.of(orderNumber) : List.of());
+  }
+
+  public void evictCachedOrders(Collection<Long> orderIds, Collection<String> orderNumbers) {
+    if (orderIds.isEmpty() && orderNumbers.isEmpty()) {
+      return;
+    }
+    evict(orderIds, orderNumbers);
+
+    List<Long> ids = List.copyOf(orderIds);
+    List<String> numbers = List.copyOf(orderNumbers);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          scheduleReEviction(ids, numbers);
+        }
+      });
+    } else {
+      scheduleReEviction(ids, numbers);
+    }
+  }
+
+  private void scheduleReEviction(List<Long> orderIds, List<String> orderNumbers) {
+    try {
+      scheduler.schedule(() -> evict(orderIds, orderNumbers), reEvictDelay.toMillis(),
+          TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      log.debug("Shutting down, skipping delayed eviction of {} orders", orderIds.size());
+    }
+  }
+
+  private void evict(Collection<Long> orderIds, Collection<String> orderNumbers) {
+    try {
+      Cache byId = cacheManager.getCache(OrderService.ORDER_CACHE);
+      if (byId != null) {
+        orderIds.forEach(byId::evict);
+      }
+      Cache byNumber = cacheManager.getCache(OrderService.ORDER_NUMBER_CACHE);
+      if (byNumber != null) {
+        orderNumbers.forEach(byNumber::evict);
+      }
+    } catch (RuntimeException e) {
+      // The entries still expire with the TTL
+      log.warn("Failed to evict {} cached orders", orderIds.size(), e);
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    scheduler.shutdownNow();
+  }
+}
@@ -9,13 +9,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Order Event Service
  * <p>
  * Service for managing order events and audit logs. Provides functionality to log and retrieve
- * order events.
+ * order events. Logged events are written asynchronously by {@link OrderAuditWriter}.
  */
 @Slf4j
 @Service
@@ -24,11 +26,11 @@ import java.util.List;
 public class OrderEventService {
 
   private final OrderEventRepository orderEventRepository;
+  private final OrderAuditWriter orderAuditWriter;
 
   public void logEvent(Order order, OrderEvent.EventType eventType, String description,
       String previousStatus, String newStatus) {
     OrderEvent event = OrderEvent.builder()
-        .order(order)
         .eventType(eventType)
         .description(description)
         .previousStatus(previousStatus)
@@ -37,14 +39,13 @@ public class OrderEventService {
         .timestamp(LocalDateTime.now())
         .build();
 
-    orderEventRepository.save(event);
-    log.debug("Logged order event: {} for order: {}", eventType, order.getId());
+    orderAuditWriter.submit(order.getId(), event);
+    log.debug("Queued order event: {} for order: {}", eventType, order.getId());
   }
 
   public void logEvent(Order order, OrderEvent.EventType eventType, String description,
       String previousStatus, String newStatus, String metadata) {
     OrderEvent event = OrderEvent.builder()
-        .order(order)
         .eventType(eventType)
         .description(description)
         .previousStatus(previousStatus)
@@ -54,14 +55,13 @@ public class OrderEventService {
         .timestamp(LocalDateTime.now())
         .build();
 
-    orderEventRepository.save(event);
-    log.debug("Logged order event: {} for order: {} with metadata", eventType, order.getId());
+    orderAuditWriter.submit(order.getId(), event);
+    log.debug("Queued order event: {} for order: {} with metadata", eventType, order.getId());
   }
 
   public void logEvent(Order order, OrderEvent.EventType eventType, String description,
       String previousStatus, String newStatus, String ipAddress, String userAgent) {
     OrderEvent event = OrderEvent.builder()
-        .order(order)
         .eventType(eventType)
         .description(description)
         .previousStatus(previousStatus)
@@ -72,11 +72,34 @@ public class OrderEventService {
         .timestamp(LocalDateTime.now())
         .build();
 
-    orderEventRepository.save(event);
-    log.debug("Logged order event: {} for order: {} with IP and user agent", eventType,
+    orderAuditWriter.submit(order.getId(), event);
+    log.debug("Queued order event: {} for order: {} with IP and user agent", eventType,
         order.getId());
   }
 
+  /**
+   * Logs a STATUS_CHANGED event for each order of a bulk transition. The orders already carry
+   * their new status; {@code previousStatuses} holds what each one moved from.
+   */
+  public void logStatusChanges(List<Order> orders, Map<Long, Order.OrderStatus> previousStatuses) {
+    LocalDateTime now = LocalDateTime.now();
+    Map<Long, OrderEvent> events = new LinkedHashMap<>();
+    for (Order order : orders) {
+      Order.OrderStatus previousStatus = previousStatuses.get(order.getId());
+      events.put(order.getId(), OrderEvent.builder()
+          .eventType(OrderEvent.EventType.STATUS_CHANGED)
+          .description("Order status changed from " + previousStatus + " to " + order.getStatus())
+          .previousStatus(previousStatus.toString())
+          .newStatus(order.getStatus().toString())
+          .userId(order.getUserId())
+          .timestamp(now)
+          .build());
+    }
+
+    orderAuditWriter.submitAll(events);
+    log.debug("Queued {} status change events", events.size());
+  }
+
   @Transactional(readOnly = true)
   public List<OrderEvent> getOrderEvents(Long orderId) {
     return orderEventRepository.findByOrderIdOrderByTimestampDesc(orderId);
@@ -0,0 +1,52 @@
+package com.flagship.order.service;
+
+import com.flagship.order.event.OrderEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Order History Listener
+ * <p>
+ * Projects this service's own order events into the per-user history read model; every event
+ * refreshes its order's summary, so redelivered or reordered events are harmless. Orders that
+ * predate the read model are copied by a one-off job, run by whichever instance starts first.
+ */
+@Component
+public class OrderHistoryListener {
+
+  static final String BACKFILL_JOB = "user-order-summaries-backfill";
+
+  private final OrderHistoryService orderHistoryService;
+  private final OneOffJobService oneOffJobService;
+  private final boolean backfillOnStartup;
+
+  public OrderHistoryListener(OrderHistoryService orderHistoryService,
+      OneOffJobService oneOffJobService,
+      @Value("${order.history.backfill-on-startup:true}") boolean backfillOnStartup) {
+    this.orderHistoryService = orderHistoryService;
+    this.oneOffJobService = oneOffJobService;
+    this.backfillOnStartup = backfillOnStartup;
+  }
+
+  @KafkaListener(topics = OutboxService.ORDER_EVENTS_TOPIC, groupId = "order-service-history",
+      properties = {
+          "spring.json.use.type.headers=false",
+          "spring.json.value.default.type=com.flagship.order.event.OrderEvent"
+      })
+  public void handleOrderEvent(OrderEvent event) {
+    if (event.getOrderId() == null || event.getUserId() == null) {
+      return;
+    }
+    orderHistoryService.apply(event);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfill() {
+    if (backfillOnStartup) {
+      oneOffJobService.runOnce(BACKFILL_JOB, orderHistoryService::backfill);
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package com.flagship.order.service;
+
+import com.flagship.common.paging.KeysetCursor;
+import com.flagship.common.paging.KeysetPage;
+import com.flagship.order.event.OrderEvent;
+import com.flagship.order.model.Order;
+import com.flagship.order.model.UserOrderSummary;
+import com.flagship.order.repository.OrderRepository;
+import com.flagship.order.repository.UserOrderSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Order History Service
+ * <p>
+ * Maintains and serves the per-user order history read model. Each order event refreshes the
+ * order's summary from its row by primary key, so the most-called order endpoint reads a narrow
+ * table of its own instead of competing with checkout for the orders table. Pages are
+ * keyset-paginated, and a user's first page is cached until the next event for that user evicts
+ * it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class OrderHistoryService {
+
+  public static final String ORDER_HISTORY_CACHE = "order-history";
+  public static final int DEFAULT_PAGE_SIZE = 20;
+  private static final int MAX_PAGE_SIZE = 100;
+
+  private final UserOrderSummaryRepository userOrderSummaryRepository;
+  private final OrderRepository orderRepository;
+
+  @CacheEvict(value = ORDER_HISTORY_CACHE, key = "#event.userId")
+  public void apply(OrderEvent event) {
+    // Copy the order as it is now rather than the event's snapshot, so an event that arrives
+    // late or twice still leaves the summary current
+    Order order = orderRepository.findById(event.getOrderId()).orElse(null);
+    if (order == null) {
+      log.debug("Ignoring order event: {} for missing order: {}", event.getEventType(),
+          event.getOrderId());
+      return;
+    }
+
+    UserOrderSummary summary = userOrderSummaryRepository.findById(order.getId())
+        .orElseGet(() -> UserOrderSummary.builder().orderId(order.getId()).build());
+    summary.setUserId(order.getUserId());
+    summary.setOrderNumber(order.getOrderNumber());
+    summary.setStatus(order.getStatus());
+    summary.setPaymentStatus(order.getPaymentStatus());
+    summary.setTotalAmount(order.getTotalAmount());
+    summary.setCurrency(order.getCurrency());
+    summary.setTrackingNumber(order.getTrackingNumber());
+    summary.setPlacedAt(order.getCreatedAt());
+    summary.setLastEventAt(order.getUpdatedAt());
+
+    userOrderSummaryRepository.save(summary);
+    log.debug("Applied order event: {} to history of user: {}", event.getEventType(),
+        event.getUserId());
+  }
+
+  @Cacheable(value = ORDER_HISTORY_CACHE, key = "#userId",
+      condition = "#cursor == null && #size == " + DEFAULT_PAGE_SIZE)
+  @Transactional(readOnly = true)
+  public KeysetPage<UserOrderSummary> getOrderHistory(Long userId, String cursor, int size) {
+    int pageSize = clampPageSize(size);
+    Pageable limit = PageRequest.of(0, pageSize + 1);
+
+    List<UserOrderSummary> rows;
+    if (cursor == null) {
+      rows = userOrderSummaryRepository.findFirstPageByUserId(userId, limit);
+    } else {
+      KeysetCursor after = KeysetCursor.decode(cursor);
+      rows = userOrderSummaryRepository.findPageByUserIdAfter(userId, after.getTimestamp(),
+          after.getId(), limit);
+    }
+    return KeysetPage.of(rows, pageSize, OrderHistoryService::cursorOf);
+  }
+
+  /**
+   * Adds a summary for every order that does not have one yet, e.g. orders placed before the read
+   * model existed. Like {@link #apply}, a summary is placed at the order's creation time.
+   *
+   * @return the number of summaries created
+   */
+  public int backfill() {
+    int created = userOrderSummaryRepository.backfillFromOrders();
+    log.info("Backfilled {} order summaries", created);
+    return created;
+  }
+
+  private static int clampPageSize(int size) {
+    return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+  }
+
+  private static KeysetCursor cursorOf(UserOrderSummary summary) {
+    return new KeysetCursor(summary.getPlacedAt(), summary.getOrderId());
+  }
+}
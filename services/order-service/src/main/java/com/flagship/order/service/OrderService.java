@@ -1,27 +1,51 @@
 package com.flagship.order.service;
 
+import com.flagship.common.id.SnowflakeIdGenerator;
+import com.flagship.common.paging.KeysetCursor;
+import com.flagship.common.paging.KeysetPage;
+import com.flagship.order.dto.BulkStatusUpdateResult;
+import com.flagship.order.dto.OrderDto;
 import com.flagship.order.event.OrderEvent;
 import com.flagship.order.model.Order;
 import com.flagship.order.model.OrderItem;
+import com.flagship.order.model.ShippingLocation;
+import com.flagship.order.repository.OrderItemRepository;
 import com.flagship.order.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 /**
  * Order Service
  * <p>
  * Business logic layer for order management operations. Handles order CRUD operations, status
- * management, and event publishing.
+ * management, and event publishing. Events go through the transactional outbox, so they are only
+ * published for committed changes and never block on Kafka. Read views are built from explicit
+ * fetch plans: items are loaded together with their orders, audit events only on request. Lookups
+ * of a single order fall back to the archive once the order has been moved out of the live tables.
+ * Order views without events are cached by id and by order number; every change that publishes an
+ * order event also evicts both entries.
  */
 @Slf4j
 @Service
@@ -29,9 +53,23 @@ import org.springframework.data.domain.Pageable;
 @Transactional
 public class OrderService {
 
+  public static final String ORDER_CACHE = "orders";
+  public static final String ORDER_NUMBER_CACHE = "orders-by-number";
+
+  private static final int MAX_PAGE_SIZE = 500;
+  private static final int EXPORT_CHUNK_SIZE = 500;
+  private static final int MAX_BULK_ORDERS = 5000;
+  private static final int BULK_CHUNK_SIZE = 500;
+
   private final OrderRepository orderRepository;
-  private final KafkaTemplate<String, OrderEvent> kafkaTemplate;
+  private final OrderItemRepository orderItemRepository;
   private final OrderEventService orderEventService;
+  private final OrderStatsService orderStatsService;
+  private final OrderArchiveService orderArchiveService;
+  private final OutboxService outboxService;
+  private final SnowflakeIdGenerator snowflakeIdGenerator;
+  private final EntityManager entityManager;
+  private final OrderCacheEvictor orderCacheEvictor;
 
   public Order createOrder(Order order) {
     log.info("Creating new order for user: {}", order.getUserId());
@@ -41,14 +79,20 @@ public class OrderService {
     order.setStatus(Order.OrderStatus.PENDING);
     order.setPaymentStatus(Order.PaymentStatus.PENDING);
 
+    order.getItems().forEach(item -> item.setOrder(order));
     order.recalculateTotal();
 
     Order savedOrder = orderRepository.save(order);
+    if (savedOrder.getShippingCountry() == null && savedOrder.getShippingAddress() != null
+        && !savedOrder.getShippingAddress().isBlank()) {
+      log.warn("No country found in the shipping address of order: {}", savedOrder.getId());
+    }
 
     orderEventService.logEvent(savedOrder, com.flagship.order.model.OrderEvent.EventType.ORDER_CREATED,
         "Order created", null, null);
 
     publishOrderEvent(savedOrder, OrderEvent.OrderEventType.ORDER_CREATED);
+    orderStatsService.orderPlaced(savedOrder);
 
     log.info("Order created successfully with ID: {} and number: {}",
         savedOrder.getId(), savedOrder.getOrderNumber());
@@ -57,12 +101,15 @@ public class OrderService {
 
   @Transactional(readOnly = true)
   public Optional<Order> findById(Long id) {
-    return orderRepository.findById(id);
+    return orderRepository.findById(id)
+        .or(() -> orderArchiveService.findOrder(id, false).map(OrderArchiveService::toOrder));
   }
 
   @Transactional(readOnly = true)
   public Optional<Order> findByOrderNumber(String orderNumber) {
-    return orderRepository.findByOrderNumber(orderNumber);
+    return orderRepository.findByOrderNumber(orderNumber)
+        .or(() -> orderArchiveService.findOrderByNumber(orderNumber, false)
+            .map(OrderArchiveService::toOrder));
   }
 
   @Transactional(readOnly = true)
@@ -75,6 +122,93 @@ public class OrderService {
     return orderRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
   }
 
+  @Cacheable(value = ORDER_CACHE, key = "#id", condition = "!#includeEvents",
+      unless = "#result == null")
+  @Transactional(readOnly = true)
+  public Optional<OrderDto> getOrderDetails(Long id, boolean includeEvents) {
+    return orderRepository.findWithItemsById(id)
+        .map(order -> toDetails(order, includeEvents))
+        .or(() -> orderArchiveService.findOrder(id, includeEvents));
+  }
+
+  @Cacheable(value = ORDER_NUMBER_CACHE, key = "#orderNumber", condition = "!#includeEvents",
+      unless = "#result == null")
+  @Transactional(readOnly = true)
+  public Optional<OrderDto> getOrderDetailsByNumber(String orderNumber, boolean includeEvents) {
+    return orderRepository.findWithItemsByOrderNumber(orderNumber)
+        .map(order -> toDetails(order, includeEvents))
+        .or(() -> orderArchiveService.findOrderByNumber(orderNumber, includeEvents));
+  }
+
+  /**
+   * Pages through all orders, newest first. A page of ids is selected by keyset on
+   * (createdAt, id) and those orders are then loaded with their items in one query.
+   */
+  @Transactional(readOnly = true)
+  public KeysetPage<OrderDto> getAllOrders(String cursor, int size, boolean includeTotal) {
+    int pageSize = clampPageSize(size);
+    Pageable limit = PageRequest.of(0, pageSize + 1);
+
+    List<Long> ids;
+    if (cursor == null) {
+      ids = orderRepository.findFirstPageIds(limit);
+    } else {
+      KeysetCursor after = KeysetCursor.decode(cursor);
+      ids = orderRepository.findPageIdsAfter(after.getTimestamp(), after.getId(), limit);
+    }
+
+    Map<Long, Order> orders = ids.isEmpty() ? Map.of()
+        : orderRepository.findWithItemsByIdIn(ids).stream()
+            .collect(Collectors.toMap(Order::getId, Function.identity()));
+    List<Order> rows = ids.stream()
+        .map(orders::get)
+        .filter(Objects::nonNull)
+        .toList();
+
+    KeysetPage<OrderDto> page = KeysetPage.of(rows, pageSize, OrderService::cursorOf)
+        .map(OrderDto::from);
+    if (includeTotal) {
+      page.setTotalElements(orderRepository.count());
+    }
+    return page;
+  }
+
+  @Transactional(readOnly = true)
+  public List<OrderDto> getOrderSummariesByStatus(Order.OrderStatus status) {
+    return orderRepository.findWithItemsByStatusOrderByCreatedAtDesc(status).stream()
+        .map(OrderDto::from)
+        .toList();
+  }
+
+  @Transactional(readOnly = true)
+  public List<OrderDto> getOrderSummariesByDateRange(LocalDateTime startDate,
+      LocalDateTime endDate) {
+    return orderRepository.findWithItemsByCreatedAtBetweenOrderByCreatedAtDesc(startDate, endDate)
+        .stream()
+        .map(OrderDto::from)
+        .toList();
+  }
+
+  /**
+   * Orders shipped to a country, or to one city in it, newest first. Names are normalized the
+   * same way as the stored location, so "United States" and "USA" find the same orders.
+   */
+  @Transactional(readOnly = true)
+  public List<OrderDto> getOrderSummariesByShippingLocation(String country, String city) {
+    String normalizedCountry = ShippingLocation.normalizeCountry(country);
+    if (normalizedCountry == null) {
+      throw new IllegalArgumentException("Country is required");
+    }
+    String normalizedCity = ShippingLocation.normalizeCity(city);
+    List<Order> orders = normalizedCity == null
+        ? orderRepository.findWithItemsByShippingCountryOrderByCreatedAtDesc(normalizedCountry)
+        : orderRepository.findWithItemsByShippingCountryAndShippingCityOrderByCreatedAtDesc(
+            normalizedCountry, normalizedCity);
+    return orders.stream()
+        .map(OrderDto::from)
+        .toList();
+  }
+
   public Order updateOrderStatus(Long orderId, Order.OrderStatus newStatus) {
     log.info("Updating order status for order ID: {} to: {}", orderId, newStatus);
 
@@ -82,7 +216,7 @@ public class OrderService {
         .orElseThrow(() -> new IllegalArgumentException("Order not found with ID: " + orderId));
 
     Order.OrderStatus previousStatus = order.getStatus();
-    order.updateStatus(newStatus);
+    order.transitionTo(newStatus);
 
     Order savedOrder = orderRepository.save(order);
 
@@ -90,12 +224,98 @@ public class OrderService {
         "Order status changed from " + previousStatus + " to " + newStatus,
         previousStatus.toString(), newStatus.toString());
 
-    publishOrderEvent(savedOrder, OrderEvent.OrderEventType.STATUS_CHANGED);
+    publishOrderEvent(savedOrder, statusEventType(newStatus));
+    orderStatsService.statusChanged(previousStatus, newStatus);
 
     log.info("Order status updated successfully for order ID: {}", orderId);
     return savedOrder;
   }
 
+  /**
+   * Moves many orders to one status. Orders are locked and checked in chunks of 500; each order
+   * goes through {@link Order#updateStatus} like a single change, so its version, update time and
+   * delivery date are kept, and the chunk's updates, audit events and outbox rows are written as
+   * JDBC batches. Orders that do not exist or may not make the transition are reported back and
+   * left alone.
+   */
+  public BulkStatusUpdateResult bulkUpdateOrderStatus(List<Long> orderIds,
+      Order.OrderStatus newStatus) {
+    TreeSet<Long> ids = orderIds.stream()
+        .filter(Objects::nonNull)
+        .collect(Collectors.toCollection(TreeSet::new));
+    if (ids.size() > MAX_BULK_ORDERS) {
+      throw new IllegalArgumentException(
+          "At most " + MAX_BULK_ORDERS + " orders can be updated at once");
+    }
+    log.info("Bulk updating {} orders to status: {}", ids.size(), newStatus);
+
+    Map<Long, String> rejected = new LinkedHashMap<>();
+    int updated = 0;
+    List<Long> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+    for (Long id : ids) {
+      chunk.add(id);
+      if (chunk.size() == BULK_CHUNK_SIZE) {
+        updated += bulkUpdateChunk(chunk, newStatus, rejected);
+        chunk.clear();
+      }
+    }
+    updated += bulkUpdateChunk(chunk, newStatus, rejected);
+
+    log.info("Bulk status update to {} changed {} orders, rejected {}", newStatus, updated,
+        rejected.size());
+    return BulkStatusUpdateResult.builder()
+        .status(newStatus)
+        .requested(ids.size())
+        .updated(updated)
+        .rejected(rejected)
+        .build();
+  }
+
+  private int bulkUpdateChunk(List<Long> ids, Order.OrderStatus newStatus,
+      Map<Long, String> rejected) {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+
+    Map<Long, Order> orders = orderRepository.findAllForUpdateByIdIn(ids).stream()
+        .collect(Collectors.toMap(Order::getId, Function.identity()));
+    List<Order> changed = new ArrayList<>(orders.size());
+    Map<Long, Order.OrderStatus> previousStatuses = new HashMap<>();
+    for (Long id : ids) {
+      Order order = orders.get(id);
+      if (order == null) {
+        rejected.put(id, "Order not found");
+      } else if (!order.getStatus().canTransitionTo(newStatus)) {
+        rejected.put(id, "Cannot change status from " + order.getStatus() + " to " + newStatus);
+      } else {
+        previousStatuses.put(id, order.getStatus());
+        changed.add(order);
+      }
+    }
+    if (changed.isEmpty()) {
+      return 0;
+    }
+
+    Map<Order.OrderStatus, Long> transitions = new EnumMap<>(Order.OrderStatus.class);
+    List<OrderEvent> events = new ArrayList<>(changed.size());
+    for (Order order : changed) {
+      transitions.merge(order.getStatus(), 1L, Long::sum);
+      order.updateStatus(newStatus);
+      events.add(toOrderEvent(order, statusEventType(newStatus)));
+    }
+    orderCacheEvictor.evictCachedOrders(previousStatuses.keySet(),
+        changed.stream().map(Order::getOrderNumber).toList());
+    orderEventService.logStatusChanges(changed, previousStatuses);
+    outboxService.enqueueAll(events);
+    transitions.forEach((previousStatus, count) ->
+        orderStatsService.statusChanged(previousStatus, newStatus, count));
+
+    // Written now, so a large request does not keep every chunk's orders in memory
+    entityManager.flush();
+    entityManager.clear();
+    return changed.size();
+  }
+
   public Order updatePaymentStatus(Long orderId, Order.PaymentStatus newStatus) {
     log.info("Updating payment status for order ID: {} to: {}", orderId, newStatus);
 
@@ -119,6 +339,7 @@ public class OrderService {
     };
 
     publishOrderEvent(savedOrder, eventType);
+    orderStatsService.paymentStatusChanged(savedOrder, previousStatus, newStatus);
 
     log.info("Payment status updated successfully for order ID: {}", orderId);
     return savedOrder;
@@ -183,6 +404,7 @@ public class OrderService {
       throw new IllegalStateException("Cannot cancel order in status: " + order.getStatus());
     }
 
+    Order.OrderStatus previousStatus = order.getStatus();
     order.updateStatus(Order.OrderStatus.CANCELLED);
     Order savedOrder = orderRepository.save(order);
 
@@ -190,6 +412,7 @@ public class OrderService {
         "Order cancelled", null, null);
 
     publishOrderEvent(savedOrder, OrderEvent.OrderEventType.ORDER_CANCELLED);
+    orderStatsService.statusChanged(previousStatus, Order.OrderStatus.CANCELLED);
 
     log.info("Order cancelled successfully with ID: {}", orderId);
     return savedOrder;
@@ -225,29 +448,102 @@ public class OrderService {
     return orderRepository.findByCreatedAtBetweenOrderByCreatedAtDesc(startDate, endDate);
   }
 
+  /**
+   * Streams every order created in the date range to {@code consumer}. Orders are read through a
+   * database cursor and handled in chunks: the items of a chunk are loaded with one query, the
+   * chunk is written, and the persistence context is cleared, so memory stays flat however long
+   * the range is.
+   *
+   * @return the number of orders written
+   */
+  @Transactional(readOnly = true)
+  public long exportOrdersByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+      Consumer<OrderDto> consumer) {
+    long exported = 0;
+    List<Order> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+    try (Stream<Order> orders = orderRepository.streamByCreatedAtBetween(startDate, endDate)) {
+      for (Order order : (Iterable<Order>) orders::iterator) {
+        chunk.add(order);
+        if (chunk.size() == EXPORT_CHUNK_SIZE) {
+          exported += exportChunk(chunk, consumer);
+        }
+      }
+    }
+    exported += exportChunk(chunk, consumer);
+    log.debug("Exported {} orders between {} and {}", exported, startDate, endDate);
+    return exported;
+  }
+
+  private int exportChunk(List<Order> chunk, Consumer<OrderDto> consumer) {
+    if (chunk.isEmpty()) {
+      return 0;
+    }
+
+    Map<Long, List<OrderItem>> items = orderItemRepository.findByOrderIdInOrderByIdAsc(
+            chunk.stream().map(Order::getId).toList()).stream()
+        .collect(Collectors.groupingBy(item -> item.getOrder().getId()));
+    for (Order order : chunk) {
+      consumer.accept(OrderDto.withItems(order, items.getOrDefault(order.getId(), List.of())));
+    }
+
+    int written = chunk.size();
+    chunk.clear();
+    entityManager.clear();
+    return written;
+  }
+
+  private OrderDto toDetails(Order order, boolean includeEvents) {
+    if (!includeEvents) {
+      return OrderDto.from(order);
+    }
+    return OrderDto.from(order, orderEventService.getOrderEvents(order.getId()));
+  }
+
   private String generateOrderNumber() {
-    return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    return snowflakeIdGenerator.nextId("ORD-");
   }
 
   private void publishOrderEvent(Order order, OrderEvent.OrderEventType eventType) {
-    try {
-      // Create lightweight event with only essential data
-      OrderEvent event = OrderEvent.builder()
-          .orderId(order.getId())
-          .orderNumber(order.getOrderNumber())
-          .userId(order.getUserId())
-          .eventType(eventType)
-          .timestamp(LocalDateTime.now())
-          .totalAmount(order.getTotalAmount())
-          .currency(order.getCurrency())
-          .status(order.getStatus().toString())
-          .paymentStatus(order.getPaymentStatus().toString())
-          .build();
-
-      kafkaTemplate.send("order-events", event);
-      log.debug("Published order event: {} for order: {}", eventType, order.getId());
-    } catch (Exception e) {
-      log.error("Failed to publish order event: {} for order: {}", eventType, order.getId(), e);
-    }
+    // Keyed by order so every change of an order is consumed in commit order
+    outboxService.enqueue(String.valueOf(order.getId()), toOrderEvent(order, eventType));
+    evictCachedOrder(order);
+  }
+
+  private void evictCachedOrder(Order order) {
+    orderCacheEvictor.evictCachedOrder(order.getId(), order.getOrderNumber());
+  }
+
+  /**
+   * A move to CANCELLED is published as a cancellation however it happens, since that is what
+   * inventory releases reservations on and what ends a checkout.
+   */
+  private static OrderEvent.OrderEventType statusEventType(Order.OrderStatus newStatus) {
+    return newStatus == Order.OrderStatus.CANCELLED
+        ? OrderEvent.OrderEventType.ORDER_CANCELLED
+        : OrderEvent.OrderEventType.STATUS_CHANGED;
+  }
+
+  private OrderEvent toOrderEvent(Order order, OrderEvent.OrderEventType eventType) {
+    // Create lightweight event with only essential data
+    return OrderEvent.builder()
+        .orderId(order.getId())
+        .orderNumber(order.getOrderNumber())
+        .userId(order.getUserId())
+        .eventType(eventType)
+        .timestamp(LocalDateTime.now())
+        .totalAmount(order.getTotalAmount())
+        .currency(order.getCurrency())
+        .status(order.getStatus().toString())
+        .paymentStatus(order.getPaymentStatus().toString())
+        .trackingNumber(order.getTrackingNumber())
+        .build();
+  }
+
+  private static int clampPageSize(int size) {
+    return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+  }
+
+  private static KeysetCursor cursorOf(Order order) {
+    return new KeysetCursor(order.getCreatedAt(), order.getId());
   }
 }
@@ -0,0 +1,409 @@
+package com.flagship.order.service;
+
+import com.flagship.order.dto.OrderStatsDto;
+import com.flagship.order.model.Money;
+import com.flagship.order.model.Order;
+import com.flagship.order.model.OrderHourlyStats;
+import com.flagship.order.model.OrderStatsDelta;
+import com.flagship.order.model.OrderStatusCount;
+import com.flagship.order.repository.OrderHourlyStatsRepository;
+import com.flagship.order.repository.OrderRepository;
+import com.flagship.order.repository.OrderStatsDeltaRepository;
+import com.flagship.order.repository.OrderStatusCountRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Order Stats Service
+ * <p>
+ * Keeps the dashboard numbers current without counting orders. Every status change writes delta
+ * rows in the same transaction as the change, so a delta exists exactly when its change
+ * committed, and no order transaction contends on a shared counter row. Deltas are folded into
+ * the counter and hourly tables on a schedule, each instance claiming its own rows with SKIP
+ * LOCKED. A counter's value is its folded total plus the deltas not folded yet, read back after
+ * each fold. The counters are recounted from the orders table when they do not exist yet and
+ * periodically after that, in one REPEATABLE READ transaction that also drops the deltas its
+ * count already includes; hourly buckets start with the first fold.
+ */
+@Slf4j
+@Service
+public class OrderStatsService implements MeterBinder {
+
+  private static final int MAX_HOURS = 24 * 31;
+
+  private final OrderStatusCountRepository orderStatusCountRepository;
+  private final OrderHourlyStatsRepository orderHourlyStatsRepository;
+  private final OrderStatsDeltaRepository orderStatsDeltaRepository;
+  private final OrderRepository orderRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate recountTransactionTemplate;
+  private final boolean seedOnStartup;
+  private final int foldBatchSize;
+
+  private final Map<String, Long> counts = new ConcurrentHashMap<>();
+  // Nothing is folded before seeding, which only runs against an empty counter table
+  private volatile boolean seeded;
+
+  public OrderStatsService(OrderStatusCountRepository orderStatusCountRepository,
+      OrderHourlyStatsRepository orderHourlyStatsRepository,
+      OrderStatsDeltaRepository orderStatsDeltaRepository,
+      OrderRepository orderRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${order.stats.seed-on-startup:true}") boolean seedOnStartup,
+      @Value("${order.stats.fold-batch-size:5000}") int foldBatchSize) {
+    this.orderStatusCountRepository = orderStatusCountRepository;
+    this.orderHourlyStatsRepository = orderHourlyStatsRepository;
+    this.orderStatsDeltaRepository = orderStatsDeltaRepository;
+    this.orderRepository = orderRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    // The count and the deltas it replaces have to be read from the same snapshot
+    this.recountTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.recountTransactionTemplate.setIsolationLevel(
+        TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    this.seedOnStartup = seedOnStartup;
+    this.foldBatchSize = Math.max(1, foldBatchSize);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry meterRegistry) {
+    for (Order.OrderStatus status : Order.OrderStatus.values()) {
+      Gauge.builder("order.status.count", this, stats -> stats.getStatusCount(status))
+          .tag("status", status.name())
+          .register(meterRegistry);
+    }
+    for (Order.PaymentStatus status : Order.PaymentStatus.values()) {
+      Gauge.builder("order.payment.status.count", this,
+              stats -> stats.getPaymentStatusCount(status))
+          .tag("payment_status", status.name())
+          .register(meterRegistry);
+    }
+  }
+
+  public void orderPlaced(Order order) {
+    LocalDateTime placedAt = order.getCreatedAt() != null
+        ? order.getCreatedAt()
+        : LocalDateTime.now();
+    Money total = order.getTotal();
+    OrderStatsDelta hour = hourDelta(placedAt, total.currency());
+    hour.setOrdersPlaced(1);
+    hour.setPlacedMinorUnits(total.minorUnits());
+    orderStatsDeltaRepository.saveAll(List.of(
+        countDelta(CounterKey.of(order.getStatus()), 1),
+        countDelta(CounterKey.of(order.getPaymentStatus()), 1),
+        hour));
+  }
+
+  public void statusChanged(Order.OrderStatus previousStatus, Order.OrderStatus newStatus) {
+    statusChanged(previousStatus, newStatus, 1);
+  }
+
+  public void statusChanged(Order.OrderStatus previousStatus, Order.OrderStatus newStatus,
+      long orders) {
+    if (previousStatus == newStatus || orders == 0) {
+      return;
+    }
+    orderStatsDeltaRepository.saveAll(List.of(
+        countDelta(CounterKey.of(previousStatus), -orders),
+        countDelta(CounterKey.of(newStatus), orders)));
+  }
+
+  public void paymentStatusChanged(Order order, Order.PaymentStatus previousStatus,
+      Order.PaymentStatus newStatus) {
+    if (previousStatus == newStatus) {
+      return;
+    }
+    List<OrderStatsDelta> deltas = new ArrayList<>(3);
+    deltas.add(countDelta(CounterKey.of(previousStatus), -1));
+    deltas.add(countDelta(CounterKey.of(newStatus), 1));
+    if (newStatus == Order.PaymentStatus.PAID) {
+      Money total = order.getTotal();
+      OrderStatsDelta hour = hourDelta(LocalDateTime.now(), total.currency());
+      hour.setOrdersPaid(1);
+      hour.setPaidMinorUnits(total.minorUnits());
+      deltas.add(hour);
+    }
+    orderStatsDeltaRepository.saveAll(deltas);
+  }
+
+  /**
+   * Takes orders that are deleted from the orders table, e.g. by archival, out of the counters.
+   * Hourly buckets keep them, they describe when orders were placed and paid.
+   */
+  public void ordersRemoved(Collection<Order> orders) {
+    Map<CounterKey, Long> removed = new HashMap<>();
+    for (Order order : orders) {
+      removed.merge(CounterKey.of(order.getStatus()), 1L, Long::sum);
+      if (order.getPaymentStatus() != null) {
+        removed.merge(CounterKey.of(order.getPaymentStatus()), 1L, Long::sum);
+      }
+    }
+    List<OrderStatsDelta> deltas = new ArrayList<>(removed.size());
+    removed.forEach((key, count) -> deltas.add(countDelta(key, -count)));
+    orderStatsDeltaRepository.saveAll(deltas);
+  }
+
+  public long getStatusCount(Order.OrderStatus status) {
+    return getCount(CounterKey.of(status));
+  }
+
+  public long getPaymentStatusCount(Order.PaymentStatus status) {
+    return getCount(CounterKey.of(status));
+  }
+
+  /**
+   * Current counters and the hourly buckets of the last {@code hours} hours, including the
+   * current one. Buckets reflect the last flush.
+   */
+  public OrderStatsDto getStats(int hours) {
+    int window = Math.max(1, Math.min(hours, MAX_HOURS));
+    LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(window - 1);
+
+    Map<Order.OrderStatus, Long> statusCounts = new EnumMap<>(Order.OrderStatus.class);
+    for (Order.OrderStatus status : Order.OrderStatus.values()) {
+      statusCounts.put(status, getStatusCount(status));
+    }
+    Map<Order.PaymentStatus, Long> paymentStatusCounts = new EnumMap<>(Order.PaymentStatus.class);
+    for (Order.PaymentStatus status : Order.PaymentStatus.values()) {
+      paymentStatusCounts.put(status, getPaymentStatusCount(status));
+    }
+
+    return OrderStatsDto.builder()
+        .statusCounts(statusCounts)
+        .paymentStatusCounts(paymentStatusCounts)
+        .hourly(orderHourlyStatsRepository
+            .findByBucketStartGreaterThanEqualOrderByBucketStartAscCurrencyAsc(from))
+        .asOf(LocalDateTime.now())
+        .build();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void seed() {
+    try {
+      if (seedOnStartup && orderStatusCountRepository.count() == 0) {
+        recountTransactionTemplate.executeWithoutResult(status -> recountCounters());
+      }
+    } catch (RuntimeException e) {
+      // Another instance seeded at the same time; its rows are read back below
+      log.warn("Order status counters could not be seeded", e);
+    }
+    seeded = true;
+    refreshCounts();
+  }
+
+  @Scheduled(fixedDelayString = "${order.stats.flush-interval:PT10S}")
+  public void flush() {
+    if (!seeded) {
+      return;
+    }
+    try {
+      Integer folded;
+      do {
+        folded = transactionTemplate.execute(status -> fold());
+      } while (folded != null && folded == foldBatchSize);
+    } catch (RuntimeException e) {
+      // Typically two instances creating the same row; the deltas are folded with the next run
+      log.warn("Failed to fold order stats, retrying with the next flush", e);
+    }
+    refreshCounts();
+  }
+
+  /**
+   * Resets the status counters to a count of the orders table, repairing any drift, e.g. from
+   * orders changed directly in the database.
+   */
+  @Scheduled(fixedDelayString = "${order.stats.recount-interval:PT6H}",
+      initialDelayString = "${order.stats.recount-interval:PT6H}")
+  public void recount() {
+    try {
+      recountTransactionTemplate.executeWithoutResult(status -> recountCounters());
+    } catch (RuntimeException e) {
+      // Usually a concurrent fold or recount; the next run tries again
+      log.warn("Failed to recount order status counters", e);
+    }
+    refreshCounts();
+  }
+
+  private void recountCounters() {
+    Map<CounterKey, Long> totals = new HashMap<>();
+    for (Order.OrderStatus status : Order.OrderStatus.values()) {
+      totals.put(CounterKey.of(status), 0L);
+    }
+    for (Order.PaymentStatus status : Order.PaymentStatus.values()) {
+      totals.put(CounterKey.of(status), 0L);
+    }
+    for (Object[] row : orderRepository.countGroupedByStatus()) {
+      totals.put(CounterKey.of((Order.OrderStatus) row[0]), (Long) row[1]);
+    }
+    for (Object[] row : orderRepository.countGroupedByPaymentStatus()) {
+      if (row[0] != null) {
+        totals.put(CounterKey.of((Order.PaymentStatus) row[0]), (Long) row[1]);
+      }
+    }
+    // Only drops deltas visible to this snapshot, which the count above already includes
+    orderStatsDeltaRepository.deleteCountDeltas();
+
+    LocalDateTime now = LocalDateTime.now();
+    totals.forEach((key, total) -> {
+      if (orderStatusCountRepository.setTotal(key.value(), total, now) == 0) {
+        orderStatusCountRepository.save(key.toEntity(total, now));
+      }
+    });
+    log.info("Recounted {} order status counters from the orders table", totals.size());
+  }
+
+  private int fold() {
+    List<OrderStatsDelta> deltas = orderStatsDeltaRepository.lockBatch(
+        PageRequest.of(0, foldBatchSize));
+    if (deltas.isEmpty()) {
+      return 0;
+    }
+
+    Map<String, Long> countDeltas = new HashMap<>();
+    Map<HourKey, OrderStatsDelta> hourDeltas = new HashMap<>();
+    List<Long> ids = new ArrayList<>(deltas.size());
+    for (OrderStatsDelta delta : deltas) {
+      if (delta.getCounterKey() != null) {
+        countDeltas.merge(delta.getCounterKey(), delta.getCountDelta(), Long::sum);
+      }
+      if (delta.getBucketStart() != null) {
+        hourDeltas.merge(new HourKey(delta.getBucketStart(), delta.getCurrency()), delta,
+            OrderStatsService::sumHours);
+      }
+      ids.add(delta.getId());
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    countDeltas.forEach((key, delta) -> {
+      if (delta != 0 && orderStatusCountRepository.increment(key, delta, now) == 0) {
+        orderStatusCountRepository.save(CounterKey.parse(key).toEntity(delta, now));
+      }
+    });
+    writeHours(hourDeltas);
+    orderStatsDeltaRepository.deleteByIdIn(ids);
+    log.debug("Folded {} order stats deltas into {} counter(s) and {} hourly bucket(s)",
+        deltas.size(), countDeltas.size(), hourDeltas.size());
+    return deltas.size();
+  }
+
+  private void writeHours(Map<HourKey, OrderStatsDelta> hours) {
+    hours.forEach((key, delta) -> {
+      int updated = orderHourlyStatsRepository.increment(key.bucketStart(), key.currency(),
+          delta.getOrdersPlaced(), Money.toAmount(delta.getPlacedMinorUnits()),
+          delta.getOrdersPaid(), Money.toAmount(delta.getPaidMinorUnits()));
+      if (updated == 0) {
+        orderHourlyStatsRepository.save(OrderHourlyStats.builder()
+            .bucketStart(key.bucketStart())
+            .currency(key.currency())
+            .ordersPlaced(delta.getOrdersPlaced())
+            .placedAmount(Money.toAmount(delta.getPlacedMinorUnits()))
+            .ordersPaid(delta.getOrdersPaid())
+            .paidAmount(Money.toAmount(delta.getPaidMinorUnits()))
+            .build());
+      }
+    });
+  }
+
+  private void refreshCounts() {
+    try {
+      Map<String, Long> current = new HashMap<>();
+      for (OrderStatusCount count : orderStatusCountRepository.findAll()) {
+        current.put(count.getCounterKey(), count.getTotal());
+      }
+      for (Object[] row : orderStatsDeltaRepository.sumCountDeltas()) {
+        current.merge((String) row[0], (Long) row[1], Long::sum);
+      }
+      counts.putAll(current);
+    } catch (RuntimeException e) {
+      log.warn("Failed to read order status counters", e);
+    }
+  }
+
+  private long getCount(CounterKey key) {
+    return counts.getOrDefault(key.value(), 0L);
+  }
+
+  private static OrderStatsDelta countDelta(CounterKey key, long delta) {
+    return OrderStatsDelta.builder()
+        .counterKey(key.value())
+        .countDelta(delta)
+        .build();
+  }
+
+  private static OrderStatsDelta hourDelta(LocalDateTime at, String currency) {
+    return OrderStatsDelta.builder()
+        .bucketStart(at.truncatedTo(ChronoUnit.HOURS))
+        .currency(currency != null ? currency : "USD")
+        .build();
+  }
+
+  private static OrderStatsDelta sumHours(OrderStatsDelta sum, OrderStatsDelta delta) {
+    Money placed = new Money(sum.getPlacedMinorUnits(), sum.getCurrency())
+        .plus(new Money(delta.getPlacedMinorUnits(), delta.getCurrency()));
+    Money paid = new Money(sum.getPaidMinorUnits(), sum.getCurrency())
+        .plus(new Money(delta.getPaidMinorUnits(), delta.getCurrency()));
+    // Sums into a fresh row, the claimed ones are only deleted
+    return OrderStatsDelta.builder()
+        .bucketStart(sum.getBucketStart())
+        .currency(placed.currency())
+        .ordersPlaced(sum.getOrdersPlaced() + delta.getOrdersPlaced())
+        .placedMinorUnits(placed.minorUnits())
+        .ordersPaid(sum.getOrdersPaid() + delta.getOrdersPaid())
+        .paidMinorUnits(paid.minorUnits())
+        .build();
+  }
+
+  private record CounterKey(OrderStatusCount.Dimension dimension, String status) {
+
+    static CounterKey of(Order.OrderStatus status) {
+      return new CounterKey(OrderStatusCount.Dimension.ORDER_STATUS, status.name());
+    }
+
+    static CounterKey of(Order.PaymentStatus status) {
+      return new CounterKey(OrderStatusCount.Dimension.PAYMENT_STATUS, status.name());
+    }
+
+    static CounterKey parse(String value) {
+      int separator = value.indexOf(':');
+      return new CounterKey(OrderStatusCount.Dimension.valueOf(value.substring(0, separator)),
+          value.substring(separator + 1));
+    }
+
+    String value() {
+      return OrderStatusCount.keyOf(dimension, status);
+    }
+
+    OrderStatusCount toEntity(long total, LocalDateTime now) {
+      return OrderStatusCount.builder()
+          .counterKey(value())
+          .dimension(dimension)
+          .status(status)
+          .total(total)
+          .updatedAt(now)
+          .build();
+    }
+  }
+
+  private record HourKey(LocalDateTime bucketStart, String currency) {
+  }
+}
@@ -0,0 +1,41 @@
+package com.flagship.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flagship.common.outbox.OutboxPublisher;
+import com.flagship.order.event.OrderEvent;
+import com.flagship.order.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+/**
+ * Outbox Relay
+ * <p>
+ * Drains the order outbox in id order through the shared {@link OutboxPublisher}. Events are
+ * keyed by order, so all events of an order land on one partition in commit order.
+ */
+@Component
+public class OutboxRelay {
+
+  private final OutboxPublisher<OrderEvent> publisher;
+
+  public OutboxRelay(JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      KafkaTemplate<String, OrderEvent> kafkaTemplate,
+      ObjectMapper objectMapper,
+      @Value("${order.outbox.batch-size:500}") int batchSize,
+      @Value("${order.outbox.send-timeout:PT30S}") Duration sendTimeout) {
+    this.publisher = new OutboxPublisher<>(OutboxEvent.TABLE, OrderEvent.class, jdbcTemplate,
+        transactionManager, kafkaTemplate, objectMapper, batchSize, sendTimeout);
+  }
+
+  @Scheduled(fixedDelayString = "${order.outbox.poll-interval:PT0.5S}")
+  public void relay() {
+    publisher.publishBatch();
+  }
+}
@@ -0,0 +1,78 @@
+package com.flagship.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flagship.order.event.OrderEvent;
+import com.flagship.order.model.OutboxEvent;
+import com.flagship.order.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outbox Service
+ * <p>
+ * Records order events in the outbox table as part of the caller's transaction, so an event
+ * exists if and only if the change it describes was committed. Publishing is left to
+ * {@link OutboxRelay}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+  public static final String ORDER_EVENTS_TOPIC = "order-events";
+
+  private static final String INSERT_SQL = "INSERT INTO " + OutboxEvent.TABLE + " "
+      + "(topic, message_key, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+
+  public void enqueue(String messageKey, OrderEvent event) {
+    try {
+      outboxEventRepository.save(OutboxEvent.builder()
+          .topic(ORDER_EVENTS_TOPIC)
+          .messageKey(messageKey)
+          .eventType(event.getEventType().name())
+          .payload(objectMapper.writeValueAsString(event))
+          .build());
+      log.debug("Queued order event: {} with key: {}", event.getEventType(), messageKey);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Failed to serialize order event", e);
+    }
+  }
+
+  /**
+   * Records one event per order with a single JDBC batch, keyed by order id like
+   * {@link #enqueue}. Used by bulk operations, where per-row inserts through JPA would not batch
+   * because of the IDENTITY id.
+   */
+  public void enqueueAll(List<OrderEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    List<Object[]> rows = new ArrayList<>(events.size());
+    for (OrderEvent event : events) {
+      try {
+        rows.add(new Object[]{ORDER_EVENTS_TOPIC, String.valueOf(event.getOrderId()),
+            event.getEventType().name(), objectMapper.writeValueAsString(event), now});
+      } catch (JsonProcessingException e) {
+        throw new IllegalArgumentException("Failed to serialize order event", e);
+      }
+    }
+    jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    log.debug("Queued {} order events", rows.size());
+  }
+}
@@ -0,0 +1,104 @@
+package com.flagship.order.service;
+
+import com.flagship.order.model.ShippingLocation;
+import com.flagship.order.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shipping Location Backfill
+ * <p>
+ * Parses the free-text shipping address of orders written before the structured city and country
+ * columns existed. Runs once across all instances as a background one-off job; orders are walked
+ * in id order and each batch is written with one JDBC batch in its own transaction. Addresses that
+ * yield neither a city nor a country are left as they are and counted.
+ */
+@Slf4j
+@Component
+public class ShippingLocationBackfill {
+
+  static final String BACKFILL_JOB = "shipping-location-backfill";
+
+  // Leaves updated_at alone, which the archival job reads, and skips orders written meanwhile
+  private static final String UPDATE_SQL = "UPDATE orders SET shipping_city = ?, " +
+      "shipping_country = ? WHERE id = ? AND shipping_city IS NULL AND shipping_country IS NULL";
+
+  private final OrderRepository orderRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final OneOffJobService oneOffJobService;
+  private final OrderCacheEvictor orderCacheEvictor;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final int batchSize;
+
+  public ShippingLocationBackfill(OrderRepository orderRepository,
+      JdbcTemplate jdbcTemplate,
+      OneOffJobService oneOffJobService,
+      OrderCacheEvictor orderCacheEvictor,
+      PlatformTransactionManager transactionManager,
+      @Value("${order.shipping-location.backfill-on-startup:true}") boolean enabled,
+      @Value("${order.shipping-location.backfill-batch-size:500}") int batchSize) {
+    this.orderRepository = orderRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.oneOffJobService = oneOffJobService;
+    this.orderCacheEvictor = orderCacheEvictor;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.batchSize = Math.max(1, batchSize);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void scheduleBackfill() {
+    if (enabled) {
+      oneOffJobService.runOnce(BACKFILL_JOB, this::backfill);
+    }
+  }
+
+  public void backfill() {
+    long afterId = 0;
+    int parsed = 0;
+    int unparsed = 0;
+    while (true) {
+      List<Object[]> rows = orderRepository.findUnparsedShippingAddresses(afterId,
+          PageRequest.of(0, batchSize));
+      if (rows.isEmpty()) {
+        break;
+      }
+
+      List<Object[]> updates = new ArrayList<>(rows.size());
+      List<Long> ids = new ArrayList<>(rows.size());
+      List<String> orderNumbers = new ArrayList<>(rows.size());
+      for (Object[] row : rows) {
+        ShippingLocation location = ShippingLocation.parse((String) row[1]);
+        if (location.city() != null || location.country() != null) {
+          updates.add(new Object[]{location.city(), location.country(), row[0]});
+          ids.add((Long) row[0]);
+          orderNumbers.add((String) row[2]);
+        } else {
+          unparsed++;
+        }
+      }
+      if (!updates.isEmpty()) {
+        transactionTemplate.executeWithoutResult(status -> {
+          jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+          orderCacheEvictor.evictCachedOrders(ids, orderNumbers);
+        });
+      }
+      parsed += updates.size();
+      afterId = (Long) rows.get(rows.size() - 1)[0];
+    }
+
+    log.info("Parsed shipping location of {} existing orders, {} addresses named no city "
+        + "or country", parsed, unparsed);
+  }
+}
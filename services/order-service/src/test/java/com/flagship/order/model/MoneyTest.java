@@ -0,0 +1,104 @@
+package com.flagship.order.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Money Test
+ * <p>
+ * Covers where item totals are rounded, that a total computed before an item is saved is the one
+ * recomputed after it is read back, and that the order total follows every item change.
+ */
+class MoneyTest {
+
+  private final PriceUnitsConverter priceConverter = new PriceUnitsConverter();
+
+  @Test
+  void itemTotalIsRoundedOnceAfterMultiplying() {
+    assertThat(Money.times(Money.toPriceUnits(new BigDecimal("0.333333")), 3)).isEqualTo(100);
+    assertThat(Money.times(Money.toPriceUnits(new BigDecimal("0.005")), 1)).isEqualTo(1);
+    assertThat(Money.times(Money.toPriceUnits(new BigDecimal("0.004999")), 1)).isZero();
+    assertThat(Money.times(Money.toPriceUnits(new BigDecimal("-0.005")), 1)).isEqualTo(-1);
+  }
+
+  @Test
+  void unitPriceKeepsItsPrecisionInTheColumn() {
+    long priceUnits = Money.toPriceUnits(new BigDecimal("19.994999"));
+
+    BigDecimal column = priceConverter.convertToDatabaseColumn(priceUnits);
+
+    assertThat(column).isEqualByComparingTo("19.994999");
+    assertThat(column.scale()).isEqualTo(Money.PRICE_SCALE);
+    assertThat(priceConverter.convertToEntityAttribute(column)).isEqualTo(priceUnits);
+  }
+
+  @Test
+  void itemTotalIsTheSameAfterReload() {
+    OrderItem item = item(new BigDecimal("0.333333"), 3);
+    BigDecimal stored = priceConverter.convertToDatabaseColumn(
+        Money.toPriceUnits(item.getUnitPrice()));
+
+    OrderItem reloaded = item(Money.toPrice(priceConverter.convertToEntityAttribute(stored)), 3);
+
+    assertThat(item.getTotalPrice()).isEqualByComparingTo("1.00");
+    assertThat(reloaded.getTotalPrice()).isEqualByComparingTo(item.getTotalPrice());
+  }
+
+  @Test
+  void orderTotalMatchesAFullRecalculation() {
+    Order order = Order.builder().currency("USD").build();
+    order.addItem(item(new BigDecimal("0.333333"), 3));
+    order.addItem(item(new BigDecimal("2.005"), 1));
+
+    assertThat(order.getTotal()).isEqualTo(new Money(301, "USD"));
+  }
+
+  @Test
+  void changingAnItemUpdatesTheOrderTotal() {
+    Order order = Order.builder().currency("USD").build();
+    OrderItem item = item(BigDecimal.TEN, 2);
+    order.addItem(item);
+
+    item.setQuantity(3);
+    item.setDiscountAmount(new BigDecimal("1.50"));
+
+    assertThat(order.getTotal()).isEqualTo(new Money(2850, "USD"));
+    order.removeItem(item);
+    assertThat(order.getTotal()).isEqualTo(Money.zero("USD"));
+  }
+
+  @Test
+  void moneyOnlyCombinesWithTheSameCurrency() {
+    Money tenDollars = Money.of(BigDecimal.TEN, "USD");
+
+    assertThat(tenDollars.plus(new Money(5, "USD"))).isEqualTo(new Money(1005, "USD"));
+    assertThat(tenDollars.minus(new Money(1000, "USD"))).isEqualTo(Money.zero("USD"));
+    assertThat(tenDollars.amount()).isEqualByComparingTo("10.00");
+    assertThatThrownBy(() -> tenDollars.plus(Money.zero("EUR")))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void amountsInDifferentCurrenciesAreNotCombined() {
+    Order euroOrder = Order.builder().currency("EUR").build();
+    OrderItem item = item(BigDecimal.TEN, 1);
+    euroOrder.addItem(item);
+    Order dollarOrder = Order.builder().currency("USD").build();
+
+    assertThatThrownBy(() -> dollarOrder.addItem(item))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> Money.requireSameCurrency("USD", "EUR"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static OrderItem item(BigDecimal unitPrice, int quantity) {
+    OrderItem item = new OrderItem();
+    item.setUnitPrice(unitPrice);
+    item.setQuantity(quantity);
+    return item;
+  }
+}
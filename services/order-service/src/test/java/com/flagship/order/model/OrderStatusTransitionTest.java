@@ -0,0 +1,67 @@
+package com.flagship.order.model;
+
+import com.flagship.order.model.Order.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.flagship.order.model.Order.OrderStatus.CANCELLED;
+import static com.flagship.order.model.Order.OrderStatus.CONFIRMED;
+import static com.flagship.order.model.Order.OrderStatus.DELIVERED;
+import static com.flagship.order.model.Order.OrderStatus.PENDING;
+import static com.flagship.order.model.Order.OrderStatus.PROCESSING;
+import static com.flagship.order.model.Order.OrderStatus.REFUNDED;
+import static com.flagship.order.model.Order.OrderStatus.SHIPPED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Order Status Transition Test
+ * <p>
+ * Covers every pair of statuses against the transition table, and what a transition records.
+ */
+class OrderStatusTransitionTest {
+
+  private static final Map<OrderStatus, Set<OrderStatus>> ALLOWED = Map.of(
+      PENDING, EnumSet.of(CONFIRMED, CANCELLED),
+      CONFIRMED, EnumSet.of(PROCESSING, SHIPPED, CANCELLED),
+      PROCESSING, EnumSet.of(SHIPPED),
+      SHIPPED, EnumSet.of(DELIVERED),
+      DELIVERED, EnumSet.of(REFUNDED),
+      CANCELLED, EnumSet.noneOf(OrderStatus.class),
+      REFUNDED, EnumSet.noneOf(OrderStatus.class));
+
+  @Test
+  void everyPairFollowsTheTable() {
+    for (OrderStatus from : OrderStatus.values()) {
+      for (OrderStatus to : OrderStatus.values()) {
+        assertThat(from.canTransitionTo(to))
+            .as("%s -> %s", from, to)
+            .isEqualTo(ALLOWED.get(from).contains(to));
+      }
+    }
+  }
+
+  @Test
+  void refusedTransitionLeavesTheOrderAlone() {
+    Order order = Order.builder().status(SHIPPED).build();
+
+    assertThatThrownBy(() -> order.transitionTo(CANCELLED))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Cannot change status from SHIPPED to CANCELLED");
+    assertThat(order.getStatus()).isEqualTo(SHIPPED);
+    assertThat(order.getUpdatedAt()).isNull();
+  }
+
+  @Test
+  void deliveryRecordsWhenItHappened() {
+    Order order = Order.builder().status(SHIPPED).build();
+
+    order.transitionTo(DELIVERED);
+
+    assertThat(order.getStatus()).isEqualTo(DELIVERED);
+    assertThat(order.getActualDeliveryDate()).isNotNull().isEqualTo(order.getUpdatedAt());
+  }
+}
@@ -0,0 +1,79 @@
+package com.flagship.order.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * Shipping Location Test
+ * <p>
+ * Covers reading city and country out of free-text addresses, and re-reading them when an order's
+ * address changes.
+ */
+class ShippingLocationTest {
+
+  static Stream<Arguments> addresses() {
+    return Stream.of(
+        // Part order: street, city, state and postal code, country
+        arguments("1 Main St, Springfield, IL 62701, USA", "springfield", "US"),
+        arguments("12 Rue de Rivoli, 75001 Paris, France", "paris", "FR"),
+        arguments("10 Downing Street\nLondon\nSW1A 2AA\nUnited Kingdom", "london", "GB"),
+        arguments("Berlin, Germany", "berlin", "DE"),
+        arguments("1 Market St, Germany", null, "DE"),
+        // Missing country: without separators only a recognized trailing name counts
+        arguments("742 Evergreen Terrace Springfield", null, null),
+        arguments("742 Evergreen Terrace Springfield United States", null, "US"),
+        arguments(null, null, null),
+        // Whitespace and empty parts
+        arguments("  5 High St ,\n  New   York ,  NY 10001 ,  united states  ", "new york", "US"),
+        arguments("Berlin, Germany, ", "berlin", "DE"),
+        arguments(" , \n ", null, null),
+        // Case and spelling of the country
+        arguments("1 main st, BERLIN, germany", "berlin", "DE"),
+        arguments("Hamburg, deu", "hamburg", "DE"),
+        arguments("Boston, MA 02108, u.s.a.", "boston", "US"),
+        arguments("Atlantis, Nowhere Land", "atlantis", "NOWHERE LAND"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("addresses")
+  void readsCityAndCountry(String address, String city, String country) {
+    assertThat(ShippingLocation.parse(address)).isEqualTo(new ShippingLocation(city, country));
+  }
+
+  @Test
+  void changedAddressIsReadAgain() {
+    Order order = new Order();
+    order.setShippingAddress("Berlin, Germany");
+    order.applyShippingLocation();
+
+    order.setShippingAddress("12 Rue de Rivoli, 75001 Paris, France");
+    order.applyShippingLocation();
+
+    assertThat(order.getShippingCity()).isEqualTo("paris");
+    assertThat(order.getShippingCountry()).isEqualTo("FR");
+  }
+
+  @Test
+  void explicitLocationIsNormalizedNotReplaced() {
+    Order order = new Order();
+    order.setShippingAddress("Berlin, Germany");
+    order.setShippingCity("  Potsdam ");
+    order.setShippingCountry("deutschland");
+    order.applyShippingLocation();
+
+    assertThat(order.getShippingCity()).isEqualTo("potsdam");
+    assertThat(order.getShippingCountry()).isEqualTo("DEUTSCHLAND");
+
+    // Setting the same address again keeps what was set explicitly
+    order.setShippingAddress("Berlin, Germany");
+    order.applyShippingLocation();
+    assertThat(order.getShippingCity()).isEqualTo("potsdam");
+  }
+}
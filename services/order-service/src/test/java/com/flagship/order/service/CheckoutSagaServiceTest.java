@@ -0,0 +1,166 @@
+package com.flagship.order.service;
+
+import com.flagship.order.event.OrderEvent;
+import com.flagship.order.event.OrderEvent.OrderEventType;
+import com.flagship.order.model.CheckoutSaga;
+import com.flagship.order.model.CheckoutSaga.SagaState;
+import com.flagship.order.model.Order;
+import com.flagship.order.repository.CheckoutSagaRepository;
+import com.flagship.order.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checkout Saga Service Test
+ * <p>
+ * Covers the saga's state machine against the replies it receives, and the timeout sweep.
+ */
+class CheckoutSagaServiceTest {
+
+  private static final Long ORDER_ID = 42L;
+
+  private final CheckoutSagaRepository checkoutSagaRepository = mock(CheckoutSagaRepository.class);
+  private final OrderRepository orderRepository = mock(OrderRepository.class);
+  private final OrderService orderService = mock(OrderService.class);
+  private final OutboxService outboxService = mock(OutboxService.class);
+  private final PlatformTransactionManager transactionManager =
+      mock(PlatformTransactionManager.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final CheckoutSagaService sagaService = new CheckoutSagaService(checkoutSagaRepository,
+      orderRepository, orderService, outboxService, transactionManager, meterRegistry,
+      Duration.ofMinutes(15), 100);
+
+  @Test
+  void reservedThenPaidCompletesTheCheckout() {
+    CheckoutSaga saga = saga(ORDER_ID, SagaState.RESERVING_INVENTORY);
+    Order order = order(ORDER_ID);
+    when(orderService.updateOrderStatus(ORDER_ID, Order.OrderStatus.CONFIRMED)).thenAnswer(
+        invocation -> {
+          order.transitionTo(Order.OrderStatus.CONFIRMED);
+          return order;
+        });
+
+    sagaService.onInventoryReserved(ORDER_ID);
+    assertThat(saga.getState()).isEqualTo(SagaState.AWAITING_PAYMENT);
+
+    sagaService.onPaymentCompleted(ORDER_ID);
+    assertThat(saga.getState()).isEqualTo(SagaState.COMPLETED);
+    verify(orderService).updatePaymentStatus(ORDER_ID, Order.PaymentStatus.PAID);
+    assertThat(sentCommands()).containsExactly(OrderEventType.PAYMENT_REQUESTED,
+        OrderEventType.ORDER_CONFIRMED);
+  }
+
+  @Test
+  void repliesForAnotherStateAreIgnored() {
+    CheckoutSaga saga = saga(ORDER_ID, SagaState.COMPLETED);
+    order(ORDER_ID);
+
+    sagaService.onInventoryReserved(ORDER_ID);
+    sagaService.onInventoryReservationFailed(ORDER_ID, "out of stock");
+    sagaService.onPaymentFailed(ORDER_ID, "declined");
+
+    assertThat(saga.getState()).isEqualTo(SagaState.COMPLETED);
+    verify(outboxService, never()).enqueue(anyString(), any());
+    verify(orderService, never()).cancelOrder(any());
+  }
+
+  @Test
+  void failedPaymentCancelsTheOrder() {
+    CheckoutSaga saga = saga(ORDER_ID, SagaState.AWAITING_PAYMENT);
+    Order order = order(ORDER_ID);
+    when(orderService.cancelOrder(ORDER_ID)).thenReturn(order);
+
+    sagaService.onPaymentFailed(ORDER_ID, "declined");
+
+    assertThat(saga.getState()).isEqualTo(SagaState.FAILED);
+    assertThat(saga.getFailureReason()).isEqualTo("Payment failed: declined");
+    verify(orderService).updatePaymentStatus(ORDER_ID, Order.PaymentStatus.FAILED);
+    verify(orderService).cancelOrder(ORDER_ID);
+  }
+
+  @Test
+  void paymentCompletedAfterFailureIsRefunded() {
+    CheckoutSaga saga = saga(ORDER_ID, SagaState.FAILED);
+    order(ORDER_ID);
+
+    sagaService.onPaymentCompleted(ORDER_ID);
+
+    assertThat(saga.getState()).isEqualTo(SagaState.FAILED);
+    assertThat(sentCommands()).containsExactly(OrderEventType.PAYMENT_CANCELLATION_REQUESTED);
+    verify(orderService, never()).updateOrderStatus(any(), any());
+  }
+
+  @Test
+  void sweepExpiresEachSagaInItsOwnTransaction() {
+    CheckoutSaga awaitingPayment = saga(1L, SagaState.AWAITING_PAYMENT);
+    CheckoutSaga reserving = saga(3L, SagaState.RESERVING_INVENTORY);
+    when(orderService.cancelOrder(any())).thenAnswer(
+        invocation -> orderRepository.findById(invocation.getArgument(0)).orElseThrow());
+    when(checkoutSagaRepository.findStalledIds(eq(SagaState.ACTIVE), any(), any()))
+        .thenReturn(List.of(11L, 12L, 13L, 14L));
+    when(checkoutSagaRepository.lockStalled(eq(11L), any(), any()))
+        .thenReturn(Optional.of(awaitingPayment));
+    when(checkoutSagaRepository.lockStalled(eq(12L), any(), any()))
+        .thenThrow(new CannotAcquireLockException("deadlock"));
+    // Moved on by a reply since it was listed
+    when(checkoutSagaRepository.lockStalled(eq(13L), any(), any())).thenReturn(Optional.empty());
+    when(checkoutSagaRepository.lockStalled(eq(14L), any(), any()))
+        .thenReturn(Optional.of(reserving));
+    order(1L);
+    order(3L);
+
+    sagaService.expireStalledCheckouts();
+
+    assertThat(awaitingPayment.getState()).isEqualTo(SagaState.FAILED);
+    assertThat(reserving.getState()).isEqualTo(SagaState.FAILED);
+    assertThat(reserving.getFailureReason())
+        .isEqualTo("Checkout timed out while RESERVING_INVENTORY");
+    assertThat(sentCommands()).containsExactly(OrderEventType.PAYMENT_CANCELLATION_REQUESTED);
+    verify(transactionManager, times(4)).getTransaction(any());
+    verify(transactionManager, times(1)).rollback(any());
+    verify(transactionManager, times(3)).commit(any());
+    assertThat(meterRegistry.get("order.checkout.expiry.failures").counter().count())
+        .isEqualTo(1);
+  }
+
+  private List<OrderEventType> sentCommands() {
+    ArgumentCaptor<OrderEvent> events = ArgumentCaptor.forClass(OrderEvent.class);
+    verify(outboxService, atLeast(0)).enqueue(anyString(), events.capture());
+    return events.getAllValues().stream().map(OrderEvent::getEventType).toList();
+  }
+
+  private CheckoutSaga saga(Long orderId, SagaState state) {
+    CheckoutSaga saga = CheckoutSaga.builder().orderId(orderId).state(state).build();
+    when(checkoutSagaRepository.findByOrderId(orderId)).thenReturn(Optional.of(saga));
+    return saga;
+  }
+
+  private Order order(Long orderId) {
+    Order order = Order.builder()
+        .id(orderId)
+        .orderNumber("ORD-" + orderId)
+        .userId(7L)
+        .paymentMethod("CREDIT_CARD")
+        .build();
+    when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+    return order;
+  }
+}
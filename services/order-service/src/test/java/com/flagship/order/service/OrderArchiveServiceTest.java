@@ -0,0 +1,187 @@
+package com.flagship.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flagship.common.id.SnowflakeIdGenerator;
+import com.flagship.order.dto.OrderDto;
+import com.flagship.order.model.ArchivedOrder;
+import com.flagship.order.model.Order;
+import com.flagship.order.model.OrderEvent;
+import com.flagship.order.model.OrderItem;
+import com.flagship.order.repository.ArchivedOrderRepository;
+import com.flagship.order.repository.OrderEventRepository;
+import com.flagship.order.repository.OrderItemRepository;
+import com.flagship.order.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Order Archive Service Test
+ * <p>
+ * Covers moving a finished order out of the live tables and reading it back through the order
+ * lookups once it is only in the archive.
+ */
+class OrderArchiveServiceTest {
+
+  private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 5, 12, 0);
+
+  private final OrderRepository orderRepository = mock(OrderRepository.class);
+  private final OrderItemRepository orderItemRepository = mock(OrderItemRepository.class);
+  private final OrderEventRepository orderEventRepository = mock(OrderEventRepository.class);
+  private final ArchivedOrderRepository archivedOrderRepository =
+      mock(ArchivedOrderRepository.class);
+  private final OrderStatsService orderStatsService = mock(OrderStatsService.class);
+  private final OrderCacheEvictor orderCacheEvictor = mock(OrderCacheEvictor.class);
+  private final EntityManager entityManager = mock(EntityManager.class);
+  private final OrderArchiveService archiveService = new OrderArchiveService(orderRepository,
+      orderItemRepository, orderEventRepository, archivedOrderRepository, orderStatsService,
+      orderCacheEvictor, entityManager, new ObjectMapper().registerModule(new JavaTimeModule()),
+      mock(PlatformTransactionManager.class), true, Duration.ofDays(90), 200, 50);
+  private final OrderService orderService = new OrderService(orderRepository,
+      orderItemRepository, mock(OrderEventService.class), orderStatsService, archiveService,
+      mock(OutboxService.class), mock(SnowflakeIdGenerator.class), entityManager,
+      orderCacheEvictor);
+
+  @Test
+  void finishedOrderIsCopiedToTheArchiveAndDeleted() {
+    Order order = deliveredOrder();
+    archive(order);
+
+    ArchivedOrder archived = persistedArchive();
+    assertThat(archived.getOrderId()).isEqualTo(7L);
+    assertThat(archived.getOrderNumber()).isEqualTo("ORD-7");
+    assertThat(archived.getUserId()).isEqualTo(42L);
+    assertThat(archived.getStatus()).isEqualTo(Order.OrderStatus.DELIVERED);
+    assertThat(archived.getArchivedAt()).isNotNull();
+
+    InOrder deletes = inOrder(entityManager, orderEventRepository, orderItemRepository,
+        orderRepository);
+    deletes.verify(entityManager).flush();
+    deletes.verify(orderEventRepository).deleteByOrderIdIn(List.of(7L));
+    deletes.verify(orderItemRepository).deleteByOrderIdIn(List.of(7L));
+    deletes.verify(orderRepository).deleteAllByIdInBatch(List.of(7L));
+    verify(orderStatsService).ordersRemoved(List.of(order));
+    verify(orderCacheEvictor).evictCachedOrders(List.of(7L), List.of("ORD-7"));
+  }
+
+  @Test
+  void archivedOrderIsReadBackWithItemsAndEvents() {
+    archive(deliveredOrder());
+    ArchivedOrder archived = persistedArchive();
+    when(archivedOrderRepository.findById(7L)).thenReturn(Optional.of(archived));
+    when(archivedOrderRepository.findByOrderNumber("ORD-7")).thenReturn(Optional.of(archived));
+
+    OrderDto withEvents = archiveService.findOrder(7L, true).orElseThrow();
+    assertThat(withEvents.getTotalAmount()).isEqualByComparingTo("25.00");
+    assertThat(withEvents.getCurrency()).isEqualTo("EUR");
+    assertThat(withEvents.getCreatedAt()).isEqualTo(CREATED_AT);
+    assertThat(withEvents.getItems()).singleElement()
+        .satisfies(item -> assertThat(item.getProductSku()).isEqualTo("SKU-1"));
+    assertThat(withEvents.getEvents()).singleElement()
+        .satisfies(event -> assertThat(event.getDescription()).isEqualTo("Delivered"));
+
+    assertThat(archiveService.findOrderByNumber("ORD-7", false).orElseThrow().getEvents())
+        .isNull();
+  }
+
+  @Test
+  void lookupsFallBackToTheArchiveWhenTheOrderIsNoLongerLive() {
+    archive(deliveredOrder());
+    when(archivedOrderRepository.findById(7L)).thenReturn(Optional.of(persistedArchive()));
+    when(orderRepository.findById(7L)).thenReturn(Optional.empty());
+    when(orderRepository.findWithItemsById(7L)).thenReturn(Optional.empty());
+
+    OrderDto details = orderService.getOrderDetails(7L, false).orElseThrow();
+    assertThat(details.getOrderNumber()).isEqualTo("ORD-7");
+    assertThat(details.getEvents()).isNull();
+
+    Order order = orderService.findById(7L).orElseThrow();
+    assertThat(order.getStatus()).isEqualTo(Order.OrderStatus.DELIVERED);
+    assertThat(order.getTotalAmount()).isEqualByComparingTo("25.00");
+    assertThat(order.getItems()).singleElement().satisfies(item -> {
+      assertThat(item.getOrder()).isSameAs(order);
+      assertThat(item.getUnitPrice()).isEqualByComparingTo("12.50");
+      assertThat(item.getQuantity()).isEqualTo(2);
+    });
+  }
+
+  @Test
+  void liveOrderIsNotLookedUpInTheArchive() {
+    when(orderRepository.findById(7L)).thenReturn(Optional.of(deliveredOrder()));
+
+    assertThat(orderService.findById(7L)).isPresent();
+
+    verify(archivedOrderRepository, never()).findById(any());
+  }
+
+  @Test
+  void nothingIsDeletedWhenNoOrderIsDue() {
+    when(orderRepository.lockArchivable(anyCollection(), any(), any())).thenReturn(List.of());
+
+    archiveService.archiveFinishedOrders();
+
+    verify(entityManager, never()).persist(any());
+    verify(orderRepository, never()).deleteAllByIdInBatch(any());
+  }
+
+  private void archive(Order order) {
+    OrderEvent delivered = OrderEvent.builder()
+        .order(order)
+        .eventType(OrderEvent.EventType.STATUS_CHANGED)
+        .description("Delivered")
+        .timestamp(CREATED_AT.plusDays(3))
+        .build();
+    when(orderRepository.lockArchivable(anyCollection(), any(), any()))
+        .thenReturn(List.of(order))
+        .thenReturn(List.of());
+    when(orderRepository.findWithItemsByIdIn(List.of(7L))).thenReturn(List.of(order));
+    when(orderEventRepository.findByOrderIdInOrderByTimestampDesc(List.of(7L)))
+        .thenReturn(List.of(delivered));
+
+    archiveService.archiveFinishedOrders();
+  }
+
+  private ArchivedOrder persistedArchive() {
+    ArgumentCaptor<Object> persisted = ArgumentCaptor.forClass(Object.class);
+    verify(entityManager).persist(persisted.capture());
+    return (ArchivedOrder) persisted.getValue();
+  }
+
+  private static Order deliveredOrder() {
+    Order order = Order.builder()
+        .id(7L)
+        .orderNumber("ORD-7")
+        .userId(42L)
+        .status(Order.OrderStatus.DELIVERED)
+        .paymentStatus(Order.PaymentStatus.PAID)
+        .currency("EUR")
+        .createdAt(CREATED_AT)
+        .updatedAt(CREATED_AT.plusDays(3))
+        .build();
+    OrderItem item = new OrderItem();
+    item.setProductId(100L);
+    item.setProductSku("SKU-1");
+    item.setUnitPrice(new BigDecimal("12.50"));
+    item.setQuantity(2);
+    order.addItem(item);
+    return order;
+  }
+}
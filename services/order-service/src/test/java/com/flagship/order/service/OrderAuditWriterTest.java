@@ -0,0 +1,125 @@
+package com.flagship.order.service;
+
+import com.flagship.order.model.OrderEvent;
+import com.flagship.order.repository.OrderEventRepository;
+import com.flagship.order.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Order Audit Writer Test
+ * <p>
+ * Covers batching, the inline fallback when the queue is full or the writer is shutting down, and
+ * that a failed batch only loses the events that cannot be written on their own.
+ */
+class OrderAuditWriterTest {
+
+  private final OrderEventRepository orderEventRepository = mock(OrderEventRepository.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final List<List<String>> savedBatches = new ArrayList<>();
+
+  @Test
+  void queuedEventsAreWrittenInBatchesAndDrainedOnShutdown() throws InterruptedException {
+    recordSaves(null);
+    OrderAuditWriter writer = writer(10, 2);
+    for (long orderId = 1; orderId <= 5; orderId++) {
+      writer.submit(orderId, event("event-" + orderId));
+    }
+
+    writer.start();
+    writer.shutdown();
+
+    assertThat(savedBatches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(2));
+    assertThat(savedBatches.stream().flatMap(List::stream))
+        .containsExactly("event-1", "event-2", "event-3", "event-4", "event-5");
+    assertThat(counter("order.audit.inline.writes")).isZero();
+  }
+
+  @Test
+  void fullQueueWritesTheEventInline() {
+    recordSaves(null);
+    OrderAuditWriter writer = writer(1, 10);
+
+    writer.submit(1L, event("queued"));
+    writer.submit(2L, event("inline"));
+
+    assertThat(savedBatches).containsExactly(List.of("inline"));
+    assertThat(counter("order.audit.inline.writes")).isEqualTo(1);
+  }
+
+  @Test
+  void eventsAfterShutdownAreWrittenInline() throws InterruptedException {
+    recordSaves(null);
+    OrderAuditWriter writer = writer(10, 10);
+    writer.start();
+    writer.shutdown();
+
+    writer.submit(1L, event("late"));
+
+    assertThat(savedBatches).containsExactly(List.of("late"));
+    assertThat(counter("order.audit.inline.writes")).isEqualTo(1);
+  }
+
+  @Test
+  void failedBatchIsRetriedOneEventAtATime() throws InterruptedException {
+    recordSaves("poison");
+    OrderAuditWriter writer = writer(10, 10);
+    writer.submit(1L, event("event-1"));
+    writer.submit(2L, event("poison"));
+    writer.submit(3L, event("event-3"));
+
+    writer.start();
+    writer.shutdown();
+
+    assertThat(savedBatches).containsExactly(List.of("event-1"), List.of("event-3"));
+    assertThat(counter("order.audit.failed.events")).isEqualTo(1);
+  }
+
+  private OrderAuditWriter writer(int queueCapacity, int batchSize) {
+    return new OrderAuditWriter(orderEventRepository, mock(OrderRepository.class),
+        mock(PlatformTransactionManager.class), meterRegistry, queueCapacity, batchSize,
+        Duration.ofMillis(10), Duration.ZERO);
+  }
+
+  /**
+   * Records the descriptions of every saved batch; a batch holding {@code failing} is refused.
+   */
+  @SuppressWarnings("unchecked")
+  private void recordSaves(String failing) {
+    when(orderEventRepository.saveAll(any())).thenAnswer(invocation -> {
+      List<String> batch = new ArrayList<>();
+      for (OrderEvent event : (Collection<OrderEvent>) invocation.getArgument(0)) {
+        batch.add(event.getDescription());
+      }
+      if (batch.contains(failing)) {
+        throw new IllegalStateException("Cannot write " + failing);
+      }
+      synchronized (savedBatches) {
+        savedBatches.add(batch);
+      }
+      return invocation.getArgument(0);
+    });
+  }
+
+  private double counter(String name) {
+    return meterRegistry.get(name).counter().count();
+  }
+
+  private static OrderEvent event(String description) {
+    return OrderEvent.builder()
+        .eventType(OrderEvent.EventType.STATUS_CHANGED)
+        .description(description)
+        .build();
+  }
+}
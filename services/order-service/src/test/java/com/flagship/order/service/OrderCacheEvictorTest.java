@@ -0,0 +1,108 @@
+package com.flagship.order.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Order Cache Evictor Test
+ * <p>
+ * Covers evicting an order from both order caches, and evicting it once more after the delay so a
+ * view put back by a read that raced the change does not stay cached.
+ */
+class OrderCacheEvictorTest {
+
+  private static final Duration DELAY = Duration.ofMillis(50);
+
+  private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
+      OrderService.ORDER_CACHE, OrderService.ORDER_NUMBER_CACHE);
+  private final OrderCacheEvictor evictor = new OrderCacheEvictor(cacheManager, DELAY);
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    evictor.shutdown();
+  }
+
+  @Test
+  void orderIsEvictedFromBothCachesAndAgainAfterTheDelay() throws InterruptedException {
+    cacheStaleViews();
+
+    evictor.evictCachedOrder(7L, "ORD-7");
+
+    assertThat(byId().get(7L)).isNull();
+    assertThat(byNumber().get("ORD-7")).isNull();
+    assertThat(byId().get(8L)).isNotNull();
+
+    // A read that loaded the order before the change puts it back
+    cacheStaleViews();
+    assertThat(eventually(() -> byId().get(7L) == null && byNumber().get("ORD-7") == null))
+        .isTrue();
+    assertThat(byId().get(8L)).isNotNull();
+  }
+
+  @Test
+  void inTransactionTheDelayedEvictionWaitsForTheCommit() throws InterruptedException {
+    TransactionSynchronizationManager.initSynchronization();
+    cacheStaleViews();
+
+    evictor.evictCachedOrders(List.of(7L), List.of("ORD-7"));
+    assertThat(byId().get(7L)).isNull();
+
+    cacheStaleViews();
+    Thread.sleep(DELAY.multipliedBy(4).toMillis());
+    assertThat(byId().get(7L)).isNotNull();
+
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+    assertThat(eventually(() -> byId().get(7L) == null && byNumber().get("ORD-7") == null))
+        .isTrue();
+  }
+
+  @Test
+  void evictionAfterShutdownStillEvictsOnce() {
+    cacheStaleViews();
+    evictor.shutdown();
+
+    evictor.evictCachedOrder(7L, null);
+
+    assertThat(byId().get(7L)).isNull();
+    assertThat(byNumber().get("ORD-7")).isNotNull();
+  }
+
+  private void cacheStaleViews() {
+    byId().put(7L, "stale");
+    byId().put(8L, "other");
+    byNumber().put("ORD-7", "stale");
+  }
+
+  private Cache byId() {
+    return cacheManager.getCache(OrderService.ORDER_CACHE);
+  }
+
+  private Cache byNumber() {
+    return cacheManager.getCache(OrderService.ORDER_NUMBER_CACHE);
+  }
+
+  private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (!condition.getAsBoolean()) {
+      if (System.nanoTime() > deadline) {
+        return false;
+      }
+      Thread.sleep(10);
+    }
+    return true;
+  }
+}
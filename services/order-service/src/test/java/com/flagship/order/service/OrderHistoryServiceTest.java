@@ -0,0 +1,168 @@
+package com.flagship.order.service;
+
+import com.flagship.common.paging.KeysetCursor;
+import com.flagship.common.paging.KeysetPage;
+import com.flagship.order.event.OrderEvent;
+import com.flagship.order.model.Order;
+import com.flagship.order.model.UserOrderSummary;
+import com.flagship.order.repository.OrderRepository;
+import com.flagship.order.repository.UserOrderSummaryRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Order History Service Test
+ * <p>
+ * Covers refreshing a user's order summary from the order row, whatever the event carried, and
+ * following the keyset cursor across history pages.
+ */
+class OrderHistoryServiceTest {
+
+  private static final LocalDateTime PLACED_AT = LocalDateTime.of(2024, 3, 1, 9, 30);
+
+  private final UserOrderSummaryRepository userOrderSummaryRepository =
+      mock(UserOrderSummaryRepository.class);
+  private final OrderRepository orderRepository = mock(OrderRepository.class);
+  private final OrderHistoryService service =
+      new OrderHistoryService(userOrderSummaryRepository, orderRepository);
+
+  @Test
+  void newSummaryIsCopiedFromTheOrderRow() {
+    Order order = order(Order.OrderStatus.SHIPPED);
+    when(orderRepository.findById(7L)).thenReturn(Optional.of(order));
+    when(userOrderSummaryRepository.findById(7L)).thenReturn(Optional.empty());
+
+    // The event is stale: it still says PENDING and the old total
+    service.apply(event(OrderEvent.OrderEventType.ORDER_CREATED, "PENDING", "10.00"));
+
+    UserOrderSummary summary = savedSummary();
+    assertThat(summary.getOrderId()).isEqualTo(7L);
+    assertThat(summary.getUserId()).isEqualTo(42L);
+    assertThat(summary.getOrderNumber()).isEqualTo("ORD-7");
+    assertThat(summary.getStatus()).isEqualTo(Order.OrderStatus.SHIPPED);
+    assertThat(summary.getPaymentStatus()).isEqualTo(Order.PaymentStatus.PAID);
+    assertThat(summary.getTotalAmount()).isEqualByComparingTo("25.50");
+    assertThat(summary.getCurrency()).isEqualTo("EUR");
+    assertThat(summary.getTrackingNumber()).isEqualTo("TRK-1");
+    assertThat(summary.getPlacedAt()).isEqualTo(PLACED_AT);
+    assertThat(summary.getLastEventAt()).isEqualTo(PLACED_AT.plusDays(2));
+  }
+
+  @Test
+  void existingSummaryIsUpdatedInPlace() {
+    UserOrderSummary existing = UserOrderSummary.builder()
+        .orderId(7L)
+        .userId(42L)
+        .orderNumber("ORD-7")
+        .status(Order.OrderStatus.PENDING)
+        .version(3L)
+        .build();
+    when(orderRepository.findById(7L)).thenReturn(Optional.of(order(Order.OrderStatus.DELIVERED)));
+    when(userOrderSummaryRepository.findById(7L)).thenReturn(Optional.of(existing));
+
+    service.apply(event(OrderEvent.OrderEventType.ORDER_DELIVERED, "DELIVERED", "25.50"));
+
+    UserOrderSummary summary = savedSummary();
+    assertThat(summary).isSameAs(existing);
+    assertThat(summary.getStatus()).isEqualTo(Order.OrderStatus.DELIVERED);
+    assertThat(summary.getVersion()).isEqualTo(3L);
+  }
+
+  @Test
+  void eventForMissingOrderIsIgnored() {
+    when(orderRepository.findById(7L)).thenReturn(Optional.empty());
+
+    service.apply(event(OrderEvent.OrderEventType.ORDER_CANCELLED, "CANCELLED", "25.50"));
+
+    verify(userOrderSummaryRepository, never()).findById(anyLong());
+    verify(userOrderSummaryRepository, never()).save(any());
+  }
+
+  @Test
+  void nextPageStartsAfterTheLastSummary() {
+    List<UserOrderSummary> firstRows = List.of(summary(3, 3), summary(2, 2), summary(1, 1));
+    when(userOrderSummaryRepository.findFirstPageByUserId(42L, PageRequest.of(0, 3)))
+        .thenReturn(firstRows);
+
+    KeysetPage<UserOrderSummary> first = service.getOrderHistory(42L, null, 2);
+
+    assertThat(first.getContent()).extracting(UserOrderSummary::getOrderId).containsExactly(3L, 2L);
+    assertThat(first.isHasNext()).isTrue();
+    KeysetCursor cursor = KeysetCursor.decode(first.getNextCursor());
+    assertThat(cursor.getTimestamp()).isEqualTo(PLACED_AT.plusHours(2));
+    assertThat(cursor.getId()).isEqualTo(2L);
+
+    when(userOrderSummaryRepository.findPageByUserIdAfter(42L, PLACED_AT.plusHours(2), 2L,
+        PageRequest.of(0, 3))).thenReturn(List.of(summary(1, 1)));
+
+    KeysetPage<UserOrderSummary> second = service.getOrderHistory(42L, first.getNextCursor(), 2);
+
+    assertThat(second.getContent()).extracting(UserOrderSummary::getOrderId).containsExactly(1L);
+    assertThat(second.isHasNext()).isFalse();
+    assertThat(second.getNextCursor()).isNull();
+  }
+
+  @Test
+  void pageSizeIsCapped() {
+    when(userOrderSummaryRepository.findFirstPageByUserId(any(), any())).thenReturn(List.of());
+
+    service.getOrderHistory(42L, null, 10_000);
+
+    verify(userOrderSummaryRepository).findFirstPageByUserId(42L, PageRequest.of(0, 101));
+  }
+
+  private UserOrderSummary savedSummary() {
+    ArgumentCaptor<UserOrderSummary> captor = ArgumentCaptor.forClass(UserOrderSummary.class);
+    verify(userOrderSummaryRepository).save(captor.capture());
+    return captor.getValue();
+  }
+
+  private static Order order(Order.OrderStatus status) {
+    Order order = new Order();
+    order.setId(7L);
+    order.setUserId(42L);
+    order.setOrderNumber("ORD-7");
+    order.setStatus(status);
+    order.setPaymentStatus(Order.PaymentStatus.PAID);
+    order.setCurrency("EUR");
+    order.setTotalAmount(new BigDecimal("25.50"));
+    order.setTrackingNumber("TRK-1");
+    order.setCreatedAt(PLACED_AT);
+    order.setUpdatedAt(PLACED_AT.plusDays(2));
+    return order;
+  }
+
+  private static OrderEvent event(OrderEvent.OrderEventType type, String status, String total) {
+    return OrderEvent.builder()
+        .orderId(7L)
+        .userId(42L)
+        .orderNumber("ORD-7")
+        .eventType(type)
+        .status(status)
+        .totalAmount(new BigDecimal(total))
+        .currency("EUR")
+        .build();
+  }
+
+  private static UserOrderSummary summary(long orderId, int placedHours) {
+    return UserOrderSummary.builder()
+        .orderId(orderId)
+        .userId(42L)
+        .placedAt(PLACED_AT.plusHours(placedHours))
+        .build();
+  }
+}
@@ -0,0 +1,103 @@
+package com.flagship.order.service;
+
+import com.flagship.common.id.SnowflakeIdGenerator;
+import com.flagship.order.dto.BulkStatusUpdateResult;
+import com.flagship.order.model.Order;
+import com.flagship.order.model.Order.OrderStatus;
+import com.flagship.order.repository.OrderItemRepository;
+import com.flagship.order.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Order Service Bulk Status Test
+ * <p>
+ * Covers how a bulk status change is split into chunks and which orders it refuses.
+ */
+class OrderServiceBulkStatusTest {
+
+  private final OrderRepository orderRepository = mock(OrderRepository.class);
+  private final OrderStatsService orderStatsService = mock(OrderStatsService.class);
+  private final OutboxService outboxService = mock(OutboxService.class);
+  private final EntityManager entityManager = mock(EntityManager.class);
+  private final OrderService orderService = new OrderService(orderRepository,
+      mock(OrderItemRepository.class), mock(OrderEventService.class), orderStatsService,
+      mock(OrderArchiveService.class), outboxService, mock(SnowflakeIdGenerator.class),
+      entityManager, mock(OrderCacheEvictor.class));
+
+  private final Map<Long, Order> orders = new HashMap<>();
+  private final List<Integer> lockedChunkSizes = new ArrayList<>();
+
+  @Test
+  void ordersAreLockedAndWrittenInChunksOf500() {
+    List<Long> ids = LongStream.rangeClosed(1, 1200).boxed().toList();
+    ids.forEach(id -> orders.put(id, order(id, OrderStatus.CONFIRMED)));
+    lockFromMap();
+
+    BulkStatusUpdateResult result = orderService.bulkUpdateOrderStatus(ids, OrderStatus.SHIPPED);
+
+    assertThat(lockedChunkSizes).containsExactly(500, 500, 200);
+    assertThat(result.getUpdated()).isEqualTo(1200);
+    assertThat(result.getRejected()).isEmpty();
+    assertThat(orders.values()).allSatisfy(order -> {
+      assertThat(order.getStatus()).isEqualTo(OrderStatus.SHIPPED);
+      assertThat(order.getUpdatedAt()).isNotNull();
+    });
+    verify(outboxService, times(3)).enqueueAll(anyList());
+    verify(entityManager, times(3)).flush();
+    verify(orderStatsService).statusChanged(OrderStatus.CONFIRMED, OrderStatus.SHIPPED, 500);
+    verify(orderStatsService).statusChanged(OrderStatus.CONFIRMED, OrderStatus.SHIPPED, 200);
+  }
+
+  @Test
+  void missingOrdersAndRefusedTransitionsAreReportedAndLeftAlone() {
+    orders.put(1L, order(1L, OrderStatus.SHIPPED));
+    orders.put(3L, order(3L, OrderStatus.CANCELLED));
+    lockFromMap();
+
+    BulkStatusUpdateResult result = orderService.bulkUpdateOrderStatus(
+        Arrays.asList(3L, 2L, 1L, null, 1L), OrderStatus.DELIVERED);
+
+    assertThat(result.getRequested()).isEqualTo(3);
+    assertThat(result.getUpdated()).isEqualTo(1);
+    assertThat(result.getRejected()).containsOnlyKeys(2L, 3L);
+    assertThat(result.getRejected().get(2L)).isEqualTo("Order not found");
+    assertThat(orders.get(1L).getActualDeliveryDate()).isNotNull();
+    assertThat(orders.get(3L).getStatus()).isEqualTo(OrderStatus.CANCELLED);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void lockFromMap() {
+    when(orderRepository.findAllForUpdateByIdIn(any())).thenAnswer(invocation -> {
+      // The service reuses its chunk list, so record what it held at the time of the call
+      Collection<Long> ids = invocation.getArgument(0, Collection.class);
+      lockedChunkSizes.add(ids.size());
+      return ids.stream().filter(orders::containsKey).map(orders::get).toList();
+    });
+  }
+
+  private static Order order(Long id, OrderStatus status) {
+    return Order.builder()
+        .id(id)
+        .orderNumber("ORD-" + id)
+        .userId(1L)
+        .status(status)
+        .build();
+  }
+}
@@ -0,0 +1,174 @@
+package com.flagship.order.service;
+
+import com.flagship.order.model.Order;
+import com.flagship.order.model.OrderHourlyStats;
+import com.flagship.order.model.OrderStatsDelta;
+import com.flagship.order.model.OrderStatusCount;
+import com.flagship.order.repository.OrderHourlyStatsRepository;
+import com.flagship.order.repository.OrderRepository;
+import com.flagship.order.repository.OrderStatsDeltaRepository;
+import com.flagship.order.repository.OrderStatusCountRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Order Stats Service Test
+ * <p>
+ * Covers folding status and hourly deltas into their counter and bucket rows, and reading a
+ * counter back as its folded total plus the deltas still pending.
+ */
+class OrderStatsServiceTest {
+
+  private static final LocalDateTime BUCKET = LocalDateTime.of(2024, 3, 1, 10, 0);
+  private static final String PENDING = "ORDER_STATUS:PENDING";
+  private static final String CONFIRMED = "ORDER_STATUS:CONFIRMED";
+  private static final String SHIPPED = "ORDER_STATUS:SHIPPED";
+
+  private final OrderStatusCountRepository orderStatusCountRepository =
+      mock(OrderStatusCountRepository.class);
+  private final OrderHourlyStatsRepository orderHourlyStatsRepository =
+      mock(OrderHourlyStatsRepository.class);
+  private final OrderStatsDeltaRepository orderStatsDeltaRepository =
+      mock(OrderStatsDeltaRepository.class);
+  private final OrderStatsService service = new OrderStatsService(orderStatusCountRepository,
+      orderHourlyStatsRepository, orderStatsDeltaRepository, mock(OrderRepository.class),
+      mock(PlatformTransactionManager.class), false, 10);
+
+  @Test
+  void nothingIsFoldedBeforeSeeding() {
+    service.flush();
+
+    verify(orderStatsDeltaRepository, never()).lockBatch(any());
+  }
+
+  @Test
+  void deltasAreSummedPerCounterAndHour() {
+    when(orderStatsDeltaRepository.lockBatch(PageRequest.of(0, 10))).thenReturn(List.of(
+        countDelta(1, PENDING, 1),
+        countDelta(2, PENDING, -1),
+        countDelta(3, CONFIRMED, 1),
+        countDelta(4, CONFIRMED, 1),
+        hourDelta(5, "USD", 1, 1000, 0, 0),
+        hourDelta(6, "USD", 1, 250, 1, 1000),
+        hourDelta(7, "EUR", 1, 500, 0, 0)));
+    when(orderStatusCountRepository.increment(eq(CONFIRMED), anyLong(), any())).thenReturn(0);
+    when(orderHourlyStatsRepository.increment(eq(BUCKET), eq("USD"), anyLong(), any(),
+        anyLong(), any())).thenReturn(1);
+    service.seed();
+
+    service.flush();
+
+    // PENDING nets out to zero and is not written at all
+    verify(orderStatusCountRepository, never()).increment(eq(PENDING), anyLong(), any());
+    verify(orderStatusCountRepository).increment(eq(CONFIRMED), eq(2L), any());
+    ArgumentCaptor<OrderStatusCount> counter = ArgumentCaptor.forClass(OrderStatusCount.class);
+    verify(orderStatusCountRepository).save(counter.capture());
+    assertThat(counter.getValue().getCounterKey()).isEqualTo(CONFIRMED);
+    assertThat(counter.getValue().getDimension())
+        .isEqualTo(OrderStatusCount.Dimension.ORDER_STATUS);
+    assertThat(counter.getValue().getStatus()).isEqualTo("CONFIRMED");
+    assertThat(counter.getValue().getTotal()).isEqualTo(2);
+
+    verify(orderHourlyStatsRepository).increment(BUCKET, "USD", 2, new BigDecimal("12.50"), 1,
+        new BigDecimal("10.00"));
+    ArgumentCaptor<OrderHourlyStats> hour = ArgumentCaptor.forClass(OrderHourlyStats.class);
+    verify(orderHourlyStatsRepository).save(hour.capture());
+    assertThat(hour.getValue().getCurrency()).isEqualTo("EUR");
+    assertThat(hour.getValue().getOrdersPlaced()).isEqualTo(1);
+    assertThat(hour.getValue().getPlacedAmount()).isEqualByComparingTo("5.00");
+    assertThat(hour.getValue().getOrdersPaid()).isZero();
+
+    verify(orderStatsDeltaRepository).deleteByIdIn(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L));
+  }
+
+  @Test
+  void fullBatchesAreFoldedUntilTheBacklogIsDrained() {
+    List<OrderStatsDelta> full = new ArrayList<>();
+    for (long id = 1; id <= 10; id++) {
+      full.add(countDelta(id, SHIPPED, 1));
+    }
+    when(orderStatsDeltaRepository.lockBatch(any()))
+        .thenReturn(full)
+        .thenReturn(List.of(countDelta(11, SHIPPED, 1)));
+    when(orderStatusCountRepository.increment(anyString(), anyLong(), any())).thenReturn(1);
+    service.seed();
+
+    service.flush();
+
+    verify(orderStatsDeltaRepository, times(2)).lockBatch(any());
+    verify(orderStatusCountRepository).increment(eq(SHIPPED), eq(10L), any());
+    verify(orderStatusCountRepository).increment(eq(SHIPPED), eq(1L), any());
+  }
+
+  @Test
+  void countIsFoldedTotalPlusPendingDeltas() {
+    when(orderStatusCountRepository.findAll()).thenReturn(List.of(OrderStatusCount.builder()
+        .counterKey(CONFIRMED)
+        .dimension(OrderStatusCount.Dimension.ORDER_STATUS)
+        .status("CONFIRMED")
+        .total(5)
+        .build()));
+    when(orderStatsDeltaRepository.sumCountDeltas()).thenReturn(List.of(
+        new Object[] {CONFIRMED, 2L},
+        new Object[] {SHIPPED, 1L}));
+
+    service.seed();
+
+    assertThat(service.getStatusCount(Order.OrderStatus.CONFIRMED)).isEqualTo(7);
+    assertThat(service.getStatusCount(Order.OrderStatus.SHIPPED)).isEqualTo(1);
+    assertThat(service.getStatusCount(Order.OrderStatus.DELIVERED)).isZero();
+  }
+
+  @Test
+  void statusChangeWritesAPairOfDeltas() {
+    service.statusChanged(Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED, 3);
+    service.statusChanged(Order.OrderStatus.CONFIRMED, Order.OrderStatus.CONFIRMED, 3);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<OrderStatsDelta>> deltas = ArgumentCaptor.forClass(List.class);
+    verify(orderStatsDeltaRepository).saveAll(deltas.capture());
+    assertThat(deltas.getValue())
+        .extracting(OrderStatsDelta::getCounterKey, OrderStatsDelta::getCountDelta)
+        .containsExactly(tuple(PENDING, -3L), tuple(CONFIRMED, 3L));
+  }
+
+  private static OrderStatsDelta countDelta(long id, String counterKey, long delta) {
+    return OrderStatsDelta.builder()
+        .id(id)
+        .counterKey(counterKey)
+        .countDelta(delta)
+        .build();
+  }
+
+  private static OrderStatsDelta hourDelta(long id, String currency, long placed,
+      long placedMinorUnits, long paid, long paidMinorUnits) {
+    return OrderStatsDelta.builder()
+        .id(id)
+        .bucketStart(BUCKET)
+        .currency(currency)
+        .ordersPlaced(placed)
+        .placedMinorUnits(placedMinorUnits)
+        .ordersPaid(paid)
+        .paidMinorUnits(paidMinorUnits)
+        .build();
+  }
+}
@@ -0,0 +1,29 @@
+package com.flagship.payment.config;
+
+import com.flagship.common.id.PooledSequenceAligner;
+import com.flagship.payment.model.Payment;
+import com.flagship.payment.model.PaymentEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+/**
+ * Id Sequence Configuration
+ * <p>
+ * Moves the pooled id sequences of this service's tables past their existing ids on startup; see
+ * {@link PooledSequenceAligner}.
+ */
+@Configuration
+public class IdSequenceConfig {
+
+  @Bean(initMethod = "alignSequences")
+  @DependsOn("entityManagerFactory")
+  PooledSequenceAligner pooledSequenceAligner(JdbcTemplate jdbcTemplate) {
+    return new PooledSequenceAligner(jdbcTemplate, Map.of(
+        Payment.ID_SEQUENCE, "payments",
+        PaymentEvent.ID_SEQUENCE, "payment_events"));
+  }
+}
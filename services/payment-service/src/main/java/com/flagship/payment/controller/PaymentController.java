@@ -1,20 +1,30 @@
 package com.flagship.payment.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flagship.common.paging.KeysetPage;
+import com.flagship.payment.dto.PaymentDto;
 import com.flagship.payment.model.Payment;
 import com.flagship.payment.service.PaymentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -23,7 +33,8 @@ import java.util.Optional;
  * Payment Controller
  * <p>
  * REST API endpoints for payment management operations. Provides CRUD operations for payments and
- * payment processing.
+ * payment processing. The export endpoint streams NDJSON so month-end ranges never have to be held
+ * in memory.
  */
 @Slf4j
 @RestController
@@ -31,7 +42,11 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class PaymentController {
 
+  private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(
+      "application/x-ndjson");
+
   private final PaymentService paymentService;
+  private final ObjectMapper objectMapper;
 
   @PostMapping
   public ResponseEntity<Payment> createPayment(@Valid @RequestBody Payment payment) {
@@ -151,13 +166,17 @@ public class PaymentController {
 
   @GetMapping
   @PreAuthorize("hasRole('ADMIN') or hasRole('PAYMENT_MANAGER')")
-  public ResponseEntity<Page<Payment>> getAllPayments(Pageable pageable) {
-    log.debug("Getting all payments with pagination: {}", pageable);
+  public ResponseEntity<KeysetPage<PaymentDto>> getAllPayments(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "50") int size,
+      @RequestParam(defaultValue = "false") boolean includeTotal) {
+    log.debug("Getting all payments after cursor: {}", cursor);
 
-    // Note: This would need to be implemented in PaymentService with pagination support
-    List<Payment> payments = paymentService.findByStatus(Payment.PaymentStatus.PENDING);
-    // For now, return payments without pagination
-    return ResponseEntity.ok(Page.empty());
+    try {
+      return ResponseEntity.ok(paymentService.findAllPayments(cursor, size, includeTotal));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
   }
 
   @GetMapping("/status/{status}")
@@ -180,6 +199,32 @@ public class PaymentController {
     return ResponseEntity.ok(payments);
   }
 
+  @GetMapping("/export")
+  @PreAuthorize("hasRole('ADMIN') or hasRole('PAYMENT_MANAGER')")
+  public ResponseEntity<StreamingResponseBody> exportPaymentsByDateRange(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+    log.info("Exporting payments by date range: {} to {}", startDate, endDate);
+
+    StreamingResponseBody body = outputStream -> {
+      Writer writer = new BufferedWriter(
+          new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+      paymentService.exportPaymentsByDateRange(startDate, endDate, payment -> {
+        try {
+          writer.write(objectMapper.writeValueAsString(PaymentDto.from(payment)));
+          writer.write('\n');
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+      writer.flush();
+    };
+
+    return ResponseEntity.ok()
+        .contentType(APPLICATION_NDJSON)
+        .body(body);
+  }
+
   @GetMapping("/health")
   public ResponseEntity<String> health() {
     return ResponseEntity.ok("Payment service is healthy");
@@ -0,0 +1,70 @@
+package com.flagship.payment.dto;
+
+import com.flagship.payment.model.Payment;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Payment DTO
+ * <p>
+ * Flat view of a {@link Payment} for exports and list responses. The lazy event history and the
+ * raw provider response are left out, so a detached payment can be written without touching the
+ * database.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentDto {
+
+  private Long id;
+  private String paymentId;
+  private Long orderId;
+  private Long userId;
+  private Payment.PaymentStatus status;
+  private BigDecimal amount;
+  private String currency;
+  private Payment.PaymentMethod paymentMethod;
+  private String paymentProvider;
+  private String providerTransactionId;
+  private String idempotencyKey;
+  private String description;
+  private String failureReason;
+  private LocalDateTime processedAt;
+  private LocalDateTime expiresAt;
+  private BigDecimal refundAmount;
+  private Payment.RefundStatus refundStatus;
+  private String metadata;
+  private LocalDateTime createdAt;
+  private LocalDateTime updatedAt;
+
+  public static PaymentDto from(Payment payment) {
+    return PaymentDto.builder()
+        .id(payment.getId())
+        .paymentId(payment.getPaymentId())
+        .orderId(payment.getOrderId())
+        .userId(payment.getUserId())
+        .status(payment.getStatus())
+        .amount(payment.getAmount())
+        .currency(payment.getCurrency())
+        .paymentMethod(payment.getPaymentMethod())
+        .paymentProvider(payment.getPaymentProvider())
+        .providerTransactionId(payment.getProviderTransactionId())
+        .idempotencyKey(payment.getIdempotencyKey())
+        .description(payment.getDescription())
+        .failureReason(payment.getFailureReason())
+        .processedAt(payment.getProcessedAt())
+        .expiresAt(payment.getExpiresAt())
+        .refundAmount(payment.getRefundAmount())
+        .refundStatus(payment.getRefundStatus())
+        .metadata(payment.getMetadata())
+        .createdAt(payment.getCreatedAt())
+        .updatedAt(payment.getUpdatedAt())
+        .build();
+  }
+}
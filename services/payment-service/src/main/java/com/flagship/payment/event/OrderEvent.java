@@ -0,0 +1,34 @@
+package com.flagship.payment.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Order Event
+ * <p>
+ * The part of an order-service event that payment acts on. The event type is kept as a string so
+ * order types this service does not handle are simply ignored.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEvent {
+
+  public static final String PAYMENT_REQUESTED = "PAYMENT_REQUESTED";
+  public static final String PAYMENT_CANCELLATION_REQUESTED = "PAYMENT_CANCELLATION_REQUESTED";
+
+  private Long orderId;
+  private String orderNumber;
+  private Long userId;
+  private String eventType;
+  private LocalDateTime timestamp;
+  private BigDecimal totalAmount;
+  private String currency;
+  private String paymentMethod;
+}
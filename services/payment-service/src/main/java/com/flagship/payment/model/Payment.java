@@ -27,7 +27,7 @@ import java.util.List;
     @Index(name = "idx_payment_order_id", columnList = "orderId"),
     @Index(name = "idx_payment_user_id", columnList = "userId"),
     @Index(name = "idx_payment_status", columnList = "status"),
-    @Index(name = "idx_payment_created_at", columnList = "createdAt"),
+    @Index(name = "idx_payment_created_at_id", columnList = "createdAt, id"),
     @Index(name = "idx_payment_idempotency_key", columnList = "idempotencyKey")
 })
 @Data
@@ -36,8 +36,11 @@ import java.util.List;
 @AllArgsConstructor
 public class Payment {
 
+  public static final String ID_SEQUENCE = "payments_seq";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
   private Long id;
 
   @Column(name = "payment_id", unique = true, nullable = false)
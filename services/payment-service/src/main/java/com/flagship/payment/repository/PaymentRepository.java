@@ -1,14 +1,19 @@
 package com.flagship.payment.repository;
 
 import com.flagship.payment.model.Payment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Payment Repository
@@ -21,6 +26,16 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
   Optional<Payment> findByPaymentId(String paymentId);
 
+  @Query("SELECT p FROM Payment p ORDER BY p.createdAt DESC, p.id DESC")
+  List<Payment> findFirstPage(Pageable pageable);
+
+  @Query("SELECT p FROM Payment p WHERE p.createdAt < :cursorTimestamp OR " +
+      "(p.createdAt = :cursorTimestamp AND p.id < :cursorId) " +
+      "ORDER BY p.createdAt DESC, p.id DESC")
+  List<Payment> findPageAfter(@Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+      @Param("cursorId") Long cursorId,
+      Pageable pageable);
+
   List<Payment> findByOrderIdOrderByCreatedAtDesc(Long orderId);
 
   List<Payment> findByUserIdOrderByCreatedAtDesc(Long userId);
@@ -88,4 +103,12 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
   List<Payment> findByPaymentProviderAndStatusOrderByCreatedAtDesc(
       @Param("paymentProvider") String paymentProvider,
       @Param("status") Payment.PaymentStatus status);
+
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("SELECT p FROM Payment p WHERE p.createdAt BETWEEN :startDate AND :endDate ORDER BY p.createdAt DESC, p.id DESC")
+  Stream<Payment> streamByCreatedAtBetween(@Param("startDate") LocalDateTime startDate,
+      @Param("endDate") LocalDateTime endDate);
 }
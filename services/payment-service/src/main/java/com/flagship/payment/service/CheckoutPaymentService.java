@@ -0,0 +1,116 @@
+package com.flagship.payment.service;
+
+import com.flagship.payment.event.OrderEvent;
+import com.flagship.payment.model.Payment;
+import com.flagship.payment.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Checkout Payment Service
+ * <p>
+ * Payment's side of the checkout saga. When the order service requests payment for an order, a
+ * payment is created and processed right away; the resulting PAYMENT_COMPLETED or PAYMENT_FAILED
+ * event is the saga's reply. The idempotency key is derived from the order id, so a redelivered
+ * request never charges twice, while a payment left pending by an interrupted delivery is picked
+ * up again. When the saga gives up on an order it asks for the payment to be cancelled, which
+ * cancels a pending payment and refunds a completed one.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CheckoutPaymentService {
+
+  private static final String IDEMPOTENCY_KEY_PREFIX = "checkout-";
+
+  private final PaymentService paymentService;
+  private final PaymentRepository paymentRepository;
+
+  @KafkaListener(topics = "order-events", groupId = "payment-service-checkout",
+      properties = {
+          "spring.json.use.type.headers=false",
+          "spring.json.value.default.type=com.flagship.payment.event.OrderEvent"
+      })
+  public void handleOrderEvent(OrderEvent event) {
+    if (event.getOrderId() == null) {
+      return;
+    }
+    switch (String.valueOf(event.getEventType())) {
+      case OrderEvent.PAYMENT_REQUESTED -> takePayment(event);
+      case OrderEvent.PAYMENT_CANCELLATION_REQUESTED -> cancelPayment(event);
+      default -> log.trace("Ignoring order event: {}", event.getEventType());
+    }
+  }
+
+  private void takePayment(OrderEvent event) {
+    Payment payment = findCheckoutPayment(event.getOrderId()).orElse(null);
+    if (payment != null && !payment.isPending()) {
+      log.info("Payment already requested for order: {}, ignoring repeated request",
+          event.getOrderId());
+      return;
+    }
+
+    if (payment != null) {
+      // Created by a delivery that stopped before the payment was processed
+      log.info("Resuming pending payment: {} for order: {}", payment.getPaymentId(),
+          event.getOrderId());
+    } else {
+      Payment.PaymentMethod paymentMethod;
+      try {
+        paymentMethod = Payment.PaymentMethod.valueOf(event.getPaymentMethod());
+      } catch (IllegalArgumentException | NullPointerException e) {
+        String reason = "Unsupported payment method: " + event.getPaymentMethod();
+        log.error("{} for order: {}", reason, event.getOrderId());
+        paymentService.publishCheckoutFailure(event.getOrderId(), event.getUserId(), reason);
+        return;
+      }
+
+      payment = paymentService.createPayment(Payment.builder()
+          .orderId(event.getOrderId())
+          .userId(event.getUserId())
+          .amount(event.getTotalAmount())
+          .currency(event.getCurrency())
+          .paymentMethod(paymentMethod)
+          .idempotencyKey(IDEMPOTENCY_KEY_PREFIX + event.getOrderId())
+          .description("Checkout for order " + event.getOrderNumber())
+          .build());
+    }
+
+    try {
+      paymentService.processPayment(payment.getPaymentId());
+    } catch (RuntimeException e) {
+      // processPayment has already published PAYMENT_FAILED for the saga
+      log.warn("Checkout payment failed for order: {}", event.getOrderId(), e);
+    }
+  }
+
+  private void cancelPayment(OrderEvent event) {
+    Optional<Payment> found = findCheckoutPayment(event.getOrderId());
+    if (found.isEmpty()) {
+      log.info("No checkout payment to cancel for order: {}", event.getOrderId());
+      return;
+    }
+
+    Payment payment = found.get();
+    if (payment.isPending()) {
+      paymentService.cancelPayment(payment.getPaymentId());
+    } else if (payment.canBeRefunded()) {
+      paymentService.refundPayment(payment.getPaymentId(), payment.getAmount());
+    } else if (payment.getStatus() == Payment.PaymentStatus.PROCESSING) {
+      log.error("Checkout payment: {} for cancelled order: {} is still processing, "
+          + "it needs to be reviewed", payment.getPaymentId(), event.getOrderId());
+    } else {
+      log.info("Checkout payment: {} for order: {} is {}, nothing to cancel",
+          payment.getPaymentId(), event.getOrderId(), payment.getStatus());
+    }
+  }
+
+  private Optional<Payment> findCheckoutPayment(Long orderId) {
+    return paymentRepository.findByIdempotencyKeyOrderByCreatedAtDesc(
+        IDEMPOTENCY_KEY_PREFIX + orderId).stream().findFirst();
+  }
+}
@@ -1,20 +1,32 @@
 package com.flagship.payment.service;
 
+import com.flagship.common.id.SnowflakeIdGenerator;
+import com.flagship.common.paging.KeysetCursor;
+import com.flagship.common.paging.KeysetPage;
+import com.flagship.payment.dto.PaymentDto;
 import com.flagship.payment.event.PaymentEvent;
 import com.flagship.payment.model.Payment;
 import com.flagship.payment.repository.PaymentRepository;
 import com.flagship.payment.client.PaymentProviderClient;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Payment Service
@@ -28,11 +40,16 @@ import java.util.UUID;
 @Transactional
 public class PaymentService {
 
+  private static final int MAX_PAGE_SIZE = 500;
+  private static final Duration CHECKOUT_REPLY_TIMEOUT = Duration.ofSeconds(30);
+
   private final PaymentRepository paymentRepository;
   private final KafkaTemplate<String, com.flagship.payment.event.PaymentEvent> kafkaTemplate;
   private final PaymentEventService paymentEventService;
   private final PaymentProviderClient paymentProviderClient;
   private final IdempotencyService idempotencyService;
+  private final SnowflakeIdGenerator snowflakeIdGenerator;
+  private final EntityManager entityManager;
 
   public Payment createPayment(Payment payment) {
     log.info("Creating new payment for order: {}", payment.getOrderId());
@@ -161,6 +178,27 @@ public class PaymentService {
     return paymentRepository.findByUserIdOrderByCreatedAtDesc(userId);
   }
 
+  @Transactional(readOnly = true)
+  public KeysetPage<PaymentDto> findAllPayments(String cursor, int size, boolean includeTotal) {
+    int pageSize = clampPageSize(size);
+    Pageable limit = PageRequest.of(0, pageSize + 1);
+
+    List<Payment> rows;
+    if (cursor == null) {
+      rows = paymentRepository.findFirstPage(limit);
+    } else {
+      KeysetCursor after = KeysetCursor.decode(cursor);
+      rows = paymentRepository.findPageAfter(after.getTimestamp(), after.getId(), limit);
+    }
+
+    KeysetPage<PaymentDto> page = KeysetPage.of(rows, pageSize, PaymentService::cursorOf)
+        .map(PaymentDto::from);
+    if (includeTotal) {
+      page.setTotalElements(paymentRepository.count());
+    }
+    return page;
+  }
+
   public Payment refundPayment(String paymentId, BigDecimal refundAmount) {
     log.info("Refunding payment: {} with amount: {}", paymentId, refundAmount);
 
@@ -248,6 +286,37 @@ public class PaymentService {
     return savedPayment;
   }
 
+  /**
+   * Replies PAYMENT_FAILED to the checkout saga for an order no payment could be created for. No
+   * payment row is written that a later publish could be tied to, so the reply is sent before
+   * returning; when Kafka does not take it, the exception fails the order event being handled and
+   * its redelivery sends the reply again.
+   *
+   * @throws IllegalStateException when the reply could not be sent
+   */
+  public void publishCheckoutFailure(Long orderId, Long userId, String reason) {
+    com.flagship.payment.event.PaymentEvent event =
+        com.flagship.payment.event.PaymentEvent.builder()
+            .orderId(orderId)
+            .userId(userId)
+            .eventType(com.flagship.payment.event.PaymentEvent.PaymentEventType.PAYMENT_FAILED)
+            .timestamp(LocalDateTime.now())
+            .failureReason(reason)
+            .build();
+
+    try {
+      kafkaTemplate.send("payment-events", String.valueOf(orderId), event)
+          .get(CHECKOUT_REPLY_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted publishing checkout failure for order: "
+          + orderId, e);
+    } catch (ExecutionException | TimeoutException e) {
+      throw new IllegalStateException("Failed to publish checkout failure for order: " + orderId,
+          e);
+    }
+  }
+
   @Transactional(readOnly = true)
   public List<Payment> findByStatus(Payment.PaymentStatus status) {
     return paymentRepository.findByStatusOrderByCreatedAtDesc(status);
@@ -258,8 +327,30 @@ public class PaymentService {
     return paymentRepository.findByCreatedAtBetweenOrderByCreatedAtDesc(startDate, endDate);
   }
 
+  /**
+   * Streams every payment created in the date range to {@code consumer} as rows arrive from the
+   * database, detaching each one afterwards so memory use does not grow with the range.
+   *
+   * @return the number of payments written
+   */
+  @Transactional(readOnly = true)
+  public long exportPaymentsByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+      Consumer<Payment> consumer) {
+    long exported = 0;
+    try (Stream<Payment> payments = paymentRepository.streamByCreatedAtBetween(startDate,
+        endDate)) {
+      for (Payment payment : (Iterable<Payment>) payments::iterator) {
+        consumer.accept(payment);
+        entityManager.detach(payment);
+        exported++;
+      }
+    }
+    log.debug("Exported {} payments between {} and {}", exported, startDate, endDate);
+    return exported;
+  }
+
   private String generatePaymentId() {
-    return "PAY-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    return snowflakeIdGenerator.nextId("PAY-");
   }
 
   private void publishPaymentEvent(Payment payment, com.flagship.payment.event.PaymentEvent.PaymentEventType eventType) {
@@ -276,13 +367,23 @@ public class PaymentService {
           .status(payment.getStatus().toString())
           .paymentMethod(payment.getPaymentMethod().toString())
           .providerTransactionId(payment.getProviderTransactionId())
+          .failureReason(payment.getFailureReason())
           .build();
 
-      kafkaTemplate.send("payment-events", event);
+      // Keyed by order so the order service sees an order's payment events in sequence
+      kafkaTemplate.send("payment-events", String.valueOf(payment.getOrderId()), event);
       log.debug("Published payment event: {} for payment: {}", eventType, payment.getId());
     } catch (Exception e) {
       log.error("Failed to publish payment event: {} for payment: {}", eventType, payment.getId(),
           e);
     }
   }
+
+  private static int clampPageSize(int size) {
+    return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+  }
+
+  private static KeysetCursor cursorOf(Payment payment) {
+    return new KeysetCursor(payment.getCreatedAt(), payment.getId());
+  }
 }
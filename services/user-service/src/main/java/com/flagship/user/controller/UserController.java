@@ -1,12 +1,12 @@
 package com.flagship.user.controller;
 
+import com.flagship.common.paging.KeysetPage;
+import com.flagship.user.dto.UserDto;
 import com.flagship.user.model.User;
 import com.flagship.user.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -116,13 +116,17 @@ public class UserController {
 
   @GetMapping
   @PreAuthorize("hasRole('ADMIN') or hasRole('USER_MANAGER')")
-  public ResponseEntity<Page<User>> getAllUsers(Pageable pageable) {
-    log.debug("Getting all users with pagination: {}", pageable);
+  public ResponseEntity<KeysetPage<UserDto>> getAllUsers(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "50") int size,
+      @RequestParam(defaultValue = "false") boolean includeTotal) {
+    log.debug("Getting all users after cursor: {}", cursor);
 
-    // Note: This would need to be implemented in UserService with pagination support
-    List<User> users = userService.findAllUsers();
-    // For now, return all users without pagination
-    return ResponseEntity.ok(Page.empty());
+    try {
+      return ResponseEntity.ok(userService.findAllUsers(cursor, size, includeTotal));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
   }
 
 
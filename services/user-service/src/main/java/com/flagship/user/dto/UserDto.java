@@ -0,0 +1,64 @@
+package com.flagship.user.dto;
+
+import com.flagship.user.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * User DTO
+ * <p>
+ * Flat view of a {@link User} for list responses. The lazy activity history is left out, so a
+ * page of users is written without loading anything per row.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDto {
+
+  private Long id;
+  private String keycloakId;
+  private String email;
+  private String firstName;
+  private String lastName;
+  private String fullName;
+  private String phoneNumber;
+  private LocalDateTime dateOfBirth;
+  private User.Gender gender;
+  private String address;
+  private String city;
+  private String country;
+  private String postalCode;
+  private User.UserStatus status;
+  private String preferences;
+  private LocalDateTime lastLogin;
+  private LocalDateTime createdAt;
+  private LocalDateTime updatedAt;
+
+  public static UserDto from(User user) {
+    return UserDto.builder()
+        .id(user.getId())
+        .keycloakId(user.getKeycloakId())
+        .email(user.getEmail())
+        .firstName(user.getFirstName())
+        .lastName(user.getLastName())
+        .fullName(user.getFullName())
+        .phoneNumber(user.getPhoneNumber())
+        .dateOfBirth(user.getDateOfBirth())
+        .gender(user.getGender())
+        .address(user.getAddress())
+        .city(user.getCity())
+        .country(user.getCountry())
+        .postalCode(user.getPostalCode())
+        .status(user.getStatus())
+        .preferences(user.getPreferences())
+        .lastLogin(user.getLastLogin())
+        .createdAt(user.getCreatedAt())
+        .updatedAt(user.getUpdatedAt())
+        .build();
+  }
+}
@@ -24,7 +24,8 @@ import java.util.List;
 @Entity
 @Table(name = "users", indexes = {
     @Index(name = "idx_user_keycloak_id", columnList = "keycloakId"),
-    @Index(name = "idx_user_email", columnList = "email")
+    @Index(name = "idx_user_email", columnList = "email"),
+    @Index(name = "idx_user_created_at_id", columnList = "createdAt, id")
 })
 @Data
 @Builder
@@ -32,8 +33,11 @@ import java.util.List;
 @AllArgsConstructor
 public class User {
 
+  public static final String ID_SEQUENCE = "users_seq";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
   private Long id;
 
   @Column(name = "keycloak_id", unique = true, nullable = false)
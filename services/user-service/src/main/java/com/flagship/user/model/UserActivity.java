@@ -28,8 +28,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class UserActivity {
 
+  public static final String ID_SEQUENCE = "user_activities_seq";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -1,6 +1,7 @@
 package com.flagship.user.repository;
 
 import com.flagship.user.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -20,6 +21,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
   Optional<User> findByKeycloakId(String keycloakId);
 
+  @Query("SELECT u FROM User u ORDER BY u.createdAt DESC, u.id DESC")
+  List<User> findFirstPage(Pageable pageable);
+
+  @Query("SELECT u FROM User u WHERE u.createdAt < :cursorTimestamp OR " +
+      "(u.createdAt = :cursorTimestamp AND u.id < :cursorId) " +
+      "ORDER BY u.createdAt DESC, u.id DESC")
+  List<User> findPageAfter(@Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+      @Param("cursorId") Long cursorId,
+      Pageable pageable);
+
   Optional<User> findByEmail(String email);
 
   boolean existsByKeycloakId(String keycloakId);
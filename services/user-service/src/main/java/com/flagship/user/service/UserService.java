@@ -1,10 +1,15 @@
 package com.flagship.user.service;
 
+import com.flagship.common.paging.KeysetCursor;
+import com.flagship.common.paging.KeysetPage;
+import com.flagship.user.dto.UserDto;
 import com.flagship.user.event.UserEvent;
 import com.flagship.user.model.User;
 import com.flagship.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +30,8 @@ import java.util.Optional;
 @Transactional
 public class UserService {
 
+  private static final int MAX_PAGE_SIZE = 500;
+
   private final UserRepository userRepository;
   private final KafkaTemplate<String, UserEvent> kafkaTemplate;
   private final UserActivityService userActivityService;
@@ -148,6 +155,27 @@ public class UserService {
     return userRepository.findAll();
   }
 
+  @Transactional(readOnly = true)
+  public KeysetPage<UserDto> findAllUsers(String cursor, int size, boolean includeTotal) {
+    int pageSize = clampPageSize(size);
+    Pageable limit = PageRequest.of(0, pageSize + 1);
+
+    List<User> rows;
+    if (cursor == null) {
+      rows = userRepository.findFirstPage(limit);
+    } else {
+      KeysetCursor after = KeysetCursor.decode(cursor);
+      rows = userRepository.findPageAfter(after.getTimestamp(), after.getId(), limit);
+    }
+
+    KeysetPage<UserDto> page = KeysetPage.of(rows, pageSize, UserService::cursorOf)
+        .map(UserDto::from);
+    if (includeTotal) {
+      page.setTotalElements(userRepository.count());
+    }
+    return page;
+  }
+
   @Transactional(readOnly = true)
   public List<User> findUsersByStatus(User.UserStatus status) {
     return userRepository.findByStatus(status);
@@ -185,4 +213,12 @@ public class UserService {
       log.error("Failed to publish user event: {} for user: {}", eventType, user.getId(), e);
     }
   }
+
+  private static int clampPageSize(int size) {
+    return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+  }
+
+  private static KeysetCursor cursorOf(User user) {
+    return new KeysetCursor(user.getCreatedAt(), user.getId());
+  }
 }